@@ -0,0 +1,173 @@
+/**
+ * @UNCC Fodor Lab
+ * @author Michael Sioda
+ * @email msioda@uncc.edu
+ * @date Jun 18, 2019
+ * @disclaimer This code is free software; you can redistribute it and/or modify it under the terms of the GNU General
+ * Public License as published by the Free Software Foundation; either version 2 of the License, or (at your option) any
+ * later version, provided that any use properly credits the author. This program is distributed in the hope that it
+ * will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU General Public License for more details at http://www.gnu.org *
+ */
+package biolockj.benchmark;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.util.*;
+import biolockj.*;
+import biolockj.util.*;
+
+/**
+ * This utility sets up the BioLockJ runtime for the JMH benchmarks and writes the synthetic benchmark input files,
+ * mostly with {@link biolockj.util.SyntheticDataUtil}. {@link biolockj.Config} is initialized once per JVM for a new
+ * pipeline in a temporary $BLJ_PROJ directory, with logs disabled, so benchmarks only need the JVM and local files.
+ * Input files are generated from a fixed seed so every run measures identical data.
+ */
+public class BenchmarkUtil {
+
+	// Prevents instantiation
+	private BenchmarkUtil() {}
+
+	/**
+	 * Initialize {@link biolockj.Config} for a new benchmark pipeline, if not already initialized.
+	 *
+	 * @return Pipeline root directory
+	 * @throws Exception if errors occur
+	 */
+	public static synchronized File initPipeline() throws Exception {
+		if( Config.getPipelineDir() != null ) return Config.getPipelineDir();
+		Log.enableLogs( false );
+		final File projDir = Files.createTempDirectory( "blj_benchmark" ).toFile();
+		final File config = new File( projDir, "benchmark" + Constants.PROPS_EXT );
+		final BufferedWriter writer = new BufferedWriter( new FileWriter( config ) );
+		try {
+			writer.write( Constants.REPORT_TAXONOMY_LEVELS + "=" +
+				BioLockJUtil.getCollectionAsString( TaxaUtil.allTaxonomyLevels() ) + Constants.RETURN );
+			writer.write( Constants.LOG_LEVEL_PROPERTY + "=INFO" + Constants.RETURN );
+		} finally {
+			writer.close();
+		}
+
+		RuntimeParamUtil.registerRuntimeParameters( new String[] { "-b", projDir.getAbsolutePath(), "-u",
+			System.getProperty( "user.home" ), "-c", config.getAbsolutePath() } );
+		Config.initialize();
+		Config.setConfigProperty( Constants.INTERNAL_SEQ_TYPE, Constants.FASTQ );
+		Config.setConfigProperty( Constants.INTERNAL_MULTIPLEXED, Constants.FALSE );
+		return Config.getPipelineDir();
+	}
+
+	/**
+	 * Create a new empty directory in the benchmark pipeline directory.
+	 *
+	 * @param name Directory name prefix
+	 * @return New directory
+	 * @throws Exception if errors occur
+	 */
+	public static File newDir( final String name ) throws Exception {
+		return Files.createTempDirectory( initPipeline().toPath(), name ).toFile();
+	}
+
+	/**
+	 * Write a FASTQ file with numReads reads of length readLen.
+	 *
+	 * @param dir Target directory
+	 * @param sampleId Sample ID
+	 * @param numReads Number of reads
+	 * @param readLen Read length
+	 * @return FASTQ file
+	 * @throws Exception if errors occur
+	 */
+	public static File writeFastq( final File dir, final String sampleId, final int numReads, final int readLen )
+		throws Exception {
+		return SyntheticDataUtil.writeSeqFile( dir, sampleId, numReads, readLen, true, false, SEED );
+	}
+
+	/**
+	 * Write a Kraken mpa-format output file with 1 line per read, reads are assigned to numOtus OTUs.
+	 *
+	 * @param dir Target directory
+	 * @param sampleId Sample ID
+	 * @param numReads Number of reads
+	 * @param numOtus Number of OTUs
+	 * @return Kraken output file
+	 * @throws Exception if errors occur
+	 */
+	public static File writeKrakenFile( final File dir, final String sampleId, final int numReads, final int numOtus )
+		throws Exception {
+		return SyntheticDataUtil.writeKrakenFile( dir, sampleId, numReads, numOtus, SEED );
+	}
+
+	/**
+	 * Write an OTU count file for each sample, each with numOtus OTUs drawn from 2 * numOtus possible OTUs.
+	 *
+	 * @param dir Target directory
+	 * @param numSamples Number of samples
+	 * @param numOtus Number of OTUs per sample
+	 * @return OTU count files
+	 * @throws Exception if errors occur
+	 */
+	public static List<File> writeOtuCountFiles( final File dir, final int numSamples, final int numOtus )
+		throws Exception {
+		final Random random = new Random( SEED );
+		final List<File> files = new ArrayList<>();
+		for( int i = 0; i < numSamples; i++ ) {
+			final TreeMap<String, Long> otuCounts = new TreeMap<>();
+			while( otuCounts.size() < numOtus )
+				otuCounts.put( SyntheticDataUtil.getOtu( random.nextInt( 2 * numOtus ) ), 1L + random.nextInt( 1000 ) );
+
+			final File file = OtuUtil.getOtuCountFile( dir, SAMPLE_PREFIX + i, null );
+			final BufferedWriter writer = new BufferedWriter( new FileWriter( file ) );
+			try {
+				for( final String otu: otuCounts.keySet() )
+					writer.write( otu + Constants.TAB_DELIM + otuCounts.get( otu ) + Constants.RETURN );
+			} finally {
+				writer.close();
+			}
+			files.add( file );
+		}
+		return files;
+	}
+
+	/**
+	 * Write a taxonomy count table with numSamples rows and numTaxa columns, about half of the counts are 0.
+	 *
+	 * @param dir Target directory
+	 * @param level Taxonomy level
+	 * @param numSamples Number of samples
+	 * @param numTaxa Number of taxa
+	 * @return Taxonomy table
+	 * @throws Exception if errors occur
+	 */
+	public static File writeTaxaTable( final File dir, final String level, final int numSamples, final int numTaxa )
+		throws Exception {
+		final Random random = new Random( SEED );
+		final File file = TaxaUtil.getTaxonomyTableFile( dir, level, null );
+		final BufferedWriter writer = new BufferedWriter( new FileWriter( file ) );
+		try {
+			final StringBuilder sb = new StringBuilder( MetaUtil.getID() );
+			for( int i = 0; i < numTaxa; i++ )
+				sb.append( Constants.TAB_DELIM ).append( level ).append( "_" ).append( i );
+			writer.write( sb.toString() + Constants.RETURN );
+			for( int i = 0; i < numSamples; i++ ) {
+				sb.setLength( 0 );
+				sb.append( SAMPLE_PREFIX ).append( i );
+				for( int j = 0; j < numTaxa; j++ )
+					sb.append( Constants.TAB_DELIM ).append( random.nextBoolean() ? 0: 1 + random.nextInt( 1000 ) );
+				writer.write( sb.toString() + Constants.RETURN );
+			}
+		} finally {
+			writer.close();
+		}
+		return file;
+	}
+
+	/**
+	 * Sample ID prefix for synthetic samples: {@value biolockj.util.SyntheticDataUtil#SAMPLE_PREFIX}
+	 */
+	public static final String SAMPLE_PREFIX = SyntheticDataUtil.SAMPLE_PREFIX;
+
+	/**
+	 * Random seed used to generate all benchmark data: {@value #SEED}
+	 */
+	public static final long SEED = 42L;
+}
@@ -0,0 +1,104 @@
+/**
+ * @UNCC Fodor Lab
+ * @author Michael Sioda
+ * @email msioda@uncc.edu
+ * @date Jun 18, 2019
+ * @disclaimer This code is free software; you can redistribute it and/or modify it under the terms of the GNU General
+ * Public License as published by the Free Software Foundation; either version 2 of the License, or (at your option) any
+ * later version, provided that any use properly credits the author. This program is distributed in the hope that it
+ * will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU General Public License for more details at http://www.gnu.org *
+ */
+package biolockj.benchmark;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import biolockj.module.implicit.parser.wgs.KrakenParser;
+import biolockj.node.wgs.KrakenNode;
+import biolockj.util.BioLockJUtil;
+
+/**
+ * JMH benchmarks for parsing Kraken output with {@link biolockj.module.implicit.parser.wgs.KrakenParser}.
+ */
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@State( Scope.Benchmark )
+@Fork( 1 )
+@Warmup( iterations = 3 )
+@Measurement( iterations = 5 )
+public class KrakenParserBenchmark {
+
+	/**
+	 * Benchmark {@link biolockj.node.wgs.KrakenNode} construction for every line.
+	 *
+	 * @param blackhole JMH Blackhole
+	 * @throws Exception if errors occur
+	 */
+	@Benchmark
+	public void buildNodes( final Blackhole blackhole ) throws Exception {
+		final BufferedReader reader = BioLockJUtil.getFileReader( this.file );
+		try {
+			for( String line = reader.readLine(); line != null; line = reader.readLine() )
+				blackhole.consume( new KrakenNode( BenchmarkUtil.SAMPLE_PREFIX, line ) );
+		} finally {
+			reader.close();
+		}
+	}
+
+	/**
+	 * Benchmark KrakenParser parseSample() for 1 sample file.
+	 *
+	 * @return Number of parsed samples
+	 * @throws Exception if errors occur
+	 */
+	@Benchmark
+	public int parseSample() throws Exception {
+		return new Parser().parse( this.file );
+	}
+
+	/**
+	 * Write the Kraken output file.
+	 *
+	 * @throws Exception if errors occur
+	 */
+	@Setup
+	public void setup() throws Exception {
+		this.file = BenchmarkUtil.writeKrakenFile( BenchmarkUtil.newDir( "krakenParser" ),
+			BenchmarkUtil.SAMPLE_PREFIX + 0, this.numReads, this.numOtus );
+	}
+
+	/**
+	 * Number of OTUs
+	 */
+	@Param( { "1000" } )
+	public int numOtus;
+
+	/**
+	 * Number of reads
+	 */
+	@Param( { "100000" } )
+	public int numReads;
+
+	private File file = null;
+
+	/**
+	 * KrakenParser with the protected parse method exposed to the benchmark.
+	 */
+	public static class Parser extends KrakenParser {
+
+		/**
+		 * Parse the Kraken output file.
+		 *
+		 * @param krakenFile Kraken output file
+		 * @return Number of parsed samples
+		 * @throws Exception if errors occur
+		 */
+		public int parse( final File krakenFile ) throws Exception {
+			parseSample( krakenFile );
+			return getParsedSamples().size();
+		}
+	}
+}
@@ -0,0 +1,83 @@
+/**
+ * @UNCC Fodor Lab
+ * @author Michael Sioda
+ * @email msioda@uncc.edu
+ * @date Jun 18, 2019
+ * @disclaimer This code is free software; you can redistribute it and/or modify it under the terms of the GNU General
+ * Public License as published by the Free Software Foundation; either version 2 of the License, or (at your option) any
+ * later version, provided that any use properly credits the author. This program is distributed in the hope that it
+ * will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU General Public License for more details at http://www.gnu.org *
+ */
+package biolockj.benchmark;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import biolockj.Constants;
+import biolockj.module.report.taxa.NormalizeTaxaTables;
+
+/**
+ * JMH benchmarks for normalizing taxonomy tables with {@link biolockj.module.report.taxa.NormalizeTaxaTables}.
+ */
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@State( Scope.Benchmark )
+@Fork( 1 )
+@Warmup( iterations = 3 )
+@Measurement( iterations = 5 )
+public class NormalizeTaxaTablesBenchmark {
+
+	/**
+	 * Benchmark NormalizeTaxaTables transform() for 1 taxonomy table.
+	 *
+	 * @throws Exception if errors occur
+	 */
+	@Benchmark
+	public void transform() throws Exception {
+		this.module.normalize( this.table );
+	}
+
+	/**
+	 * Write the taxonomy table and initialize the module directory.
+	 *
+	 * @throws Exception if errors occur
+	 */
+	@Setup
+	public void setup() throws Exception {
+		this.table = BenchmarkUtil.writeTaxaTable( BenchmarkUtil.newDir( "normalizeTaxaTables" ), Constants.GENUS,
+			this.numSamples, this.numTaxa );
+		this.module.init();
+	}
+
+	/**
+	 * Number of samples
+	 */
+	@Param( { "100", "1000" } )
+	public int numSamples;
+
+	/**
+	 * Number of taxa
+	 */
+	@Param( { "1000" } )
+	public int numTaxa;
+
+	private final Normalizer module = new Normalizer();
+	private File table = null;
+
+	/**
+	 * NormalizeTaxaTables with the protected transform method exposed to the benchmark.
+	 */
+	public static class Normalizer extends NormalizeTaxaTables {
+
+		/**
+		 * Normalize the taxonomy table.
+		 *
+		 * @param taxaTable Taxonomy table
+		 * @throws Exception if errors occur
+		 */
+		public void normalize( final File taxaTable ) throws Exception {
+			transform( taxaTable );
+		}
+	}
+}
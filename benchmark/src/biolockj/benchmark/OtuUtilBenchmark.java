@@ -0,0 +1,89 @@
+/**
+ * @UNCC Fodor Lab
+ * @author Michael Sioda
+ * @email msioda@uncc.edu
+ * @date Jun 18, 2019
+ * @disclaimer This code is free software; you can redistribute it and/or modify it under the terms of the GNU General
+ * Public License as published by the Free Software Foundation; either version 2 of the License, or (at your option) any
+ * later version, provided that any use properly credits the author. This program is distributed in the hope that it
+ * will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU General Public License for more details at http://www.gnu.org *
+ */
+package biolockj.benchmark;
+
+import java.io.File;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import biolockj.util.OtuUtil;
+
+/**
+ * JMH benchmarks for reading OTU count files with {@link biolockj.util.OtuUtil}.
+ */
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@State( Scope.Benchmark )
+@Fork( 1 )
+@Warmup( iterations = 3 )
+@Measurement( iterations = 5 )
+public class OtuUtilBenchmark {
+
+	/**
+	 * Benchmark {@link biolockj.util.OtuUtil#compileSampleOtuCounts(File)} for 1 sample.
+	 *
+	 * @return OTU counts
+	 * @throws Exception if errors occur
+	 */
+	@Benchmark
+	public TreeMap<String, Long> compileSampleOtuCounts() throws Exception {
+		return OtuUtil.compileSampleOtuCounts( this.files.get( 0 ) );
+	}
+
+	/**
+	 * Benchmark {@link biolockj.util.OtuUtil#findUniqueOtus(TreeMap)} for all samples.
+	 *
+	 * @return Unique OTUs
+	 */
+	@Benchmark
+	public TreeSet<String> findUniqueOtus() {
+		return OtuUtil.findUniqueOtus( this.sampleOtuCounts );
+	}
+
+	/**
+	 * Benchmark {@link biolockj.util.OtuUtil#getSampleOtuCounts(java.util.Collection)} for all samples.
+	 *
+	 * @return OTU counts by sample
+	 * @throws Exception if errors occur
+	 */
+	@Benchmark
+	public TreeMap<String, TreeMap<String, Long>> getSampleOtuCounts() throws Exception {
+		return OtuUtil.getSampleOtuCounts( this.files );
+	}
+
+	/**
+	 * Write the OTU count files.
+	 *
+	 * @throws Exception if errors occur
+	 */
+	@Setup
+	public void setup() throws Exception {
+		this.files = BenchmarkUtil.writeOtuCountFiles( BenchmarkUtil.newDir( "otuUtil" ), this.numSamples,
+			this.numOtus );
+		this.sampleOtuCounts = OtuUtil.getSampleOtuCounts( this.files );
+	}
+
+	/**
+	 * Number of OTUs per sample
+	 */
+	@Param( { "1000", "10000" } )
+	public int numOtus;
+
+	/**
+	 * Number of samples
+	 */
+	@Param( { "100" } )
+	public int numSamples;
+
+	private List<File> files = null;
+	private TreeMap<String, TreeMap<String, Long>> sampleOtuCounts = null;
+}
@@ -0,0 +1,90 @@
+/**
+ * @UNCC Fodor Lab
+ * @author Michael Sioda
+ * @email msioda@uncc.edu
+ * @date Jun 18, 2019
+ * @disclaimer This code is free software; you can redistribute it and/or modify it under the terms of the GNU General
+ * Public License as published by the Free Software Foundation; either version 2 of the License, or (at your option) any
+ * later version, provided that any use properly credits the author. This program is distributed in the hope that it
+ * will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU General Public License for more details at http://www.gnu.org *
+ */
+package biolockj.benchmark;
+
+import java.io.BufferedReader;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import biolockj.node.OtuNode;
+import biolockj.node.ParsedSample;
+import biolockj.node.wgs.KrakenNode;
+import biolockj.util.BioLockJUtil;
+
+/**
+ * JMH benchmarks for aggregating classified reads into OTU counts with {@link biolockj.node.ParsedSample}.
+ */
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@State( Scope.Benchmark )
+@Fork( 1 )
+@Warmup( iterations = 3 )
+@Measurement( iterations = 5 )
+public class ParsedSampleBenchmark {
+
+	/**
+	 * Benchmark {@link biolockj.node.ParsedSample#addNode(OtuNode)} for every read.
+	 *
+	 * @return ParsedSample
+	 */
+	@Benchmark
+	public ParsedSample addNodes() {
+		final ParsedSample sample = new ParsedSample( this.nodes.get( 0 ) );
+		for( final OtuNode node: this.nodes.subList( 1, this.nodes.size() ) )
+			sample.addNode( node );
+		return sample;
+	}
+
+	/**
+	 * Benchmark {@link biolockj.node.ParsedSample#getOtuCounts()}, which fills in unclassified taxa and resolves
+	 * parent OTU counts.
+	 *
+	 * @return OTU counts
+	 * @throws Exception if errors occur
+	 */
+	@Benchmark
+	public TreeMap<String, Long> getOtuCounts() throws Exception {
+		return addNodes().getOtuCounts();
+	}
+
+	/**
+	 * Parse the synthetic Kraken reads into nodes.
+	 *
+	 * @throws Exception if errors occur
+	 */
+	@Setup
+	public void setup() throws Exception {
+		final String id = BenchmarkUtil.SAMPLE_PREFIX + 0;
+		final BufferedReader reader = BioLockJUtil.getFileReader( BenchmarkUtil.writeKrakenFile(
+			BenchmarkUtil.newDir( "parsedSample" ), id, this.numReads, this.numOtus ) );
+		try {
+			for( String line = reader.readLine(); line != null; line = reader.readLine() )
+				this.nodes.add( new KrakenNode( id, line ) );
+		} finally {
+			reader.close();
+		}
+	}
+
+	/**
+	 * Number of OTUs
+	 */
+	@Param( { "1000" } )
+	public int numOtus;
+
+	/**
+	 * Number of reads
+	 */
+	@Param( { "100000" } )
+	public int numReads;
+
+	private final List<OtuNode> nodes = new ArrayList<>();
+}
@@ -0,0 +1,253 @@
+/**
+ * @UNCC Fodor Lab
+ * @author Michael Sioda
+ * @email msioda@uncc.edu
+ * @date Jun 20, 2019
+ * @disclaimer This code is free software; you can redistribute it and/or modify it under the terms of the GNU General
+ * Public License as published by the Free Software Foundation; either version 2 of the License, or (at your option) any
+ * later version, provided that any use properly credits the author. This program is distributed in the hope that it
+ * will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU General Public License for more details at http://www.gnu.org *
+ */
+package biolockj.benchmark;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.util.*;
+import biolockj.Constants;
+import biolockj.util.*;
+
+/**
+ * End-to-end pipeline timing harness. Each run launches BioLockJ in a new JVM for a fixed pipeline on a synthetic
+ * dataset written by {@link biolockj.util.SyntheticDataUtil}. The classifier executable is replaced with a stand-in
+ * bash script (set via the classifier exe.* {@link biolockj.Config} property) that copies pre-generated
+ * classifier-format reports to the output paths in its arguments. So no classifier, database or R install is needed,
+ * and the timings measure BioLockJ orchestration overhead: script generation, worker script polling, metadata
+ * updates, parsing and the Java report modules.
+ * <p>
+ * Arguments are name=value pairs, each optional: classifier ({@value #KRAKEN2} or {@value #RDP}), samples, reads,
+ * otus, workers, runs and results (output file). Module timings are read from each pipeline
+ * {@value biolockj.util.MetricsUtil#METRICS_FILE} and appended to the results file, with a final "Pipeline" row per
+ * run for the total JVM wall time. A summary of the median time per module is printed when all runs complete.
+ * <p>
+ * Run with: ant -f resources/build.xml benchmark-pipeline -Dbenchmark.args="samples=100 runs=5"
+ */
+public class PipelineBenchmark {
+
+	// Prevents instantiation
+	private PipelineBenchmark() {}
+
+	/**
+	 * Run the pipeline benchmark.
+	 *
+	 * @param args name=value arguments
+	 * @throws Exception if any pipeline fails or errors occur writing the results
+	 */
+	public static void main( final String[] args ) throws Exception {
+		final Map<String, String> params = new HashMap<>( DEFAULT_PARAMS );
+		for( final String arg: args ) {
+			final int index = arg.indexOf( "=" );
+			if( index < 1 || !DEFAULT_PARAMS.containsKey( arg.substring( 0, index ) ) ) throw new Exception(
+				"Invalid argument [ " + arg + " ] - expected name=value, valid names: " + DEFAULT_PARAMS.keySet() );
+			params.put( arg.substring( 0, index ), arg.substring( index + 1 ) );
+		}
+
+		final String classifier = params.get( CLASSIFIER );
+		if( !classifier.equals( KRAKEN2 ) && !classifier.equals( RDP ) ) throw new Exception(
+			"Invalid " + CLASSIFIER + " [ " + classifier + " ] - options: " + KRAKEN2 + ", " + RDP );
+
+		final File projDir = Files.createTempDirectory( "blj_pipeline_benchmark" ).toFile();
+		final File config = writeDataset( projDir, classifier, Integer.valueOf( params.get( SAMPLES ) ),
+			Integer.valueOf( params.get( READS ) ), Integer.valueOf( params.get( OTUS ) ),
+			Integer.valueOf( params.get( WORKERS ) ) );
+
+		final File results = new File( params.get( RESULTS ) );
+		if( results.getParentFile() != null ) results.getParentFile().mkdirs();
+		final boolean addHeader = !results.isFile();
+		final Map<String, List<Long>> wallTimes = new LinkedHashMap<>();
+		final BufferedWriter writer = new BufferedWriter( new FileWriter( results, true ) );
+		try {
+			if( addHeader ) writer.write( HEADER + Constants.RETURN );
+			for( int run = 1; run <= Integer.valueOf( params.get( RUNS ) ); run++ ) {
+				final long start = System.currentTimeMillis();
+				final File pipelineDir = runPipeline( projDir, config, run );
+				final long wallTime = System.currentTimeMillis() - start;
+				final String prefix = run + TAB + classifier + TAB + params.get( SAMPLES ) + TAB + params.get( READS ) +
+					TAB + params.get( OTUS ) + TAB;
+				for( final List<String> row: readMetrics( pipelineDir ) ) {
+					writer.write( prefix + row.get( 0 ) + TAB + row.get( 1 ) + TAB + row.get( 2 ) + TAB +
+						row.get( 3 ) + TAB + row.get( 4 ) + Constants.RETURN );
+					wallTimes.computeIfAbsent( row.get( 0 ), k -> new ArrayList<>() )
+						.add( Long.valueOf( row.get( 1 ) ) );
+				}
+				writer.write( prefix + PIPELINE + TAB + wallTime + TAB + -1 + TAB + -1 + TAB +
+					Constants.SCRIPT_SUCCESS + Constants.RETURN );
+				writer.flush();
+				wallTimes.computeIfAbsent( PIPELINE, k -> new ArrayList<>() ).add( wallTime );
+				System.out.println( "Run #" + run + " completed in " + wallTime + " ms: " + pipelineDir );
+			}
+		} finally {
+			writer.close();
+		}
+
+		System.out.println( "Median wall time (ms) of " + params.get( RUNS ) + " runs:" );
+		for( final String module: wallTimes.keySet() ) {
+			final List<Long> times = wallTimes.get( module );
+			Collections.sort( times );
+			System.out.println( BioLockJUtil.addTrailingSpaces( module, 48 ) + times.get( times.size() / 2 ) );
+		}
+		System.out.println( "Results saved: " + results.getAbsolutePath() );
+	}
+
+	/**
+	 * Read the module metrics rows.
+	 *
+	 * @return List of { module, wall time, CPU time, records, status }
+	 */
+	private static List<List<String>> readMetrics( final File pipelineDir ) throws Exception {
+		final List<List<String>> rows = new ArrayList<>();
+		final File metrics = new File( pipelineDir, MetricsUtil.METRICS_FILE );
+		if( !metrics.isFile() ) return rows;
+		final BufferedReader reader = BioLockJUtil.getFileReader( metrics );
+		try {
+			final List<String> header = BioLockJUtil.splitLine( reader.readLine(), TAB );
+			for( String line = reader.readLine(); line != null; line = reader.readLine() ) {
+				final List<String> cells = BioLockJUtil.splitLine( line, TAB );
+				final List<String> row = new ArrayList<>();
+				for( final String col: METRICS_COLS )
+					row.add( cells.get( header.indexOf( col ) ) );
+				rows.add( row );
+			}
+		} finally {
+			reader.close();
+		}
+		return rows;
+	}
+
+	/**
+	 * Run BioLockJ in a new JVM with the same classpath, output is saved to run_#.log in the project directory.
+	 *
+	 * @return Pipeline root directory
+	 */
+	private static File runPipeline( final File projDir, final File config, final int run ) throws Exception {
+		final Set<File> existingDirs = new HashSet<>( Arrays.asList( projDir.listFiles() ) );
+		final ProcessBuilder pb = new ProcessBuilder( System.getProperty( "java.home" ) + File.separator + "bin" +
+			File.separator + "java", "-cp", System.getProperty( "java.class.path" ), "biolockj.BioLockJ", "-b",
+			projDir.getAbsolutePath(), "-u", System.getProperty( "user.home" ), "-c", config.getAbsolutePath() );
+		if( pb.environment().get( BLJ ) == null ) pb.environment().put( BLJ, System.getProperty( "user.dir" ) );
+		pb.redirectErrorStream( true );
+		final File log = new File( projDir, "run_" + run + ".log" );
+		pb.redirectOutput( log );
+		final int exitCode = pb.start().waitFor();
+
+		File pipelineDir = null;
+		for( final File dir: projDir.listFiles() )
+			if( dir.isDirectory() && !existingDirs.contains( dir ) ) pipelineDir = dir;
+		if( exitCode != 0 || pipelineDir == null || !new File( pipelineDir, Constants.BLJ_COMPLETE ).isFile() )
+			throw new Exception( "Pipeline run #" + run + " failed with exit code " + exitCode + ", see: " +
+				log.getAbsolutePath() );
+		return pipelineDir;
+	}
+
+	/**
+	 * Write the synthetic sequence files, metadata, pre-generated classifier reports, the stand-in classifier script
+	 * and the pipeline Config file.
+	 *
+	 * @return Config file
+	 */
+	private static File writeDataset( final File projDir, final String classifier, final int numSamples,
+		final int numReads, final int numOtus, final int numWorkers ) throws Exception {
+		final File dataDir = new File( projDir, DATA_DIR );
+		final File seqDir = new File( dataDir, "seq" );
+		final File reportDir = new File( dataDir, "reports" );
+		final File dbDir = new File( dataDir, "db" );
+		seqDir.mkdirs();
+		reportDir.mkdirs();
+		dbDir.mkdirs();
+
+		final boolean isKraken = classifier.equals( KRAKEN2 );
+		final List<String> ids = SyntheticDataUtil.getSampleIds( numSamples );
+		for( final String id: ids ) {
+			SyntheticDataUtil.writeSeqFile( seqDir, id, numReads, READ_LEN, isKraken, false, BenchmarkUtil.SEED );
+			if( isKraken ) SyntheticDataUtil.writeKraken2File( reportDir, id, numReads, numOtus, BenchmarkUtil.SEED );
+			else SyntheticDataUtil.writeRdpFile( reportDir, id, numReads, numOtus, BenchmarkUtil.SEED );
+		}
+		final File metadata =
+			SyntheticDataUtil.writeMetadata( new File( dataDir, "metadata.tsv" ), ids, false, BenchmarkUtil.SEED );
+
+		final File standIn = new File( dataDir, "standInClassifier.sh" );
+		BufferedWriter writer = new BufferedWriter( new FileWriter( standIn ) );
+		try {
+			writer.write( "#!/bin/bash" + Constants.RETURN );
+			writer.write( "# Stand-in classifier: copy the pre-generated report for each " + Constants.PROCESSED +
+				" argument" + Constants.RETURN );
+			writer.write( "for arg in \"$@\"; do" + Constants.RETURN );
+			writer.write( "\t[[ \"$arg\" == *" + Constants.PROCESSED + " ]] && cp \"" + reportDir.getAbsolutePath() +
+				"/$(basename $arg)\" \"$arg\"" + Constants.RETURN );
+			writer.write( "done" + Constants.RETURN + "exit 0" + Constants.RETURN );
+		} finally {
+			writer.close();
+		}
+		standIn.setExecutable( true );
+
+		final File config = new File( projDir, classifier + "Benchmark" + Constants.PROPS_EXT );
+		writer = new BufferedWriter( new FileWriter( config ) );
+		try {
+			writer.write( "#BioModule biolockj.module.classifier." + ( isKraken ? "wgs.Kraken2Classifier"
+				: "r16s.RdpClassifier" ) + Constants.RETURN );
+			for( final String module: REPORT_MODULES )
+				writer.write( "#BioModule " + module + Constants.RETURN );
+			writer.write( Constants.RETURN );
+			if( isKraken ) {
+				writer.write( "exe.kraken2=" + standIn.getAbsolutePath() + Constants.RETURN );
+				writer.write( "kraken2.db=" + dbDir.getAbsolutePath() + Constants.RETURN );
+			} else {
+				// RdpClassifier runs "java -jar ${rdp.jar}", override exe.java for this module only (module property
+				// names drop the "exe." prefix)
+				writer.write( "RdpClassifier.java=" + standIn.getAbsolutePath() + Constants.RETURN );
+				writer.write( "rdp.jar=" + standIn.getAbsolutePath() + Constants.RETURN );
+			}
+			writer.write( Constants.INPUT_DIRS + "=" + seqDir.getAbsolutePath() + Constants.RETURN );
+			writer.write( MetaUtil.META_FILE_PATH + "=" + metadata.getAbsolutePath() + Constants.RETURN );
+			writer.write( Constants.PIPELINE_ENV + "=" + Constants.PIPELINE_ENV_LOCAL + Constants.RETURN );
+			writer.write( Constants.REPORT_TAXONOMY_LEVELS + "=phylum,class,order,family,genus" + Constants.RETURN );
+			writer.write( Constants.SCRIPT_NUM_WORKERS + "=" + numWorkers + Constants.RETURN );
+			writer.write( Constants.SCRIPT_NUM_THREADS + "=1" + Constants.RETURN );
+		} finally {
+			writer.close();
+		}
+		return config;
+	}
+
+	private static final String BLJ = "BLJ";
+	private static final String CLASSIFIER = "classifier";
+	private static final String DATA_DIR = "data";
+	private static final String KRAKEN2 = "kraken2";
+	private static final String OTUS = "otus";
+	private static final String PIPELINE = "Pipeline";
+	private static final String RDP = "rdp";
+	private static final int READ_LEN = 150;
+	private static final String READS = "reads";
+	private static final String RESULTS = "results";
+	private static final String RUNS = "runs";
+	private static final String SAMPLES = "samples";
+	private static final String TAB = Constants.TAB_DELIM;
+	private static final String WORKERS = "workers";
+	private static final Map<String, String> DEFAULT_PARAMS = new HashMap<>();
+	private static final String HEADER = "Run" + TAB + "Classifier" + TAB + "Samples" + TAB + "Reads" + TAB + "Otus" +
+		TAB + "Module" + TAB + "WallTimeMs" + TAB + "CpuTimeMs" + TAB + "Records" + TAB + "Status";
+	private static final String[] METRICS_COLS = { "Module", "WallTimeMs", "CpuTimeMs", "Records", "Status" };
+	private static final String[] REPORT_MODULES = { "biolockj.module.report.otu.RemoveLowOtuCounts",
+		"biolockj.module.report.otu.RemoveScarceOtuCounts", "biolockj.module.report.taxa.NormalizeTaxaTables",
+		"biolockj.module.report.taxa.AddMetadataToTaxaTables" };
+
+	static {
+		DEFAULT_PARAMS.put( CLASSIFIER, KRAKEN2 );
+		DEFAULT_PARAMS.put( OTUS, "1000" );
+		DEFAULT_PARAMS.put( READS, "10000" );
+		DEFAULT_PARAMS.put( RESULTS, "benchmark/results/pipeline.tsv" );
+		DEFAULT_PARAMS.put( RUNS, "3" );
+		DEFAULT_PARAMS.put( SAMPLES, "20" );
+		DEFAULT_PARAMS.put( WORKERS, "4" );
+	}
+}
@@ -0,0 +1,113 @@
+/**
+ * @UNCC Fodor Lab
+ * @author Michael Sioda
+ * @email msioda@uncc.edu
+ * @date Jun 18, 2019
+ * @disclaimer This code is free software; you can redistribute it and/or modify it under the terms of the GNU General
+ * Public License as published by the Free Software Foundation; either version 2 of the License, or (at your option) any
+ * later version, provided that any use properly credits the author. This program is distributed in the hope that it
+ * will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU General Public License for more details at http://www.gnu.org *
+ */
+package biolockj.benchmark;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import biolockj.util.BioLockJUtil;
+import biolockj.util.SeqUtil;
+
+/**
+ * JMH benchmarks for reading sequence files with {@link biolockj.util.SeqUtil}.
+ */
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@State( Scope.Benchmark )
+@Fork( 1 )
+@Warmup( iterations = 3 )
+@Measurement( iterations = 5 )
+public class SeqUtilBenchmark {
+
+	/**
+	 * Benchmark {@link biolockj.util.SeqUtil#countNumReads(File)}.
+	 *
+	 * @return Number of reads
+	 * @throws Exception if errors occur
+	 */
+	@Benchmark
+	public long countNumReads() throws Exception {
+		return SeqUtil.countNumReads( this.fastq );
+	}
+
+	/**
+	 * Benchmark {@link biolockj.util.SeqUtil#getHeaders(File)}.
+	 *
+	 * @return Read headers
+	 * @throws Exception if errors occur
+	 */
+	@Benchmark
+	public Set<String> getHeaders() throws Exception {
+		return SeqUtil.getHeaders( this.fastq );
+	}
+
+	/**
+	 * Benchmark {@link biolockj.util.SeqUtil#getSampleId(String)}.
+	 *
+	 * @return Sample ID
+	 * @throws Exception if errors occur
+	 */
+	@Benchmark
+	public String getSampleId() throws Exception {
+		return SeqUtil.getSampleId( this.fastq.getName() );
+	}
+
+	/**
+	 * Benchmark {@link biolockj.util.SeqUtil#reverseComplement(String)} for 1 read.
+	 *
+	 * @return Reverse complement
+	 * @throws Exception if errors occur
+	 */
+	@Benchmark
+	public String reverseComplement() throws Exception {
+		return SeqUtil.reverseComplement( this.read );
+	}
+
+	/**
+	 * Write the FASTQ file.
+	 *
+	 * @throws Exception if errors occur
+	 */
+	@Setup
+	public void setup() throws Exception {
+		this.fastq = BenchmarkUtil.writeFastq( BenchmarkUtil.newDir( "seqUtil" ), BenchmarkUtil.SAMPLE_PREFIX + 0,
+			this.numReads, this.readLength );
+		this.read = readSeq();
+	}
+
+	/**
+	 * Number of reads
+	 */
+	@Param( { "100000" } )
+	public int numReads;
+
+	/**
+	 * Read length
+	 */
+	@Param( { "150" } )
+	public int readLength;
+
+	private String readSeq() throws Exception {
+		final BufferedReader reader = BioLockJUtil.getFileReader( this.fastq );
+		try {
+			reader.readLine();
+			return reader.readLine();
+		} finally {
+			reader.close();
+		}
+	}
+
+	private File fastq = null;
+	private String read = null;
+}
@@ -0,0 +1,91 @@
+/**
+ * @UNCC Fodor Lab
+ * @author Michael Sioda
+ * @email msioda@uncc.edu
+ * @date Jun 18, 2019
+ * @disclaimer This code is free software; you can redistribute it and/or modify it under the terms of the GNU General
+ * Public License as published by the Free Software Foundation; either version 2 of the License, or (at your option) any
+ * later version, provided that any use properly credits the author. This program is distributed in the hope that it
+ * will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU General Public License for more details at http://www.gnu.org *
+ */
+package biolockj.benchmark;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import biolockj.Constants;
+import biolockj.util.OtuUtil;
+import biolockj.util.TaxaUtil;
+
+/**
+ * JMH benchmarks for splitting OTU paths into taxonomy levels with {@link biolockj.util.TaxaUtil}.
+ */
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@State( Scope.Benchmark )
+@Fork( 1 )
+@Warmup( iterations = 3 )
+@Measurement( iterations = 5 )
+public class TaxaUtilBenchmark {
+
+	/**
+	 * Benchmark {@link biolockj.util.TaxaUtil#getLevelTaxaCounts(TreeMap, String)} at the genus level.
+	 *
+	 * @return Genus counts by sample
+	 */
+	@Benchmark
+	public TreeMap<String, TreeMap<String, Long>> getLevelTaxaCounts() {
+		return TaxaUtil.getLevelTaxaCounts( this.sampleOtuCounts, Constants.GENUS );
+	}
+
+	/**
+	 * Benchmark {@link biolockj.util.TaxaUtil#getTaxaByLevel(String)} for every unique OTU.
+	 *
+	 * @param blackhole JMH Blackhole
+	 */
+	@Benchmark
+	public void getTaxaByLevel( final Blackhole blackhole ) {
+		for( final String otu: this.otus )
+			blackhole.consume( TaxaUtil.getTaxaByLevel( otu ) );
+	}
+
+	/**
+	 * Benchmark {@link biolockj.util.TaxaUtil#getTaxaName(String, String)} at the species level for every unique OTU.
+	 *
+	 * @param blackhole JMH Blackhole
+	 */
+	@Benchmark
+	public void getTaxaName( final Blackhole blackhole ) {
+		for( final String otu: this.otus )
+			blackhole.consume( TaxaUtil.getTaxaName( otu, Constants.SPECIES ) );
+	}
+
+	/**
+	 * Load the synthetic OTU counts.
+	 *
+	 * @throws Exception if errors occur
+	 */
+	@Setup
+	public void setup() throws Exception {
+		this.sampleOtuCounts = OtuUtil.getSampleOtuCounts(
+			BenchmarkUtil.writeOtuCountFiles( BenchmarkUtil.newDir( "taxaUtil" ), this.numSamples, this.numOtus ) );
+		this.otus = new ArrayList<>( OtuUtil.findUniqueOtus( this.sampleOtuCounts ) );
+	}
+
+	/**
+	 * Number of OTUs per sample
+	 */
+	@Param( { "1000", "10000" } )
+	public int numOtus;
+
+	/**
+	 * Number of samples
+	 */
+	@Param( { "100" } )
+	public int numSamples;
+
+	private List<String> otus = null;
+	private TreeMap<String, TreeMap<String, Long>> sampleOtuCounts = null;
+}
@@ -316,6 +316,8 @@ public class Config {
 		String val = props.getProperty( prop );
 		if( val != null ) val = val.trim();
 		usedProps.put( prop, val );
+		final Map<String, String> tracked = trackedProps.get();
+		if( tracked != null ) tracked.putIfAbsent( prop, val == null ? "": val );
 		if( val != null && val.isEmpty() ) val = null;
 		return val;
 	}
@@ -340,7 +342,9 @@ public class Config {
 	 */
 	public static Map<String, String> getUsedProps() {
 		getString( null, Constants.PIPELINE_DEFAULT_PROPS );
-		return new HashMap<>( usedProps );
+		synchronized( usedProps ) {
+			return new HashMap<>( usedProps );
+		}
 	}
 
 	/**
@@ -678,6 +682,30 @@ public class Config {
 		pipelineDir = dir;
 	}
 
+	/**
+	 * Start recording the properties read by the calling thread (and threads it creates), such as the properties read by
+	 * a module while it runs. Call {@link #stopTrackingProps()} to obtain the properties read.
+	 */
+	public static void startTrackingProps() {
+		trackedProps.set( Collections.synchronizedMap( new TreeMap<>() ) );
+	}
+
+	/**
+	 * Stop recording the properties read by the calling thread. Each property is recorded with the value returned by
+	 * its 1st read, before any default value is set (such as by {@link #getBoolean(BioModule, String)}), undefined
+	 * properties are recorded as empty strings.
+	 * 
+	 * @return Ordered map of the properties read since {@link #startTrackingProps()} was called
+	 */
+	public static TreeMap<String, String> stopTrackingProps() {
+		final Map<String, String> tracked = trackedProps.get();
+		trackedProps.remove();
+		if( tracked == null ) return new TreeMap<>();
+		synchronized( tracked ) {
+			return new TreeMap<>( tracked );
+		}
+	}
+
 	/**
 	 * Build File using filePath.
 	 *
@@ -828,6 +856,7 @@ public class Config {
 	private static File configFile = null;
 	private static File pipelineDir = null;
 	private static Properties props = null;
+	private static final ThreadLocal<Map<String, String>> trackedProps = new InheritableThreadLocal<>();
 	private static Properties unmodifiedInputProps = new Properties();
-	private static final Map<String, String> usedProps = new HashMap<>();
+	private static final Map<String, String> usedProps = Collections.synchronizedMap( new HashMap<>() );
 }
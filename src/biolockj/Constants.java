@@ -49,6 +49,12 @@ public class Constants {
 	 */
 	public static final String BLJ_FAILED = "biolockjFailed";
 
+	/**
+	 * Name of the file created in the BioModule root directory to record the configuration, input files, and BioLockJ
+	 * version used to run the module: {@value #BLJ_FINGERPRINT}
+	 */
+	public static final String BLJ_FINGERPRINT = "biolockjFingerprint";
+
 	/**
 	 * Set "#BioModule" tag in {@link biolockj.Config} file to include in pipeline: {@value #BLJ_MODULE_TAG}<br>
 	 * Example: #BioModule biolockj.module.ImportMetadata
@@ -481,6 +487,20 @@ public class Constants {
 	 */
 	public static final String PIPELINE_ENV_LOCAL = "local";
 
+	/**
+	 * {@link biolockj.Config} Boolean property: {@value #PIPELINE_FINGERPRINT_CHECKSUMS}<br>
+	 * If enabled, module fingerprints include an MD5 checksum of each input file, otherwise input files are identified
+	 * by size and last-modified time only.
+	 */
+	public static final String PIPELINE_FINGERPRINT_CHECKSUMS = "pipeline.fingerprintChecksums";
+
+	/**
+	 * {@link biolockj.Config} Positive Integer property: {@value #PIPELINE_MAX_CONCURRENT_MODULES}<br>
+	 * Max number of independent modules (such as R plot modules that only depend on R_CalculateStats) to run at the same
+	 * time. If undefined or 1, modules run one at a time in the configured order.
+	 */
+	public static final String PIPELINE_MAX_CONCURRENT_MODULES = "pipeline.maxConcurrentModules";
+
 	/**
 	 * {@link biolockj.Config} property to assign a name to a pipeline: {@value #PIPELINE_NAME} TODO: needs to be
 	 * implemented.
@@ -571,6 +591,14 @@ public class Constants {
 	 */
 	public static final String RDP_THRESHOLD_SCORE = "rdp.minThresholdScore";
 
+	/**
+	 * {@link biolockj.Config} Boolean property: {@value #REPORT_BINARY_TABLES}<br>
+	 * If set to {@value #TRUE}, OTU count files passed directly to the next Java report module are written in the
+	 * compact binary format of {@link biolockj.util.BinaryTableUtil}. Taxa tables are included in the pipeline
+	 * download, so they are always written as TSV files
+	 */
+	public static final String REPORT_BINARY_TABLES = "report.binaryTables";
+
 	/**
 	 * {@link biolockj.Config} String property: {@value #REPORT_LOG_BASE}<br>
 	 * Required to be set to "e" or "10" to build log normalized reports.
@@ -655,6 +683,13 @@ public class Constants {
 	 */
 	public static final String SCRIPT_FAILURES = "Failures";
 
+	/**
+	 * {@link biolockj.Config} Integer property: {@value #SCRIPT_NUM_LOCAL_SLOTS}<br>
+	 * Max number of worker scripts the MAIN script runs concurrently on a local (non-cluster, non-Docker) host. If
+	 * undefined or 1, worker scripts run one after another.
+	 */
+	public static final String SCRIPT_NUM_LOCAL_SLOTS = "script.numLocalSlots";
+
 	/**
 	 * {@link biolockj.Config} Integer property: {@value #SCRIPT_NUM_THREADS}<br>
 	 * Used to reserve cluster resources and passed to any external application call that accepts a numThreads
@@ -695,6 +730,13 @@ public class Constants {
 	 */
 	public static final String SET_SEED = "pipeline.setSeed";
 
+	/**
+	 * {@link biolockj.Config} Boolean property: {@value #SUBPROCESS_LOG_FILES}<br>
+	 * If enabled, the output of module MAIN scripts is saved to a log file in the module temp directory, and the output
+	 * of background subprocesses is saved to a log file in the pipeline root directory, instead of the pipeline log.
+	 */
+	public static final String SUBPROCESS_LOG_FILES = "pipeline.subprocessLogFiles";
+
 	/**
 	 * BioLockJ shell script file extension: {@value #SH_EXT}
 	 */
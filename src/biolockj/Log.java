@@ -13,6 +13,10 @@ package biolockj;
 
 import java.io.File;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.log4j.Appender;
+import org.apache.log4j.AsyncAppender;
+import org.apache.log4j.LogManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import biolockj.util.*;
@@ -43,6 +47,7 @@ public class Log {
 	 * @param msg Message to log
 	 */
 	public static void debug( final Class<?> loggingClass, final String msg ) {
+		if( !debugEnabled ) return;
 		if( !enableLogs ) return;
 		if( RuntimeParamUtil.logToSystemOut() ) {
 			System.out.println( "[ DEBUG ] " + msg );
@@ -50,10 +55,7 @@ public class Log {
 		}
 
 		if( isInitialized() && !debugClasses().isEmpty() ) {
-			boolean isDebugClass = false;
-			for( final String val: debugClasses() )
-				if( loggingClass.getName().contains( val ) ) isDebugClass = true;
-			if( !isDebugClass ) {
+			if( !isDebugClass( loggingClass ) ) {
 				if( !gaveDebugWarning ) {
 					gaveDebugWarning = true;
 					warn( loggingClass, "DEBUG DISABLED for " + loggingClass.getName() + " because Config property [ " +
@@ -70,12 +72,15 @@ public class Log {
 	}
 
 	/**
-	 * Return TRUE if {@value Constants#LOG_LEVEL_PROPERTY} = DEBUG.
+	 * Return TRUE if {@value Constants#LOG_LEVEL_PROPERTY} = DEBUG.<br>
+	 * The log level is resolved once in {@link #initialize(String)}, prior calls read it from {@link biolockj.Config}.
 	 * 
 	 * @return TRUE if DEBUG
 	 */
 	public static boolean doDebug() {
-		return Config.getString( null, Constants.LOG_LEVEL_PROPERTY ).toUpperCase().equals( "DEBUG" );
+		if( logLevel != null ) return logLevel.equals( DEBUG );
+		final String level = Config.getString( null, Constants.LOG_LEVEL_PROPERTY );
+		return level != null && level.toUpperCase().equals( DEBUG );
 	}
 
 	/**
@@ -157,6 +162,8 @@ public class Log {
 	 * <li>Set and store {@link #LOG_FILE} and {@link #LOG_APPEND} in {@link System} properties to be used by
 	 * <a href="https://github.com/msioda/BioLockJ/blob/master/resources/log4j.properties?raw=true" target=
 	 * "_top">log4j.properties</a>
+	 * <li>Resolve the log level and {@value biolockj.Constants#LIMIT_DEBUG_CLASSES} filter once
+	 * <li>Route Log4J appenders through an {@link org.apache.log4j.AsyncAppender} so log writes never block
 	 * <li>Print cached messages generated prior to Log file initialization to log file as INFO
 	 * <li>Print {@link biolockj.Config} property values to log file as INFO
 	 * </ul>
@@ -166,11 +173,17 @@ public class Log {
 	 */
 	public static void initialize( final String name ) throws Exception {
 		logFile = BioLockJUtil.createFile( Config.pipelinePath() + File.separator + name + Constants.LOG_EXT );
+		logLevel = validateLogLevel();
 		System.setProperty( LOG_FILE, logFile.getAbsolutePath() );
-		System.setProperty( Constants.LOG_LEVEL_PROPERTY, validateLogLevel() );
+		System.setProperty( Constants.LOG_LEVEL_PROPERTY, logLevel );
 		System.setProperty( LOG_APPEND, String.valueOf( logFile.isFile() ) );
 		System.setProperty( LOG_FORMAT,
 			BioLockJUtil.isDirectMode() && !Config.isOnCluster() ? DIRECT_FORMAT: DEFAULT_FORMAT );
+		debugClasses = null;
+		debugClassMap.clear();
+		debugClasses();
+		debugEnabled = logLevel.equals( DEBUG ) || RuntimeParamUtil.logToSystemOut();
+		initAsyncAppender();
 
 		if( !BioLockJUtil.isDirectMode() ) {
 			logWelcomeMsg();
@@ -182,7 +195,7 @@ public class Log {
 			}
 
 			Log.info( Log.class, "Set " + LOG_FILE + " = " + logFile.getAbsolutePath() );
-			Log.info( Log.class, "Set " + Constants.LOG_LEVEL_PROPERTY + " = " + validateLogLevel() );
+			Log.info( Log.class, "Set " + Constants.LOG_LEVEL_PROPERTY + " = " + logLevel );
 			Log.info( Log.class, "Set " + LOG_APPEND + " = " + String.valueOf( logFile.isFile() ) );
 			Log.info( Log.class, "Set " + LOG_FORMAT + " = " + DIRECT_FORMAT );
 			logConfig();
@@ -209,9 +222,7 @@ public class Log {
 	 * @return Logger for callingClass
 	 */
 	public static Logger out( final Class<?> callingClass ) {
-		if( loggers.get( callingClass.getName() ) == null )
-			loggers.put( callingClass.getName(), LoggerFactory.getLogger( callingClass ) );
-		return loggers.get( callingClass.getName() );
+		return loggers.computeIfAbsent( callingClass.getName(), k -> LoggerFactory.getLogger( callingClass ) );
 	}
 
 	/**
@@ -309,6 +320,43 @@ public class Log {
 		return debugClasses;
 	}
 
+	/**
+	 * Wrap the root Log4J appenders configured in log4j.properties in a single {@link org.apache.log4j.AsyncAppender}
+	 * with a bounded queue of {@value #LOG_BUFFER_SIZE} events. Log calls only enqueue the event, a background thread
+	 * writes to disk. If the queue is full, the caller blocks until there is room so no event (in particular the ERROR
+	 * explaining a pipeline failure) is ever discarded. A shutdown hook drains the queue on exit.
+	 */
+	private static void initAsyncAppender() {
+		final org.apache.log4j.Logger root = LogManager.getRootLogger();
+		if( root.getAppender( ASYNC_APPENDER ) != null ) return;
+		final AsyncAppender async = new AsyncAppender();
+		async.setName( ASYNC_APPENDER );
+		async.setBufferSize( LOG_BUFFER_SIZE );
+		async.setBlocking( true );
+		final List<Appender> appenders = new ArrayList<>();
+		final Enumeration<?> en = root.getAllAppenders();
+		while( en.hasMoreElements() )
+			appenders.add( (Appender) en.nextElement() );
+		if( appenders.isEmpty() ) return;
+		for( final Appender appender: appenders ) {
+			root.removeAppender( appender );
+			async.addAppender( appender );
+		}
+		root.addAppender( async );
+		Runtime.getRuntime().addShutdownHook( new Thread( () -> LogManager.shutdown() ) );
+	}
+
+	private static boolean isDebugClass( final Class<?> loggingClass ) {
+		Boolean isDebugClass = debugClassMap.get( loggingClass );
+		if( isDebugClass == null ) {
+			isDebugClass = false;
+			for( final String val: debugClasses() )
+				if( loggingClass.getName().contains( val ) ) isDebugClass = true;
+			debugClassMap.put( loggingClass, isDebugClass );
+		}
+		return isDebugClass;
+	}
+
 	private static boolean isInitialized() {
 		return logFile != null && logFile.isFile();
 	}
@@ -364,10 +412,19 @@ public class Log {
 	 * <i>log4j.appender.file.layout.ConversionPattern=${LOG_FORMAT}</i>
 	 */
 	protected static final String LOG_FORMAT = "LOG_FORMAT";
+
+	/**
+	 * Max number of log events queued by the {@link org.apache.log4j.AsyncAppender}: {@value #LOG_BUFFER_SIZE}
+	 */
+	protected static final int LOG_BUFFER_SIZE = 8192;
+	private static final String ASYNC_APPENDER = "async";
+	private static final Map<Class<?>, Boolean> debugClassMap = new ConcurrentHashMap<>();
 	private static Set<String> debugClasses = null;
+	private static volatile boolean debugEnabled = true;
 	private static boolean enableLogs = true;
 	private static boolean gaveDebugWarning = false;
 	private static File logFile = null;
-	private static Map<String, Logger> loggers = new HashMap<>();
+	private static final Map<String, Logger> loggers = new ConcurrentHashMap<>();
+	private static String logLevel = null;
 	private static final List<String[]> logMesseges = new ArrayList<>();
 }
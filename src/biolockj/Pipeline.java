@@ -12,13 +12,17 @@
 package biolockj;
 
 import java.io.File;
-import java.util.Collection;
-import java.util.List;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.filefilter.IOFileFilter;
 import org.apache.commons.io.filefilter.WildcardFileFilter;
+import biolockj.exception.ConfigFormatException;
 import biolockj.module.*;
 import biolockj.module.report.Email;
+import biolockj.module.report.JsonReport;
 import biolockj.module.report.r.R_Module;
 import biolockj.util.*;
 
@@ -36,30 +40,16 @@ public class Pipeline {
 	 * @throws Exception if runtime errors occur
 	 */
 	public static void executeModule() throws Exception {
-		ModuleUtil.markStarted( exeModule() );
-		refreshRCacheIfNeeded();
-		exeModule().executeTask();
-		final boolean isJava = exeModule() instanceof JavaModule;
-		final boolean hasScripts = ModuleUtil.hasScripts( exeModule() );
-		final boolean detachJava = Config.getBoolean( exeModule(), Constants.DETACH_JAVA_MODULES );
-		final boolean runDetached = isJava && hasScripts && detachJava;
-
-		if( runDetached ) MasterConfigUtil.saveMasterConfig();
-		if( hasScripts && !DockerUtil.inAwsEnv() ) Processor.submit( (ScriptModule) exeModule() );
-		if( hasScripts ) waitForModuleScripts();
-		exeModule().cleanUp();
-		ValidationUtil.validateModule( exeModule() );
-		if( !runDetached ) SummaryUtil.reportSuccess( exeModule() );
-		ModuleUtil.markComplete( exeModule() );
+		reportModuleComplete( exeModule(), runModule( exeModule() ) );
 	}
 
 	/**
-	 * Return the BioModule currently being executed
+	 * Return the BioModule currently being executed by the calling thread
 	 * 
 	 * @return Current BioModule
 	 */
 	public static BioModule exeModule() {
-		return currentModule;
+		return currentModule.get();
 	}
 
 	/**
@@ -172,6 +162,8 @@ public class Pipeline {
 	 * modules have an empty file {@value Constants#BLJ_STARTED} in the module directory.<br>
 	 * Complete modules have an empty file {@value Constants#BLJ_COMPLETE} in the module directory.<br>
 	 * {@link biolockj.module.BioModule}s are run in the order listed in the {@link biolockj.Config} file.<br>
+	 * If {@link biolockj.Config}.{@value biolockj.Constants#PIPELINE_MAX_CONCURRENT_MODULES} &gt; 1, modules run as soon as
+	 * the modules they depend on are complete, see {@link #executeModulesConcurrently(int)}.<br>
 	 * <p>
 	 * Execution steps:
 	 * <ol>
@@ -183,6 +175,12 @@ public class Pipeline {
 	 * @throws Exception if script errors occur
 	 */
 	protected static void executeModules() throws Exception {
+		final Integer maxConcurrent = Config.getPositiveInteger( null, Constants.PIPELINE_MAX_CONCURRENT_MODULES );
+		if( maxConcurrent != null && maxConcurrent > 1 && !DockerUtil.inAwsEnv() ) {
+			executeModulesConcurrently( maxConcurrent );
+			return;
+		}
+
 		for( final BioModule module: Pipeline.getModules() ) {
 			setExeModule( module );
 			if( !ModuleUtil.isComplete( module ) ) executeModule();
@@ -191,6 +189,96 @@ public class Pipeline {
 		}
 	}
 
+	/**
+	 * Run up to maxConcurrent modules at the same time, each on its own thread, starting each module as soon as all of
+	 * its dependencies (see {@link #getModuleDependencies()}) are complete.<br>
+	 * Modules are only marked complete and added to the summary by this thread in the configured order, so the summary
+	 * and restart behavior match sequential execution. If a module fails, any running modules are interrupted and the
+	 * pipeline fails with the 1st exception.
+	 * 
+	 * @param maxConcurrent Max number of modules to run at the same time
+	 * @throws Exception if any module fails
+	 */
+	protected static void executeModulesConcurrently( final int maxConcurrent ) throws Exception {
+		final Map<BioModule, Set<BioModule>> dependencies = getModuleDependencies();
+		final List<BioModule> pending = new ArrayList<>();
+		for( final BioModule module: getModules() )
+			if( ModuleUtil.isComplete( module ) ) Log.debug( Pipeline.class,
+				"Skipping succssfully completed BioLockJ Module: " + module.getClass().getName() );
+			else pending.add( module );
+
+		Log.info( Pipeline.class, "Run up to " + maxConcurrent + " independent modules concurrently" );
+		final ExecutorService pool = Executors.newFixedThreadPool( maxConcurrent );
+		final CompletionService<Boolean> service = new ExecutorCompletionService<>( pool );
+		final Map<Future<Boolean>, BioModule> running = new HashMap<>();
+		final Map<BioModule, Boolean> finished = new HashMap<>();
+		try {
+			while( !pending.isEmpty() ) {
+				while( !pending.isEmpty() && finished.containsKey( pending.get( 0 ) ) )
+					reportModuleComplete( pending.get( 0 ), finished.remove( pending.remove( 0 ) ) );
+
+				for( final BioModule module: pending )
+					if( running.size() < maxConcurrent && !running.containsValue( module ) &&
+						!finished.containsKey( module ) && isReady( dependencies.get( module ) ) ) {
+						Log.info( Pipeline.class, "Start module: " + module.getClass().getName() );
+						running.put( service.submit( () -> {
+							setExeModule( module );
+							return runModule( module );
+						} ), module );
+					}
+
+				if( pending.isEmpty() ) break;
+				if( running.isEmpty() ) throw new Exception(
+					"No module is ready to run, unmet dependencies for: " + pending.get( 0 ).getClass().getName() );
+
+				final Future<Boolean> future = service.take();
+				final BioModule module = running.remove( future );
+				try {
+					finished.put( module, future.get() );
+				} catch( final ExecutionException ex ) {
+					if( ex.getCause() instanceof Exception ) throw (Exception) ex.getCause();
+					throw ex;
+				}
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	/**
+	 * Build the module dependency graph, mapping each module to the modules that must be complete before it can
+	 * start.<br>
+	 * Report-only modules (R modules and JsonReport, which only generate final reports) depend on their prerequisite
+	 * modules, the module that provides their input files, and every earlier module that is not report-only. All other
+	 * modules depend on every earlier module, so only groups of report-only modules (such as R plot modules after
+	 * R_CalculateStats) overlap.
+	 * 
+	 * @return Map of BioModule to the set of modules it depends on
+	 * @throws Exception if unable to determine module prerequisites
+	 */
+	protected static Map<BioModule, Set<BioModule>> getModuleDependencies() throws Exception {
+		final Map<BioModule, Set<BioModule>> dependencies = new HashMap<>();
+		for( final BioModule module: getModules() ) {
+			final Set<BioModule> deps = new HashSet<>();
+			final boolean reportOnly = isReportOnly( module );
+			for( final BioModule prev: getModules().subList( 0, module.getID() ) )
+				if( !reportOnly || !isReportOnly( prev ) ) deps.add( prev );
+
+			if( reportOnly ) {
+				for( final String preReq: module.getPreRequisiteModules() ) {
+					final BioModule preReqModule = getPreviousModule( module, preReq );
+					if( preReqModule != null ) deps.add( preReqModule );
+				}
+				final BioModule inputModule = getInputModule( module );
+				if( inputModule != null ) deps.add( inputModule );
+				if( deps.size() < module.getID() ) Log.debug( Pipeline.class, module.getClass().getName() +
+					" can run concurrently, depends on: " + BioLockJUtil.getCollectionAsString( deps ) );
+			}
+			dependencies.put( module, deps );
+		}
+		return dependencies;
+	}
+
 	/**
 	 * Initialization occurs by calling {@link biolockj.module.BioModule} methods on configured modules<br>
 	 * <ol>
@@ -200,6 +288,8 @@ public class Pipeline {
 	 * modules
 	 * <li>Delete incomplete module contents if restarting a failed pipeline
 	 * {@value biolockj.module.BioModule#OUTPUT_DIR} directory<br>
+	 * <li>Delete completed module contents if the module fingerprint has changed (see
+	 * {@link biolockj.util.FingerprintUtil}) or if a module it depends on will be rerun<br>
 	 * <li>Call {@link #refreshRCacheIfNeeded()} to cache R fields after 1st R module runs<br>
 	 * <li>Verify dependencies with {@link biolockj.module.BioModule#checkDependencies()}<br>
 	 * </ol>
@@ -208,20 +298,37 @@ public class Pipeline {
 	 * @return true if no errors are thrown
 	 */
 	protected static boolean initializeModules() throws Exception {
+		final Map<BioModule, Set<BioModule>> dependencies =
+			BioLockJUtil.isDirectMode() ? null: getModuleDependencies();
+		final Set<BioModule> rerunModules = new HashSet<>();
 		for( final BioModule module: getModules() ) {
 			setExeModule( module );
 			if( ModuleUtil.isIncomplete( module ) && ( !BioLockJUtil.isDirectMode() || module instanceof Email ) ) {
-				final String path = module.getModuleDir().getAbsolutePath();
-				Log.info( Pipeline.class, "Reset incomplete module: " + path );
-				FileUtils.forceDelete( module.getModuleDir() );
-				new File( path ).mkdirs();
+				Log.info( Pipeline.class, "Reset incomplete module: " + module.getModuleDir().getAbsolutePath() );
+				resetModuleDir( module );
 			}
 
 			info( "Check dependencies for: " + module.getClass().getName() );
-			module.checkDependencies();
-			ValidationUtil.checkDependencies( module );
+			Config.startTrackingProps();
+			try {
+				module.checkDependencies();
+				ValidationUtil.checkDependencies( module );
+			} finally {
+				FingerprintUtil.addUsedProps( module, Config.stopTrackingProps() );
+			}
 
-			if( ModuleUtil.isComplete( module ) ) {
+			if( dependencies != null && ModuleUtil.isComplete( module ) ) {
+				final String change = Collections.disjoint( dependencies.get( module ), rerunModules )
+					? FingerprintUtil.getChange( module ): "upstream module will be rerun";
+				if( change != null ) {
+					Log.info( Pipeline.class, "Reset completed module: " + module.getModuleDir().getAbsolutePath() +
+						" --> " + change );
+					resetModuleDir( module );
+				}
+			}
+
+			if( !ModuleUtil.isComplete( module ) ) rerunModules.add( module );
+			else {
 				module.cleanUp();
 				if( !BioLockJUtil.isDirectMode() ) ValidationUtil.validateModule( module );
 				refreshRCacheIfNeeded();
@@ -238,7 +345,8 @@ public class Pipeline {
 	 * begins.<br>
 	 * If successful, an empty file with {@value Constants#SCRIPT_SUCCESS} appended to the script name is created.<br>
 	 * Upon failure, an empty file with {@value Constants#SCRIPT_FAILURES} appended to the script name is created.<br>
-	 * Script status is polled each minute, determining status by counting indicator files.<br>
+	 * Script status is polled whenever the script directory changes (and at least once each minute), determining
+	 * status by counting indicator files.<br>
 	 * {@link biolockj.Log} outputs the # of started, failed, and successful scripts (if any change).<br>
 	 * {@link biolockj.Log} repeats the previous message every 10 minutes if no status change is detected.<br>
 	 *
@@ -266,11 +374,14 @@ public class Pipeline {
 			numSuccess + "; Failed=" + numFailed + "; Running=" + ( numStarted - numSuccess - numFailed ) +
 			"; Queued=" + ( numScripts - numStarted );
 
-		if( !statusMsg.equals( logMsg ) ) {
-			statusMsg = logMsg;
-			pollCount = 0;
+		final long now = System.currentTimeMillis();
+		final Long statusMsgTime = statusMsgTimes.get( module );
+		if( !logMsg.equals( statusMsgs.get( module ) ) || statusMsgTime == null ||
+			now - statusMsgTime >= BioLockJUtil.minutesToMillis( 10 ) ) {
+			statusMsgs.put( module, logMsg );
+			statusMsgTimes.put( module, now );
 			Log.info( Pipeline.class, logMsg );
-		} else if( ++pollCount % 10 == 0 ) Log.info( Pipeline.class, logMsg );
+		}
 
 		if( numFailed > 0 ) {
 			final String failMsg = "SCRIPT FAILED: " + BioLockJUtil.getCollectionAsString( module.getScriptErrors() );
@@ -293,6 +404,19 @@ public class Pipeline {
 		}
 	}
 
+	private static BioModule getInputModule( final BioModule module ) {
+		BioModule previousModule = ModuleUtil.getPreviousModule( module );
+		while( previousModule != null && !module.isValidInputModule( previousModule ) )
+			previousModule = ModuleUtil.getPreviousModule( previousModule );
+		return previousModule;
+	}
+
+	private static BioModule getPreviousModule( final BioModule module, final String className ) {
+		for( int i = module.getID() - 1; i > -1; i-- )
+			if( getModules().get( i ).getClass().getName().equals( className ) ) return getModules().get( i );
+		return null;
+	}
+
 	private static IOFileFilter getWorkerScriptFilter( final ScriptModule module ) {
 		String filterString = "*" + Constants.SH_EXT;
 		if( DockerUtil.inDockerEnv() && module instanceof R_Module )
@@ -322,9 +446,32 @@ public class Pipeline {
 		if( !BioLockJUtil.isDirectMode() ) Log.info( Pipeline.class, msg );
 	}
 
+	private static boolean isReady( final Set<BioModule> dependencies ) {
+		for( final BioModule module: dependencies )
+			if( !ModuleUtil.isComplete( module ) ) return false;
+		return true;
+	}
+
+	/**
+	 * Report-only modules generate final reports that no other module reads, so they can run concurrently. The 1st R
+	 * module (which refreshes the R cache), the stats module, and detached Java modules (which update the summary in a
+	 * separate process) are never report-only.
+	 * 
+	 * @param module BioModule
+	 * @return TRUE if module can run concurrently with other report-only modules
+	 * @throws ConfigFormatException if {@value biolockj.Constants#DETACH_JAVA_MODULES} is not a valid boolean
+	 */
+	private static boolean isReportOnly( final BioModule module ) throws ConfigFormatException {
+		if( !( module instanceof R_Module ) && !( module instanceof JsonReport ) ) return false;
+		if( ModuleUtil.isFirstRModule( module ) ) return false;
+		if( module.getClass().getName().equals( ModuleUtil.getDefaultStatsModule() ) ) return false;
+		return !( module instanceof JavaModule ) || !Config.getBoolean( module, Constants.DETACH_JAVA_MODULES );
+	}
+
 	private static void logScriptTimeOutMsg( final ScriptModule module ) throws Exception {
 		final String prompt = "------> ";
-		Log.info( Pipeline.class, prompt + "Java program wakes every 60 seconds to check execution progress" );
+		Log.info( Pipeline.class, prompt + "Java program checks execution progress when indicator files change and " +
+			"every " + POLL_TIME + " seconds" );
 		Log.info( Pipeline.class, prompt + "Status determined by existance of indicator files in " +
 			module.getScriptDir().getAbsolutePath() );
 		Log.info( Pipeline.class, prompt + "Indicator files end with: \"_" + Constants.SCRIPT_STARTED + "\", \"_" +
@@ -339,34 +486,128 @@ public class Pipeline {
 		else Log.info( Pipeline.class, prompt + "Running scripts will NEVER TIME OUT." );
 	}
 
+	private static void reportModuleComplete( final BioModule module, final boolean reportSummary )
+		throws Exception {
+		if( reportSummary ) SummaryUtil.reportSuccess( module );
+		FingerprintUtil.saveFingerprint( module );
+		ModuleUtil.markComplete( module );
+	}
+
+	private static void resetModuleDir( final BioModule module ) throws IOException {
+		final String path = module.getModuleDir().getAbsolutePath();
+		FileUtils.forceDelete( module.getModuleDir() );
+		new File( path ).mkdirs();
+	}
+
+	/**
+	 * Execute the module and wait for its scripts (if any) to complete.
+	 * 
+	 * @param module BioModule
+	 * @return TRUE if the summary must be updated, FALSE if the detached Java module updates its own summary
+	 * @throws Exception if runtime errors occur
+	 */
+	private static boolean runModule( final BioModule module ) throws Exception {
+		ModuleUtil.markStarted( module );
+		MetricsUtil.startModule( module );
+		Config.startTrackingProps();
+		boolean success = false;
+		try {
+			refreshRCacheIfNeeded();
+			module.executeTask();
+			final boolean isJava = module instanceof JavaModule;
+			final boolean hasScripts = ModuleUtil.hasScripts( module );
+			final boolean detachJava = Config.getBoolean( module, Constants.DETACH_JAVA_MODULES );
+			final boolean runDetached = isJava && hasScripts && detachJava;
+
+			if( runDetached ) MasterConfigUtil.saveMasterConfig();
+			if( hasScripts && !DockerUtil.inAwsEnv() ) Processor.submit( (ScriptModule) module );
+			if( hasScripts ) waitForModuleScripts( (ScriptModule) module );
+			module.cleanUp();
+			ValidationUtil.validateModule( module );
+			success = true;
+			return !runDetached;
+		} finally {
+			FingerprintUtil.addUsedProps( module, Config.stopTrackingProps() );
+			MetricsUtil.saveMetrics( module, success );
+		}
+	}
+
 	private static void setExeModule( final BioModule module ) {
-		currentModule = module;
+		currentModule.set( module );
 	}
 
 	/**
-	 * This method calls executes script module scripts and monitors them until complete or timing out after
+	 * Open a {@link java.nio.file.WatchService} on the module script directory to be notified as indicator files are
+	 * created. Return null if the file system does not support it, in which case status is only polled every
 	 * {@value #POLL_TIME} seconds.
+	 * 
+	 * @param module ScriptModule
+	 * @return WatchService or null
+	 */
+	private static WatchService watchScriptDir( final ScriptModule module ) {
+		try {
+			final WatchService watcher = FileSystems.getDefault().newWatchService();
+			module.getScriptDir().toPath().register( watcher, StandardWatchEventKinds.ENTRY_CREATE,
+				StandardWatchEventKinds.ENTRY_MODIFY );
+			return watcher;
+		} catch( final Exception ex ) {
+			Log.warn( Pipeline.class, "Unable to watch script dir, poll every " + POLL_TIME + " seconds instead: " +
+				module.getScriptDir().getAbsolutePath() + " --> " + ex.getMessage() );
+		}
+		return null;
+	}
+
+	/**
+	 * This method calls executes script module scripts and monitors them until complete or timing out after
+	 * {@link biolockj.module.ScriptModule#getTimeout()} minutes. Status is checked as soon as a file is created or
+	 * modified in the script directory, with a fallback poll every {@value #POLL_TIME} seconds for file systems that
+	 * do not report changes (such as network file systems updated by cluster nodes).
 	 *
+	 * @param module ScriptModule
 	 * @throws Exception if errors occur
 	 */
-	private static void waitForModuleScripts() throws Exception {
-		final ScriptModule module = (ScriptModule) exeModule();
+	private static void waitForModuleScripts( final ScriptModule module ) throws Exception {
 		logScriptTimeOutMsg( module );
-		int numMinutes = 0;
-		boolean finished = false;
-		while( !finished ) {
-			finished = poll( module );
-			if( !finished ) {
-				if( module.getTimeout() != null && module.getTimeout() > 0 && numMinutes++ >= module.getTimeout() )
+		final long startTime = System.currentTimeMillis();
+		final WatchService watcher = watchScriptDir( module );
+		try {
+			long lastPoll = System.currentTimeMillis();
+			boolean finished = poll( module );
+			while( !finished ) {
+				final int numMinutes = BioLockJUtil.millisToMinutes( System.currentTimeMillis() - startTime );
+				if( module.getTimeout() != null && module.getTimeout() > 0 && numMinutes >= module.getTimeout() )
 					throw new Exception( module.getClass().getName() + " timed out after " + numMinutes + " minutes." );
-				Thread.sleep( BioLockJUtil.minutesToMillis( 1 ) );
+				if( watcher == null ) Thread.sleep( TimeUnit.SECONDS.toMillis( POLL_TIME ) );
+				else {
+					final WatchKey key = watcher.poll( POLL_TIME, TimeUnit.SECONDS );
+					if( key != null ) {
+						// coalesce bursts of events into at most 1 status check per second
+						final long wait = lastPoll + TimeUnit.SECONDS.toMillis( 1 ) - System.currentTimeMillis();
+						if( wait > 0 ) Thread.sleep( wait );
+						key.pollEvents();
+						key.reset();
+					}
+				}
+				lastPoll = System.currentTimeMillis();
+				finished = poll( module );
+			}
+		} finally {
+			if( watcher != null ) try {
+				watcher.close();
+			} catch( final IOException ex ) {
+				Log.warn( Pipeline.class, "Failed to close script dir watcher: " + ex.getMessage() );
 			}
 		}
 	}
 
+	/**
+	 * Max number of seconds between script status checks: {@value #POLL_TIME}
+	 */
+	protected static final int POLL_TIME = 60;
+
 	private static List<BioModule> bioModules = null;
-	private static BioModule currentModule = null;
+	private static final ThreadLocal<BioModule> currentModule = new InheritableThreadLocal<>();
 	private static Exception pipelineException = null;
-	private static int pollCount = 0;
-	private static String statusMsg = "";
+	private static final Map<ScriptModule, String> statusMsgs = new ConcurrentHashMap<>();
+	private static final Map<ScriptModule, Long> statusMsgTimes = new ConcurrentHashMap<>();
 }
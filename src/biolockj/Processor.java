@@ -12,7 +12,12 @@
 package biolockj;
 
 import java.io.*;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.PosixFilePermission;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
 import biolockj.exception.ConfigPathException;
 import biolockj.module.ScriptModule;
 import biolockj.util.BioLockJUtil;
@@ -20,41 +25,14 @@ import biolockj.util.NextflowUtil;
 
 /**
  * {@link biolockj.module.ScriptModule}s that generate scripts will submit a main script to the OS for execution as a
- * {@link biolockj.Processor}.
+ * {@link biolockj.Processor}.<br>
+ * Processes are started with a {@link java.lang.ProcessBuilder}. Stdout and stderr are drained on separate threads so
+ * output-heavy commands never block on a full pipe buffer. If
+ * {@link biolockj.Config}.{@value biolockj.Constants#SUBPROCESS_LOG_FILES}={@value biolockj.Constants#TRUE}, the merged
+ * output of module scripts and background subprocesses is saved to a log file instead of the main pipeline log.
  */
 public class Processor {
 
-	/**
-	 * Class used to submit processes on their own Thread.
-	 */
-	public class Subprocess implements Runnable {
-
-		/**
-		 * Execute the command args in a separate thread and log output with label.
-		 * 
-		 * @param args Command args
-		 * @param label Log label
-		 */
-		public Subprocess( final String[] args, final String label ) {
-			this.args = args;
-			this.label = label;
-		}
-
-		@Override
-		public void run() {
-			try {
-				new Processor().runJob( this.args, this.label );
-			} catch( final Exception ex ) {
-				Log.error( getClass(),
-					"Problem occurring within Subprocess-" + this.label + " --> " + ex.getMessage() );
-				ex.printStackTrace();
-			}
-		}
-
-		private String[] args = null;
-		private String label = null;
-	}
-
 	/**
 	 * Empty constructor to facilitate subprocess creation
 	 */
@@ -65,34 +43,70 @@ public class Processor {
 	 * 
 	 * @param args Command args
 	 * @param label Log label
-	 * @return last line of process output
+	 * @return first line of process output
 	 * @throws IOException if errors occur reading the InputStream
 	 * @throws InterruptedException if the thread process is interrupted
 	 */
 	protected String runJob( final String[] args, final String label ) throws IOException, InterruptedException {
+		return runJob( args, label, null, null );
+	}
+
+	/**
+	 * Execute the command args and log output with label. If logFile is not null, stdout and stderr are merged and
+	 * appended to the logFile, otherwise stdout is logged with {@link biolockj.Log#info(Class, String)} and stderr is
+	 * logged with {@link biolockj.Log#debug(Class, String)}. The process is destroyed if the calling thread is
+	 * interrupted (such as when a subprocess is cancelled) or if the timeout is exceeded.
+	 * 
+	 * @param args Command args
+	 * @param label Log label
+	 * @param logFile Log file or null
+	 * @param timeout Max number of minutes to wait or null to wait until the process completes
+	 * @return first line of process output (always null if logFile is used)
+	 * @throws IOException if errors occur starting the process or reading the InputStream, or if the process times out
+	 * @throws InterruptedException if the thread process is interrupted
+	 */
+	protected String runJob( final String[] args, final String label, final File logFile, final Integer timeout )
+		throws IOException, InterruptedException {
 		Log.info( getClass(), "[ " + label + " ]: STARTING CMD --> " + getArgsAsString( args ) );
-		final Process p = Runtime.getRuntime().exec( args );
-		final BufferedReader br = new BufferedReader( new InputStreamReader( p.getInputStream() ) );
-		String returnVal = null;
-		String s = null;
-		while( ( s = br.readLine() ) != null )
-			if( !s.trim().isEmpty() ) {
-				Log.info( getClass(), "[ " + label + " ]: " + s );
-				if( returnVal == null ) returnVal = s;
+		final ProcessBuilder pb = new ProcessBuilder( args );
+		if( logFile != null ) {
+			Log.info( getClass(), "[ " + label + " ]: Save output to --> " + logFile.getAbsolutePath() );
+			pb.redirectErrorStream( true );
+			pb.redirectOutput( ProcessBuilder.Redirect.appendTo( logFile ) );
+		}
+
+		final Process p = pb.start();
+		try {
+			final Future<String> stdout = logFile == null ? drain( p.getInputStream(), label, false ): null;
+			final Future<String> stderr = logFile == null ? drain( p.getErrorStream(), label, true ): null;
+			if( timeout == null ) p.waitFor();
+			else if( !p.waitFor( timeout, TimeUnit.MINUTES ) )
+				throw new IOException( "[ " + label + " ]: Timed out after " + timeout + " minutes" );
+
+			final String returnVal = stdout == null ? null: getDrainResult( stdout );
+			if( stderr != null ) getDrainResult( stderr );
+			Log.info( getClass(),
+				"[ " + label + " ]: COMPLETE" + ( p.exitValue() == 0 ? "": " (exit code " + p.exitValue() + ")" ) );
+			return returnVal;
+		} finally {
+			if( p.isAlive() ) {
+				Log.warn( getClass(), "[ " + label + " ]: Destroy incomplete process" );
+				p.destroyForcibly();
 			}
-		p.waitFor();
-		p.destroy();
-		Log.info( getClass(), "[ " + label + " ]: COMPLETE" );
-		return returnVal;
+		}
 	}
 
 	/**
-	 * De-register a thread, so it is not considered when shutting down the application.
+	 * Cancel a subprocess started by {@link #runSubprocess(String[], String)}, destroying the process if running, and
+	 * de-register it so it is not considered when shutting down the application.
 	 * 
-	 * @param thread Subprocess thread
+	 * @param id Subprocess ID
 	 */
-	public static void deregisterThread( final Thread thread ) {
-		threadRegister.remove( thread );
+	public static void cancelSubprocess( final Long id ) {
+		if( id == null ) return;
+		final Future<?> job = jobRegister.remove( id );
+		jobStartTimes.remove( id );
+		if( job != null ) job.cancel( true );
 	}
 
 	/**
@@ -109,16 +123,17 @@ public class Processor {
 			final String var = bashVar.startsWith( "$" ) || bashVar.equals( "~" ) ? bashVar: "$" + bashVar;
 			Log.info( Processor.class,
 				"[ Get Bash Var (" + bashVar + ") ]: CMD --> " + getArgsAsString( bashVarArgs( var ) ) );
-			final Process p = Runtime.getRuntime().exec( bashVarArgs( var ) );
+			final Process p = new ProcessBuilder( bashVarArgs( var ) ).redirectErrorStream( true ).start();
 			final BufferedReader br = new BufferedReader( new InputStreamReader( p.getInputStream() ) );
-			String s = null;
-			while( ( s = br.readLine() ) != null )
-				if( s.startsWith( BLJ_GET_ENV_VAR_KEY ) ) {
-					bashVarValue = s.replace( BLJ_GET_ENV_VAR_KEY, "" ).trim();
-					break;
-				}
-			p.waitFor();
-			p.destroy();
+			try {
+				for( String s = br.readLine(); s != null; s = br.readLine() )
+					if( bashVarValue == null && s.startsWith( BLJ_GET_ENV_VAR_KEY ) )
+						bashVarValue = s.replace( BLJ_GET_ENV_VAR_KEY, "" ).trim();
+				p.waitFor();
+			} finally {
+				br.close();
+				if( p.isAlive() ) p.destroyForcibly();
+			}
 		} catch( final Exception ex ) {
 			Log.error( Processor.class, "Problem occurred looking up bash env. variable: " + bashVar, ex );
 		}
@@ -129,25 +144,36 @@ public class Processor {
 	}
 
 	/**
-	 * Instantiates a new {@link biolockj.Processor}.<br>
+	 * Run the command in the background on the bounded subprocess executor, which runs up to
+	 * {@value #MAX_SUBPROCESSES} subprocesses at a time (additional subprocesses are queued).<br>
 	 * String[] array used to control spacing between command/params.<br>
 	 * As if executing on terminal args[0] args[1]... args[n-1] as one command.
 	 *
 	 * @param args Terminal command created from args (adds 1 space between each array element)
 	 * @param label to associate with the process
-	 * @return Thread ID
+	 * @return Subprocess ID
 	 */
-	public static Thread runSubprocess( final String[] args, final String label ) {
-		final Thread t = new Thread( new Processor().new Subprocess( args, label ) );
-		threadRegister.put( t, System.currentTimeMillis() );
-		Log.warn( Processor.class,
-			"Register Thread: " + t.getId() + " - " + t.getName() + " @" + threadRegister.get( t ) );
-		t.start();
-		return t;
+	public static Long runSubprocess( final String[] args, final String label ) {
+		final Long id = nextJobId.incrementAndGet();
+		final File logFile = getLogFile( Config.getPipelineDir() == null ? null: Config.pipelinePath(), label );
+		jobStartTimes.put( id, System.currentTimeMillis() );
+		jobRegister.put( id, getSubprocessExecutor().submit( () -> {
+			try {
+				return new Processor().runJob( args, label, logFile, null );
+			} catch( final Exception ex ) {
+				Log.error( Processor.class,
+					"Problem occurring within Subprocess-" + label + " --> " + ex.getMessage(), ex );
+				throw ex;
+			}
+		} ) );
+		Log.warn( Processor.class, "Register Subprocess: " + id + " - " + label + " @" + jobStartTimes.get( id ) );
+		return id;
 	}
 
 	/**
-	 * Set file permissions by executing chmod {@value biolockj.Constants#SCRIPT_PERMISSIONS} on generated bash scripts.
+	 * Set file permissions recursively on the path, as with chmod -R (ex: on generated bash scripts with
+	 * {@value biolockj.Constants#SCRIPT_PERMISSIONS}). Octal permissions are set directly by the JVM if the file system
+	 * supports POSIX file permissions, otherwise a chmod subprocess is executed.
 	 *
 	 * @param path Target directory path
 	 * @param permissions Set the chmod security bits (ex 764)
@@ -155,6 +181,28 @@ public class Processor {
 	 */
 	public static void setFilePermissions( final String path, final String permissions ) throws Exception {
 		if( BioLockJUtil.hasNullOrEmptyVal( Arrays.asList( path, permissions ) ) ) return;
+		final Set<PosixFilePermission> posixPerms = getPosixPermissions( permissions.trim() );
+		if( posixPerms != null ) try {
+			Files.walkFileTree( Paths.get( path ), new SimpleFileVisitor<Path>() {
+				@Override
+				public FileVisitResult preVisitDirectory( final Path dir, final BasicFileAttributes attrs )
+					throws IOException {
+					Files.setPosixFilePermissions( dir, posixPerms );
+					return FileVisitResult.CONTINUE;
+				}
+
+				@Override
+				public FileVisitResult visitFile( final Path file, final BasicFileAttributes attrs )
+					throws IOException {
+					if( !attrs.isSymbolicLink() ) Files.setPosixFilePermissions( file, posixPerms );
+					return FileVisitResult.CONTINUE;
+				}
+			} );
+			return;
+		} catch( final UnsupportedOperationException ex ) {
+			Log.debug( Processor.class, "POSIX file permissions not supported, run chmod: " + ex.getMessage() );
+		}
+
 		final StringTokenizer st = new StringTokenizer( "chmod -R " + permissions + " " + path );
 		final String[] args = new String[ st.countTokens() ];
 		for( int i = 0; i < args.length; i++ )
@@ -174,7 +222,9 @@ public class Processor {
 	 * @throws InterruptedException if the thread process is interrupted
 	 */
 	public static void submit( final ScriptModule module ) throws IOException, InterruptedException {
-		new Processor().runJob( module.getJobParams(), module.getClass().getSimpleName() );
+		final String label = module.getClass().getSimpleName();
+		new Processor().runJob( module.getJobParams(), label,
+			getLogFile( module.getTempDir().getAbsolutePath(), label ), null );
 	}
 
 	/**
@@ -192,7 +242,8 @@ public class Processor {
 	}
 
 	/**
-	 * Run script that expects a single result
+	 * Run script that expects a single result, failing if no result is returned within {@value #QUERY_TIMEOUT}
+	 * minutes.
 	 * 
 	 * @param cmd Command
 	 * @param label Process Label
@@ -201,49 +252,43 @@ public class Processor {
 	 * @throws InterruptedException if the thread process is interrupted
 	 */
 	public static String submitQuery( final String cmd, final String label ) throws IOException, InterruptedException {
-		return new Processor().runJob( new String[] { cmd }, label );
+		return new Processor().runJob( new String[] { cmd }, label, null, QUERY_TIMEOUT );
 	}
 
 	/**
-	 * Check if a specific process is alive
+	 * Check if a specific subprocess is queued or running.
 	 * 
-	 * @param id - Registered thread ID
+	 * @param id - Registered subprocess ID
 	 * @return Boolean TRUE only if the ID is alive
 	 */
 	public static boolean subProcAlive( final Long id ) {
-		if( threadRegister.isEmpty() ) return false;
-		for( final Thread t: threadRegister.keySet() )
-			if( t.isAlive() && t.getId() == id ) return true;
-		return false;
+		final Future<?> job = id == null ? null: jobRegister.get( id );
+		return job != null && !job.isDone();
 	}
 
 	/**
-	 * Check if any Subprocess threads are still running.
+	 * Check if any subprocesses are still queued or running. Subprocesses running longer than the S3 transfer timeout
+	 * are cancelled.
 	 * 
-	 * @return boolean TRUE if all complete
+	 * @return boolean TRUE if any subprocess is still alive
 	 */
 	public static boolean subProcsAlive() {
-		if( threadRegister.isEmpty() ) return false;
+		if( jobRegister.isEmpty() ) return false;
 		final long max = BioLockJUtil.minutesToMillis( NextflowUtil.getS3_TransferTimeout() );
-		Log.info( Processor.class, "Running Subprocess Threads will be terminated if incomplete after [ " +
+		Log.info( Processor.class, "Running Subprocesses will be terminated if incomplete after [ " +
 			NextflowUtil.getS3_TransferTimeout() + " ] minutes." );
-		for( final Thread t: threadRegister.keySet() )
-			if( t.isAlive() ) {
-				final String id = t.getId() + " - " + t.getName();
-				final long runTime = System.currentTimeMillis() - threadRegister.get( t );
+		boolean alive = false;
+		for( final Long id: new TreeSet<>( jobRegister.keySet() ) )
+			if( subProcAlive( id ) ) {
+				final long runTime = System.currentTimeMillis() - jobStartTimes.get( id );
 				final int mins = BioLockJUtil.millisToMinutes( runTime );
-				Log.warn( Processor.class,
-					"Subprocess Thread [ " + id + " ] is ALIVE - runtime = " + mins + " minutes" );
+				Log.warn( Processor.class, "Subprocess [ " + id + " ] is ALIVE - runtime = " + mins + " minutes" );
 				if( runTime > max ) {
-					t.interrupt();
-					threadRegister.remove( t );
-				} else {
-					Log.warn( Processor.class,
-						"Subprocess Thread [ " + id + " ] is ALIVE - runtime = " + mins + " minutes" );
-					return true;
-				}
+					Log.warn( Processor.class, "Cancel Subprocess [ " + id + " ] after " + mins + " minutes" );
+					cancelSubprocess( id );
+				} else alive = true;
 			}
-		return false;
+		return alive;
 	}
 
 	private static String[] bashVarArgs( final String bashVar ) throws ConfigPathException {
@@ -267,7 +312,105 @@ public class Processor {
 		return sb.toString();
 	}
 
+	/**
+	 * Read the output stream of a process on a daemon thread until the process closes the stream.
+	 * 
+	 * @param stream Process stdout or stderr
+	 * @param label Log label
+	 * @param isErr TRUE if stream is stderr
+	 * @return Future that returns the first line of output
+	 */
+	private static Future<String> drain( final InputStream stream, final String label, final boolean isErr ) {
+		return streamExecutor.submit( () -> {
+			String firstLine = null;
+			final BufferedReader br = new BufferedReader( new InputStreamReader( stream ) );
+			try {
+				for( String s = br.readLine(); s != null; s = br.readLine() )
+					if( !s.trim().isEmpty() ) {
+						if( isErr ) Log.debug( Processor.class, "[ " + label + " ] (stderr): " + s );
+						else Log.info( Processor.class, "[ " + label + " ]: " + s );
+						if( firstLine == null ) firstLine = s;
+					}
+			} finally {
+				br.close();
+			}
+			return firstLine;
+		} );
+	}
+
+	private static String getDrainResult( final Future<String> drained ) throws IOException, InterruptedException {
+		try {
+			return drained.get();
+		} catch( final ExecutionException ex ) {
+			if( ex.getCause() instanceof IOException ) throw (IOException) ex.getCause();
+			throw new IOException( ex.getCause() );
+		}
+	}
+
+	/**
+	 * Get the log file used to save subprocess output if
+	 * {@link biolockj.Config}.{@value biolockj.Constants#SUBPROCESS_LOG_FILES}={@value biolockj.Constants#TRUE}.
+	 * 
+	 * @param dir Log directory path
+	 * @param label Process label
+	 * @return Log file or null to log output in the main pipeline log
+	 */
+	private static File getLogFile( final String dir, final String label ) {
+		try {
+			if( dir != null && Config.getBoolean( null, Constants.SUBPROCESS_LOG_FILES ) )
+				return new File( dir + File.separator + label.replaceAll( "[^A-Za-z0-9_.-]", "_" ) + Constants.LOG_EXT );
+		} catch( final Exception ex ) {
+			Log.warn( Processor.class, "Subprocess output for [ " + label + " ] will be saved to the main log: " +
+				ex.getMessage() );
+		}
+		return null;
+	}
+
+	/**
+	 * Convert 3-digit octal chmod permissions into POSIX file permissions.
+	 * 
+	 * @param permissions chmod permissions
+	 * @return POSIX file permissions, or null if permissions are not a 3-digit octal value
+	 */
+	private static Set<PosixFilePermission> getPosixPermissions( final String permissions ) {
+		if( !permissions.matches( "0?[0-7]{3}" ) ) return null;
+		final int mode = Integer.parseInt( permissions, 8 );
+		final PosixFilePermission[] bits = PosixFilePermission.values();
+		final Set<PosixFilePermission> perms = EnumSet.noneOf( PosixFilePermission.class );
+		for( int i = 0; i < bits.length; i++ )
+			if( ( mode & 1 << bits.length - 1 - i ) != 0 ) perms.add( bits[ i ] );
+		return perms;
+	}
+
+	private static synchronized ExecutorService getSubprocessExecutor() {
+		if( subprocessExecutor == null ) {
+			final ThreadPoolExecutor executor = new ThreadPoolExecutor( MAX_SUBPROCESSES, MAX_SUBPROCESSES, 60L,
+				TimeUnit.SECONDS, new LinkedBlockingQueue<>() );
+			executor.allowCoreThreadTimeOut( true );
+			subprocessExecutor = executor;
+		}
+		return subprocessExecutor;
+	}
+
+	/**
+	 * Max number of background subprocesses that run at the same time: {@value #MAX_SUBPROCESSES}
+	 */
+	protected static final int MAX_SUBPROCESSES = 8;
+
+	/**
+	 * Max number of minutes to wait for {@link #submitQuery(String, String)} to complete: {@value #QUERY_TIMEOUT}
+	 */
+	protected static final int QUERY_TIMEOUT = 10;
+
 	private static final String BLJ_GET_ENV_VAR_KEY = "BLJ_GET_ENV_VAR";
 	private static final String BLJ_GET_ENV_VAR_SCRIPT = "get_env_var";
-	private static final Map<Thread, Long> threadRegister = new HashMap<>();
+	private static final Map<Long, Future<?>> jobRegister = new ConcurrentHashMap<>();
+	private static final Map<Long, Long> jobStartTimes = new ConcurrentHashMap<>();
+	private static final AtomicLong nextJobId = new AtomicLong();
+	private static final ExecutorService streamExecutor = Executors.newCachedThreadPool( r -> {
+		final Thread t = new Thread( r, "Processor-stream" );
+		t.setDaemon( true );
+		return t;
+	} );
+	private static ExecutorService subprocessExecutor = null;
 }
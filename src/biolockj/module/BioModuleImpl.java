@@ -17,8 +17,6 @@ import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.comparator.SizeFileComparator;
 import org.apache.commons.io.filefilter.HiddenFileFilter;
 import biolockj.*;
-import biolockj.exception.ConfigFormatException;
-import biolockj.exception.ConfigNotFoundException;
 import biolockj.util.*;
 
 /**
@@ -138,6 +136,28 @@ public abstract class BioModuleImpl implements BioModule, Comparable<BioModule>
 		return ModuleUtil.requireSubDir( this, TEMP_DIR );
 	}
 
+	/**
+	 * Get the number of samples assigned to each worker when sequence files were sorted for equal batch sizes. Paired
+	 * reads count as 1 sample. The input files are ordered by worker, so worker scripts must be cut at these sizes.
+	 * 
+	 * @return Number of samples per worker, or an empty list if input files were not batched
+	 */
+	public List<Integer> getWorkerBatchSizes() {
+		getInputFiles();
+		return this.workerBatchSizes;
+	}
+
+	/**
+	 * Get the 1st input file of each sample, in the order the samples were assigned to worker batches, so script line
+	 * sets can be checked against the batch order.
+	 * 
+	 * @return 1st input file of each batched sample, or an empty list if input files were not batched
+	 */
+	public List<File> getWorkerBatchSamples() {
+		getInputFiles();
+		return this.workerBatchSamples;
+	}
+
 	@Override
 	public int hashCode() {
 		final int prime = 31;
@@ -198,6 +218,8 @@ public abstract class BioModuleImpl implements BioModule, Comparable<BioModule>
 	 */
 	protected void cacheInputFiles( final Collection<File> files ) {
 		this.inputFiles.clear();
+		this.workerBatchSamples.clear();
+		this.workerBatchSizes.clear();
 		this.inputFiles.addAll( files );
 		Collections.sort( this.inputFiles );
 		if( !this.inputFiles.isEmpty() && SeqUtil.isSeqFile( this.inputFiles.get( 0 ) ) )
@@ -257,30 +279,76 @@ public abstract class BioModuleImpl implements BioModule, Comparable<BioModule>
 			Log.info( getClass(), "Input File [" + i + "]: " + this.inputFiles.get( i ).getAbsolutePath() );
 	}
 
+	/**
+	 * Assign samples to worker batches with the longest-processing-time-first heuristic: the sample with the largest
+	 * total file size (forward + reverse reads) is assigned to the worker with the smallest total size so far. The
+	 * cached input files are reordered by worker to minimize the total size of the largest batch.
+	 */
 	private void sortCachedInputFilesForEvenBatchSize() {
 		try {
-			final Map<Integer, List<File>> map = new HashMap<>();
-			final int numWorkers = ModuleUtil.getNumWorkers( this );
-			final List<File> sortedList = new SizeFileComparator().sort( new ArrayList<>( this.inputFiles ) );
-			for( int i = 0; i < sortedList.size(); i++ ) {
-				final List<File> files =
-					map.get( i % numWorkers ) == null ? new ArrayList<>(): map.get( i % numWorkers );
-				files.add( sortedList.get( i ) );
-				map.put( i % numWorkers, files );
+			final Map<String, List<File>> samples = new LinkedHashMap<>();
+			final boolean paired = SeqUtil.hasPairedReads();
+			for( final File file: new SizeFileComparator().sort( new ArrayList<>( this.inputFiles ) ) ) {
+				final String key = paired ? SeqUtil.getSampleId( file.getName() ): file.getAbsolutePath();
+				samples.computeIfAbsent( key, k -> new ArrayList<>() ).add( file );
+			}
+
+			final Map<List<File>, Long> costs = new HashMap<>();
+			for( final List<File> sample: samples.values() ) {
+				Collections.sort( sample );
+				long size = 0L;
+				for( final File file: sample )
+					size += file.length();
+				costs.put( sample, size );
+			}
+
+			final List<List<File>> sortedSamples = new ArrayList<>( samples.values() );
+			sortedSamples.sort( ( a, b ) -> costs.get( b ).compareTo( costs.get( a ) ) );
+
+			final int numWorkers = Math.min( ModuleUtil.getNumWorkers( this ), sortedSamples.size() );
+			final List<List<List<File>>> batches = new ArrayList<>();
+			final long[] batchSizes = new long[ numWorkers ];
+			final PriorityQueue<Integer> workers = new PriorityQueue<>( numWorkers,
+				( a, b ) -> batchSizes[ a ] == batchSizes[ b ] ? a.compareTo( b ):
+					Long.compare( batchSizes[ a ], batchSizes[ b ] ) );
+			for( int i = 0; i < numWorkers; i++ ) {
+				batches.add( new ArrayList<>() );
+				workers.add( i );
 			}
+
+			for( final List<File> sample: sortedSamples ) {
+				final int worker = workers.poll();
+				batches.get( worker ).add( sample );
+				batchSizes[ worker ] += costs.get( sample );
+				workers.add( worker );
+			}
+
 			this.inputFiles.clear();
-			for( final Integer batchNum: map.keySet() )
-				this.inputFiles.addAll( map.get( batchNum ) );
+			this.workerBatchSamples.clear();
+			this.workerBatchSizes.clear();
+			for( int i = 0; i < numWorkers; i++ ) {
+				for( final List<File> sample: batches.get( i ) ) {
+					this.inputFiles.addAll( sample );
+					this.workerBatchSamples.add( sample.get( 0 ) );
+				}
+				this.workerBatchSizes.add( batches.get( i ).size() );
+				Log.debug( getClass(), "Worker batch [" + i + "] # samples = " + batches.get( i ).size() +
+					"; total size = " + batchSizes[ i ] );
+			}
 			Log.info( getClass(),
 				"List seqFiles sorted for equal batch sizes " + BioLockJUtil.printLongFormList( this.inputFiles ) );
-		} catch( ConfigFormatException | ConfigNotFoundException ex ) {
+		} catch( final Exception ex ) {
 			Log.error( getClass(), "Failed sort by size, return alphabetical list instead", ex );
+			this.workerBatchSamples.clear();
+			this.workerBatchSizes.clear();
 		}
 	}
 
 	private final List<File> inputFiles = new ArrayList<>();
 	private File moduleDir = null;
 	private Integer moduleId;
+	private final List<File> workerBatchSamples = new ArrayList<>();
+	private final List<Integer> workerBatchSizes = new ArrayList<>();
 
 	/**
 	 * BioLockJ gzip file extension constant: {@value #GZIP_EXT}
@@ -14,6 +14,7 @@ package biolockj.module;
 import java.io.File;
 import java.io.FileWriter;
 import java.util.*;
+import java.util.concurrent.*;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.filefilter.HiddenFileFilter;
 import biolockj.*;
@@ -50,9 +51,7 @@ public abstract class JavaModuleImpl extends ScriptModuleImpl implements JavaMod
 	 */
 	@Override
 	public void executeTask() throws Exception {
-		final boolean detached = Config.getBoolean( this, Constants.DETACH_JAVA_MODULES );
-		final boolean buildDockerScript = DockerUtil.inDockerEnv() && !BioLockJUtil.isDirectMode();
-		if( detached && ( buildDockerScript || Config.isOnCluster() ) ) super.executeTask();
+		if( ModuleUtil.isDetachedJavaModule( this ) ) super.executeTask();
 		else runModule();
 	}
 
@@ -127,6 +126,107 @@ public abstract class JavaModuleImpl extends ScriptModuleImpl implements JavaMod
 		}
 	}
 
+	/**
+	 * Split the module input files into 1 partition per worker, as defined by
+	 * {@link biolockj.util.ModuleUtil#getNumWorkers(BioModule)}. Sequence files are split by the cost-balanced
+	 * {@link #getWorkerBatchSizes()}, other files are assigned round-robin in input file order. If the module is a
+	 * {@link biolockj.module.SeqModule} with paired reads, both reads of a sample are assigned to the same partition.
+	 * 
+	 * @return Input file partitions, empty partitions are omitted
+	 * @throws Exception if errors occur reading the input files
+	 */
+	protected List<List<File>> getInputPartitions() throws Exception {
+		final Map<String, List<File>> units = new LinkedHashMap<>();
+		final boolean paired = this instanceof SeqModule && SeqUtil.hasPairedReads();
+		for( final File file: getInputFiles() ) {
+			final String key = paired ? SeqUtil.getSampleId( file.getName() ): file.getAbsolutePath();
+			units.computeIfAbsent( key, k -> new ArrayList<>() ).add( file );
+		}
+
+		final int numPartitions = Math.min( units.size(), ModuleUtil.getNumWorkers( this ) );
+		final List<List<File>> partitions = new ArrayList<>();
+		for( int i = 0; i < numPartitions; i++ )
+			partitions.add( new ArrayList<>() );
+
+		final List<Integer> batchSizes = getWorkerBatchSizes();
+		int total = 0;
+		for( final Integer size: batchSizes )
+			total += size;
+
+		int i = 0;
+		if( batchSizes.size() == numPartitions && total == units.size() ) {
+			final Iterator<List<File>> it = units.values().iterator();
+			for( int p = 0; p < numPartitions; p++ )
+				for( int j = 0; j < batchSizes.get( p ); j++ )
+					partitions.get( p ).addAll( it.next() );
+		} else for( final List<File> unit: units.values() )
+			partitions.get( i++ % numPartitions ).addAll( unit );
+
+		return partitions;
+	}
+
+	/**
+	 * Run {@link biolockj.module.PartitionedModule#runPartition(List)} for each partition returned by
+	 * {@link #getInputPartitions()} on up to {@link biolockj.Config}.{@value biolockj.Constants#SCRIPT_NUM_THREADS}
+	 * threads, then pass the partial results to {@link biolockj.module.PartitionedModule#combinePartitions(List)}.
+	 * 
+	 * @param <T> Partial result type
+	 * @throws Exception if the module is not a {@link biolockj.module.PartitionedModule} or any partition fails
+	 */
+	@SuppressWarnings("unchecked")
+	protected <T> void runPartitions() throws Exception {
+		if( !( this instanceof PartitionedModule ) )
+			throw new Exception( getClass().getName() + " does not implement " + PartitionedModule.class.getName() );
+
+		final PartitionedModule<T> module = (PartitionedModule<T>) this;
+		final List<List<File>> partitions = getInputPartitions();
+		final List<T> results = Collections.synchronizedList( new ArrayList<>() );
+		final List<Callable<Void>> tasks = new ArrayList<>();
+		for( int i = 0; i < partitions.size(); i++ ) {
+			final int id = i;
+			results.add( null );
+			tasks.add( () -> {
+				Log.info( getClass(), "Run partition [" + id + "] with " + partitions.get( id ).size() + " files" );
+				results.set( id, module.runPartition( partitions.get( id ) ) );
+				return null;
+			} );
+		}
+
+		runConcurrently( tasks );
+		Log.info( getClass(), "Combine results from " + partitions.size() + " partitions" );
+		module.combinePartitions( new ArrayList<>( results ) );
+	}
+
+	/**
+	 * Run the tasks concurrently on up to {@link biolockj.Config}.{@value biolockj.Constants#SCRIPT_NUM_THREADS}
+	 * threads and wait for all of them to complete.
+	 * 
+	 * @param tasks Independent tasks
+	 * @throws Exception if any task fails, the 1st failure is rethrown after the remaining tasks are cancelled
+	 */
+	protected void runConcurrently( final List<Callable<Void>> tasks ) throws Exception {
+		if( tasks.isEmpty() ) return;
+		final int numThreads = Math.min( tasks.size(), getNumThreads() );
+		if( numThreads == 1 ) {
+			for( final Callable<Void> task: tasks )
+				task.call();
+			return;
+		}
+
+		final ExecutorService executor = Executors.newFixedThreadPool( numThreads );
+		try {
+			for( final Future<Void> future: executor.invokeAll( tasks ) )
+				try {
+					future.get();
+				} catch( final ExecutionException ex ) {
+					if( ex.getCause() instanceof Exception ) throw (Exception) ex.getCause();
+					throw ex;
+				}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
 	/**
 	 * Get the program source (either the jar path or main class biolockj.BioLockJ);
 	 * 
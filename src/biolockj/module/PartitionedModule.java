@@ -0,0 +1,45 @@
+/**
+ * @UNCC Fodor Lab
+ * @author Michael Sioda
+ * @email msioda@uncc.edu
+ * @date Jun 10, 2019
+ * @disclaimer This code is free software; you can redistribute it and/or modify it under the terms of the GNU General
+ * Public License as published by the Free Software Foundation; either version 2 of the License, or (at your option) any
+ * later version, provided that any use properly credits the author. This program is distributed in the hope that it
+ * will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU General Public License for more details at http://www.gnu.org *
+ */
+package biolockj.module;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * Classes that implement this interface split the module input files into partitions that are processed concurrently
+ * in the BioLockJ JVM, 1 partition per worker as defined by
+ * {@link biolockj.util.ModuleUtil#getNumWorkers(BioModule)}. The partial result of each partition is merged in a
+ * final combine step.
+ *
+ * @param <T> Partial result type returned by each partition
+ */
+public interface PartitionedModule<T> extends JavaModule {
+
+	/**
+	 * Merge the partial results into the module output. Called once, after every partition has completed.
+	 *
+	 * @param results Partial results, ordered by partition
+	 * @throws Exception if errors occur merging the results
+	 */
+	public void combinePartitions( List<T> results ) throws Exception;
+
+	/**
+	 * Process one partition of the module input files. Partitions run concurrently, so this method must only update
+	 * state held by the returned partial result.
+	 *
+	 * @param files Input files in the partition, paired reads are always in the same partition
+	 * @return Partial result
+	 * @throws Exception if errors occur processing the files
+	 */
+	public T runPartition( List<File> files ) throws Exception;
+
+}
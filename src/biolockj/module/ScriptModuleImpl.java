@@ -44,6 +44,7 @@ public abstract class ScriptModuleImpl extends BioModuleImpl implements ScriptMo
 	 * <li>Require {@link biolockj.Config}.{@value Constants#SCRIPT_NUM_WORKERS} is positive integer
 	 * <li>Require {@link biolockj.Config}.{@value Constants#SCRIPT_NUM_THREADS} is positive integer
 	 * <li>Verify {@link biolockj.Config}.{@value Constants#SCRIPT_TIMEOUT} is positive integer if set
+	 * <li>Verify {@link biolockj.Config}.{@value Constants#SCRIPT_NUM_LOCAL_SLOTS} is positive integer if set
 	 * <li>Start the AWS DB sync to S3 if a novel DB has been configure and
 	 * {@value biolockj.util.NextflowUtil#AWS_COPY_DB_TO_S3} is enabled
 	 * </ul>
@@ -54,6 +55,7 @@ public abstract class ScriptModuleImpl extends BioModuleImpl implements ScriptMo
 		Config.requirePositiveInteger( this, Constants.SCRIPT_NUM_WORKERS );
 		Config.requirePositiveInteger( this, Constants.SCRIPT_NUM_THREADS );
 		Config.getPositiveInteger( this, Constants.SCRIPT_TIMEOUT );
+		Config.getPositiveInteger( this, Constants.SCRIPT_NUM_LOCAL_SLOTS );
 	}
 
 	/**
@@ -180,7 +182,14 @@ public abstract class ScriptModuleImpl extends BioModuleImpl implements ScriptMo
 		return new File( getModuleDir().getAbsolutePath() + File.separator + Constants.SCRIPT_DIR ).exists();
 	}
 
-	private Integer getNumThreads() throws ConfigFormatException, ConfigNotFoundException {
+	/**
+	 * Get the number of threads available to this module: {@link biolockj.Config}.{@value Constants#SCRIPT_NUM_THREADS}
+	 * 
+	 * @return Number of threads
+	 * @throws ConfigFormatException if property is not a positive integer
+	 * @throws ConfigNotFoundException if property is undefined
+	 */
+	protected Integer getNumThreads() throws ConfigFormatException, ConfigNotFoundException {
 		return Config.requirePositiveInteger( this, Constants.SCRIPT_NUM_THREADS );
 	}
 
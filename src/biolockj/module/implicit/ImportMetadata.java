@@ -227,7 +227,8 @@ public class ImportMetadata extends BioModuleImpl {
 	 * @throws Exception if required Config values are missing or invalid
 	 */
 	protected String parseRow( final String line, final boolean isHeader ) throws Exception {
-		final String[] cells = line.split( inputDelim, -1 );
+		final List<String> cells = BioLockJUtil.splitLine( line, inputDelim );
+		final int numCells = cells.size();
 		int colNum = 1;
 		final StringBuffer sb = new StringBuffer();
 		for( String cell: cells ) {
@@ -245,31 +246,29 @@ public class ImportMetadata extends BioModuleImpl {
 				}
 				this.colNames.add( cell );
 			} else if( cell.isEmpty() ) cell = MetaUtil.getNullValue( this );
-			else if( sb.toString().isEmpty() ) cell = formatSampleId( cell );
+			else if( sb.length() == 0 ) cell = formatSampleId( cell );
 
-			Log.debug( getClass(), "====> Set Row # [" + this.rowNum + "] - Column#[" + colNum + "] = " + cell );
 			sb.append( cell );
-			if( colNum++ < cells.length ) sb.append( TAB_DELIM );
+			if( colNum++ < numCells ) sb.append( TAB_DELIM );
 		}
+		if( Log.doDebug() ) Log.debug( getClass(), "====> Set Row # [" + this.rowNum + "] = " + sb.toString() );
 		this.rowNum++;
-		return sb.toString() + RETURN;
+		return sb.append( RETURN ).toString();
 	}
 
 	/**
-	 * Verify every row (every Sample ID) maps to a sequence file
+	 * Verify every row (every Sample ID) maps to a sequence file. The Sample ID of each forward read file is extracted
+	 * once to build a file name to Sample ID map, so each metadata row is verified with a single hash lookup.
 	 *
 	 * @param files List of sequence files
 	 * @throws ConfigViolationException if unmapped Sample IDs are found
 	 * @throws Exception if other errors occur
 	 */
 	protected void verifyAllRowsMapToSeqFile( final List<File> files ) throws Exception {
-		final List<String> ids = MetaUtil.getSampleIds();
+		final Set<String> seqIds = new HashSet<>( getFileSampleIdMap( files ).values() );
+		final List<String> ids = new ArrayList<>();
 		for( final String id: MetaUtil.getSampleIds() )
-			for( final File seq: files )
-				if( SeqUtil.isForwardRead( seq.getName() ) && SeqUtil.getSampleId( seq.getName() ).equals( id ) ) {
-					ids.remove( id );
-					break;
-				}
+			if( !seqIds.contains( id ) ) ids.add( id );
 
 		if( !ids.isEmpty() ) throw new ConfigViolationException( MetaUtil.USE_EVERY_ROW,
 			"This property requires every Sample ID in the metadata file " + MetaUtil.getFileName() +
@@ -297,6 +296,35 @@ public class ImportMetadata extends BioModuleImpl {
 
 	}
 
+	/**
+	 * Map each forward read file name to its Sample ID, calling {@link biolockj.util.SeqUtil#getSampleId(String)} only
+	 * once per file. If {@link biolockj.Config}.{@value biolockj.util.MetaUtil#META_FILENAME_COLUMN} is populated, the
+	 * file names are looked up directly in an index built from that column. Files that do not map to a Sample ID are
+	 * omitted.
+	 *
+	 * @param files List of sequence files
+	 * @return Map file name to Sample ID
+	 * @throws Exception if unable to extract Sample IDs
+	 */
+	private Map<String, String> getFileSampleIdMap( final List<File> files ) throws Exception {
+		final Map<String, String> map = new HashMap<>();
+		final Map<String, String> metaFileNames = new HashMap<>();
+		final String fileNameCol = Config.getString( null, MetaUtil.META_FILENAME_COLUMN );
+		if( MetaUtil.hasColumn( fileNameCol ) ) for( final String id: MetaUtil.getSampleIds() ) {
+			final String val = MetaUtil.getField( id, fileNameCol );
+			if( val != null && !val.trim().isEmpty() && !val.equals( MetaUtil.getNullValue( null ) ) )
+				metaFileNames.putIfAbsent( val, id );
+		}
+
+		for( final File seq: files ) {
+			final String name = seq.getName();
+			if( !SeqUtil.isForwardRead( name ) || map.containsKey( name ) ) continue;
+			final String id = metaFileNames.isEmpty() ? SeqUtil.getSampleId( name ): metaFileNames.get( name );
+			if( id != null ) map.put( name, id );
+		}
+		return map;
+	}
+
 	/**
 	 * Determine if quoted block has ended.
 	 *
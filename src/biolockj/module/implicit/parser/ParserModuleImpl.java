@@ -43,18 +43,11 @@ public abstract class ParserModuleImpl extends JavaModuleImpl implements ParserM
 				final File outputFile = OtuUtil.getOtuCountFile( getOutputDir(), sample.getSampleId(), null );
 				Log.info( getClass(), "Build output sample: " + sample.getSampleId() + " | #OTUs=" + otuCounts.size() +
 					"--> " + outputFile.getAbsolutePath() );
-				final BufferedWriter writer = new BufferedWriter( new FileWriter( outputFile ) );
-				try {
-					final long numOtus =
-						otuCounts.isEmpty() ? 0L: otuCounts.values().stream().mapToLong( Long::longValue ).sum();
-					getUniqueOtus().addAll( otuCounts.keySet() );
-					for( final String otu: otuCounts.keySet() )
-						writer.write( otu + TAB_DELIM + otuCounts.get( otu ) + RETURN );
-					getHitsPerSample().put( sample.getSampleId(), String.valueOf( numOtus ) );
-
-				} finally {
-					writer.close();
-				}
+				final long numOtus =
+					otuCounts.isEmpty() ? 0L: otuCounts.values().stream().mapToLong( Long::longValue ).sum();
+				getUniqueOtus().addAll( otuCounts.keySet() );
+				OtuUtil.writeOtuCountFile( this, outputFile, sample.getSampleId(), otuCounts );
+				getHitsPerSample().put( sample.getSampleId(), String.valueOf( numOtus ) );
 			} else Log.error( getClass(),
 				"buildOtuCountFiles should not encounter empty sample files where sample.getOtuCounts() == null!  Found null for: " +
 					sample.getSampleId() );
@@ -108,6 +101,8 @@ public abstract class ParserModuleImpl extends JavaModuleImpl implements ParserM
 		if( getParsedSamples().isEmpty() ) throw new Exception( "Parser failed to produce output!" );
 		Log.debug( getClass(), "# Samples parsed: " + getParsedSamples().size() );
 		buildOtuCountFiles();
+		for( final String hits: getHitsPerSample().values() )
+			MetricsUtil.addRecords( this, Long.valueOf( hits ) );
 
 		if( Config.getBoolean( this, Constants.REPORT_NUM_HITS ) )
 			MetaUtil.addColumn( NUM_OTUS, getHitsPerSample(), getOutputDir(), true );
@@ -14,6 +14,7 @@ package biolockj.module.implicit.parser.r16s;
 import java.io.BufferedReader;
 import java.io.File;
 import java.util.*;
+import java.util.concurrent.*;
 import biolockj.Constants;
 import biolockj.Log;
 import biolockj.module.implicit.parser.ParserModuleImpl;
@@ -60,11 +61,15 @@ public class QiimeParser extends ParserModuleImpl {
 	 * Parse lowest level {@link biolockj.module.implicit.qiime.QiimeClassifier} report in the input directory. The
 	 * classifier report lists 1 OTU/line with 1 column/sample, each column holds the OTU count for the QIIME ID in the
 	 * column header. For each line, build a {@link biolockj.node.r16s.QiimeNode} for each sample with a positive OTU
-	 * count.
+	 * count. Zero count cells are skipped before any object is allocated.
 	 * <p>
 	 * {@link biolockj.node.r16s.QiimeNode}s will be created using QiimeID (not SampleID) in order to match the metadata
 	 * file #SampleID
 	 * <p>
+	 * The first rows are parsed in order to detect the taxonomy level delimiters. The remaining lines are read in
+	 * chunks of {@value #LINES_PER_TASK} and each chunk is submitted while the file is still being read, so the file is
+	 * never held in memory. If all threads are busy and the queue is full, the reading thread parses the chunk itself.
+	 * <p>
 	 * If {@link #isValid(OtuNode)}:
 	 * <ol>
 	 * <li>Create {@link biolockj.node.ParsedSample} for the {@link biolockj.node.r16s.QiimeNode#getSampleId()} if not
@@ -76,25 +81,41 @@ public class QiimeParser extends ParserModuleImpl {
 	public void parseSamples() throws Exception {
 		final File file = getInputFiles().get( 0 );
 		Log.info( getClass(), "Parse file: " + file.getName() );
-		final BufferedReader reader = BioLockJUtil.getFileReader( file );
+		final int numThreads = getNumThreads();
+		final ExecutorService executor = numThreads < 2 ? null
+			: new ThreadPoolExecutor( numThreads, numThreads, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>( numThreads ), new ThreadPoolExecutor.CallerRunsPolicy() );
+		final List<Future<Void>> futures = new ArrayList<>();
 		try {
-			for( String line = reader.readLine(); line != null; line = reader.readLine() ) {
-				if( line.startsWith( "#" ) ) continue;
-
-				final StringTokenizer st = new StringTokenizer( line, TAB_DELIM );
-				int index = 0;
-				final String taxas = st.nextToken();
+			final BufferedReader reader = BioLockJUtil.getFileReader( file );
+			try {
+				boolean foundTaxa = false;
+				List<String> chunk = new ArrayList<>();
+				for( String line = reader.readLine(); line != null; line = reader.readLine() )
+					if( line.startsWith( "#" ) ) continue;
+					else if( !foundTaxa ) foundTaxa = parseLine( line );
+					else {
+						chunk.add( line );
+						if( chunk.size() == LINES_PER_TASK ) {
+							parseLines( executor, chunk, futures );
+							chunk = new ArrayList<>();
+						}
+					}
+				if( !chunk.isEmpty() ) parseLines( executor, chunk, futures );
+			} finally {
+				reader.close();
+			}
 
-				while( st.hasMoreTokens() ) {
-					final Integer count = Double.valueOf( st.nextToken() ).intValue();
-					final String id = orderedQiimeIDs.get( index++ );
-					addOtuNode( new QiimeNode( id, taxas, count ) );
+			for( final Future<Void> future: futures )
+				try {
+					future.get();
+				} catch( final ExecutionException ex ) {
+					if( ex.getCause() instanceof Exception ) throw (Exception) ex.getCause();
+					throw ex;
 				}
-			}
 		} finally {
-			if( reader != null ) reader.close();
+			if( executor != null ) executor.shutdownNow();
 		}
-
 	}
 
 	/**
@@ -175,8 +196,8 @@ public class QiimeParser extends ParserModuleImpl {
 			} else {
 				final String sampleId = getSampleIdFromMappingFile( qiimeId, fileNameCol );
 				Log.info( getClass(), "[Id-Map Entry] QIIME_ID(" + qiimeId + ")<=>SAMPLE_ID(" + sampleId + ")" );
-				qiimeIdToSampleIdMap.put( qiimeId, sampleId );
-				sampleIdToQiimeIdMap.put( sampleId, qiimeId );
+				this.qiimeIdToSampleIdMap.put( qiimeId, sampleId );
+				this.sampleIdToQiimeIdMap.put( sampleId, qiimeId );
 			}
 		}
 
@@ -203,16 +224,18 @@ public class QiimeParser extends ParserModuleImpl {
 		Log.info( getClass(), "Remove " + OTU_ID + " from header" );
 		Log.info( getClass(), "Remaining header line should contain the QIIME IDs for all samples: " + header );
 
+		this.orderedQiimeIDs.clear();
 		final String[] parts = header.split( "\\s" );
 		for( final String qiimeId: parts )
 			if( qiimeId.trim().length() > 0 ) {
 				Log.debug( getClass(), "Add QiimeID: " + qiimeId );
-				orderedQiimeIDs.add( qiimeId );
+				this.orderedQiimeIDs.add( qiimeId );
 			}
 
 		reader.close();
 
-		Log.info( getClass(), "List QIIME IDs( total#" + orderedQiimeIDs.size() + " ) = " + orderedQiimeIDs );
+		Log.info( getClass(), "List QIIME IDs( total#" + this.orderedQiimeIDs.size() + " ) = " +
+			this.orderedQiimeIDs );
 	}
 
 	/**
@@ -223,7 +246,7 @@ public class QiimeParser extends ParserModuleImpl {
 	 * @return formatted Sample ID
 	 * @throws Exception If any QIIME ID does not have a corresponding Sample ID
 	 */
-	protected static String getOtuTableRowId( final String id ) throws Exception {
+	protected String getOtuTableRowId( final String id ) throws Exception {
 		final StringBuffer sb = new StringBuffer();
 		final String valWithoutQuotes = id.replaceAll( "'", "" ).replaceAll( "\"", "" );
 		final StringTokenizer st = new StringTokenizer( valWithoutQuotes, TAB_DELIM );
@@ -246,8 +269,8 @@ public class QiimeParser extends ParserModuleImpl {
 	 * @return sampleId Original sample ID from metadata file
 	 * @throws Exception if the qiimeId is not found in {@link #qiimeIdToSampleIdMap}
 	 */
-	protected static String getSampleId( final String qiimeId ) throws Exception {
-		final String sampleId = qiimeIdToSampleIdMap.get( qiimeId );
+	protected String getSampleId( final String qiimeId ) throws Exception {
+		final String sampleId = this.qiimeIdToSampleIdMap.get( qiimeId );
 		if( sampleId == null ) throw new Exception( "QIIME ID: " + qiimeId + " not cached in qiimeIdToSampleIdMap" );
 		return sampleId;
 	}
@@ -270,21 +293,74 @@ public class QiimeParser extends ParserModuleImpl {
 		return qiimeId;
 	}
 
+	/**
+	 * Build a {@link biolockj.node.r16s.QiimeNode} for each positive count in the line. Cells are located by offset
+	 * and zero cells are skipped without parsing.
+	 *
+	 * @return TRUE if a taxonomy level was found in the line
+	 */
+	private boolean parseLine( final String line ) throws Exception {
+		int start = line.indexOf( TAB_DELIM );
+		if( start < 0 ) return false;
+		final String taxas = line.substring( 0, start );
+		final List<OtuNode> nodes = new ArrayList<>();
+		int index = 0;
+		while( start >= 0 ) {
+			int end = line.indexOf( TAB_DELIM, ++start );
+			if( end < 0 ) end = line.length();
+			final int col = index++;
+			if( !isZero( line, start, end ) ) {
+				final int count = (int) Double.parseDouble( line.substring( start, end ) );
+				if( count > 0 ) nodes.add( new QiimeNode( this.orderedQiimeIDs.get( col ), taxas, count ) );
+			}
+			start = end < line.length() ? end: -1;
+		}
+
+		synchronized( this ) {
+			for( final OtuNode node: nodes )
+				addOtuNode( node );
+		}
+		return !nodes.isEmpty() && !nodes.get( 0 ).getTaxaMap().isEmpty();
+	}
+
+	/**
+	 * Parse the chunk of lines on the executor, or on the calling thread if the executor is null.
+	 */
+	private void parseLines( final ExecutorService executor, final List<String> chunk,
+		final List<Future<Void>> futures ) throws Exception {
+		final Callable<Void> task = () -> {
+			for( final String line: chunk )
+				parseLine( line );
+			return null;
+		};
+		if( executor == null ) task.call();
+		else futures.add( executor.submit( task ) );
+	}
+
+	private static boolean isZero( final String line, final int start, final int end ) {
+		for( int i = start; i < end; i++ ) {
+			final char c = line.charAt( i );
+			if( c != '0' && c != '.' ) return false;
+		}
+		return true;
+	}
+
 	/**
 	 * Qiime IDs are listed in the same order in each taxonomy level report. The values are cached here after being read
 	 * from the first report.
 	 */
-	protected static final List<String> orderedQiimeIDs = new ArrayList<>();
+	protected final List<String> orderedQiimeIDs = new ArrayList<>();
 
 	/**
 	 * Convenience map, to convert Qiime ID to Sample ID
 	 */
-	protected static final Map<String, String> qiimeIdToSampleIdMap = new HashMap<>();
+	protected final Map<String, String> qiimeIdToSampleIdMap = new HashMap<>();
 
 	/**
 	 * Convenience map, to convert Sample ID to Qiime ID
 	 */
-	protected static final Map<String, String> sampleIdToQiimeIdMap = new HashMap<>();
+	protected final Map<String, String> sampleIdToQiimeIdMap = new HashMap<>();
 
+	private static final int LINES_PER_TASK = 1000;
 	private static final String OTU_ID = "#OTU ID";
 }
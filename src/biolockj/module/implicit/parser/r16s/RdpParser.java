@@ -28,7 +28,9 @@ import biolockj.util.SeqUtil;
 public class RdpParser extends ParserModuleImpl {
 	/**
 	 * Parse all {@link biolockj.module.classifier.r16s.RdpClassifier} reports in the input directory.<br>
-	 * Build an {@link biolockj.node.r16s.RdpNode} for each line.<br>
+	 * The Sample ID and {@link biolockj.Config}.{@value Constants#RDP_THRESHOLD_SCORE} are resolved once per file.
+	 * Reads below the threshold are rejected before an {@link biolockj.node.r16s.RdpNode} is built.<br>
+	 * Build an {@link biolockj.node.r16s.RdpNode} for each remaining line.<br>
 	 * If {@link #isValid(OtuNode)},<br>
 	 * <ol>
 	 * <li>Create {@link biolockj.node.ParsedSample} for the {@link biolockj.node.r16s.RdpNode#getSampleId()} if not yet
@@ -42,14 +44,25 @@ public class RdpParser extends ParserModuleImpl {
 	 */
 	@Override
 	public void parseSamples() throws Exception {
+		final int threshold = getThreshold();
 		for( final File file: getInputFiles() ) {
+			final String id = SeqUtil.getSampleId( file.getName() );
+			if( id == null || id.isEmpty() ) continue;
+			long numReads = 0L;
+			long numRejected = 0L;
 			final BufferedReader reader = BioLockJUtil.getFileReader( file );
 			try {
-				for( String line = reader.readLine(); line != null; line = reader.readLine() )
-					addOtuNode( new RdpNode( SeqUtil.getSampleId( file.getName() ), line ) );
+				for( String line = reader.readLine(); line != null; line = reader.readLine() ) {
+					numReads++;
+					final RdpNode node = RdpNode.getRdpNode( id, line, threshold );
+					if( node == null ) numRejected++;
+					else addOtuNode( node );
+				}
 			} finally {
 				if( reader != null ) reader.close();
 			}
+			Log.debug( getClass(), id + ": Rejected " + numRejected + "/" + numReads + " reads below " +
+				Constants.RDP_THRESHOLD_SCORE + "=" + threshold );
 		}
 	}
 
@@ -61,14 +74,19 @@ public class RdpParser extends ParserModuleImpl {
 	@Override
 	protected boolean isValid( final OtuNode node ) {
 		try {
-			if( ( (RdpNode) node ).getScore() >= Config.requirePositiveInteger( this, Constants.RDP_THRESHOLD_SCORE ) )
-				return super.isValid( node );
+			if( ( (RdpNode) node ).getScore() >= getThreshold() ) return super.isValid( node );
 		} catch( final Exception ex ) {
 			Log.error( getClass(), "Unable to verify if OTU node is valid!", ex );
 		}
 		return false;
 	}
 
+	private int getThreshold() throws Exception {
+		if( this.threshold == null )
+			this.threshold = Config.requirePositiveInteger( this, Constants.RDP_THRESHOLD_SCORE );
+		return this.threshold;
+	}
+
 	/**
 	 * Build the summary message to detail gaps in RDP report OTUs.
 	 *
@@ -78,4 +96,5 @@ public class RdpParser extends ParserModuleImpl {
 	 * produce module summary! " + ex.getMessage(), ex ); } return super.getSummary(); }
 	 */
 
+	private Integer threshold = null;
 }
@@ -12,9 +12,11 @@
 package biolockj.module.implicit.parser.wgs;
 
 import java.io.*;
+import java.nio.file.Files;
 import java.util.*;
 import biolockj.Config;
 import biolockj.Constants;
+import biolockj.Log;
 import biolockj.module.BioModule;
 import biolockj.module.classifier.wgs.Humann2Classifier;
 import biolockj.module.implicit.parser.ParserModuleImpl;
@@ -74,43 +76,19 @@ public class Humann2Parser extends ParserModuleImpl {
 	 */
 	@Override
 	public void parseSamples() throws Exception {
-		int count = 0;
+		final boolean keepUnmapped = Config.getBoolean( this, HN2_KEEP_UNMAPPED );
+		final boolean keepUnintegrated = Config.getBoolean( this, HN2_KEEP_UNINTEGRATED );
 		MemoryUtil.reportMemoryUsage( "Begin parsing Humann2Classifier output" );
 		for( final File file: getInputFiles() ) {
-			final String[][] data = transpose( assignSampleIDs( BioLockJUtil.parseCountTable( file ) ) );
 			final File outFile = PathwayUtil.getPathwayCountFile( getOutputDir(), file, HN2_PARSED );
-			final BufferedWriter writer = new BufferedWriter( new FileWriter( outFile ) );
-			try {
-				boolean headerRow = true;
-				final Set<Integer> skipCols = new HashSet<>();
-				for( final String[] record: data ) {
-					if( this.numSamples == null ) count++;
-					boolean newRecord = true;
-					for( int i = 0; i < record.length; i++ ) {
-						final String cell = BioLockJUtil.removeQuotes( record[ i ] );
-						if( headerRow && cell.equals( UNMAPPED ) && !Config.getBoolean( this, HN2_KEEP_UNMAPPED ) )
-							skipCols.add( i );
-						else if( headerRow && cell.equals( UNINTEGRATED ) &&
-							!Config.getBoolean( this, HN2_KEEP_UNINTEGRATED ) ) skipCols.add( i );
-						else if( skipCols.contains( i ) ) skipCols.add( i );
-						else writer.write( ( !newRecord ? TAB_DELIM: "" ) + cell );
-
-						newRecord = false;
-					}
-					writer.write( RETURN );
-					headerRow = false;
-				}
-			} finally {
-				writer.close();
-			}
-
-			if( this.numSamples == null ) this.numSamples = count;
+			final int[] dims = transpose( file, outFile, keepUnmapped, keepUnintegrated );
+			if( this.numSamples == null ) this.numSamples = dims[ 1 ];
 			if( PathwayUtil.getHn2Type( file ).equals( Constants.HN2_PATH_ABUND_SUM ) )
-				this.numPathwayAbund = data[ 0 ].length - 1;
+				this.numPathwayAbund = dims[ 0 ] - 1;
 			else if( PathwayUtil.getHn2Type( file ).equals( Constants.HN2_PATH_COVG_SUM ) )
-				this.numPathwayCovg = data[ 0 ].length - 1;
+				this.numPathwayCovg = dims[ 0 ] - 1;
 			else if( PathwayUtil.getHn2Type( file ).equals( Constants.HN2_GENE_FAM_SUM ) )
-				this.numGeneFamilies = data[ 0 ].length - 1;
+				this.numGeneFamilies = dims[ 0 ] - 1;
 
 			MemoryUtil.reportMemoryUsage( "Parsed file: " + file.getAbsolutePath() );
 		}
@@ -121,20 +99,78 @@ public class Humann2Parser extends ParserModuleImpl {
 		parseSamples();
 	}
 
-	private static List<List<String>> assignSampleIDs( final List<List<String>> data ) {
-		final List<List<String>> output = new ArrayList<>();
-		boolean firstRecord = true;
-		for( final List<String> row: data ) {
-			final ArrayList<String> record = new ArrayList<>();
-			if( firstRecord ) for( final String cell: row )
-				record.add( record.isEmpty() ? MetaUtil.getID(): getSampleID( cell ) );
-			else record.addAll( row );
-
-			output.add( record );
-			firstRecord = false;
+	/**
+	 * Stream the HumanN2 table (1 row per pathway, 1 column per sample) into the transposed output table (1 row per
+	 * sample, 1 column per pathway) without holding the table in memory. Each input column is appended to its own
+	 * spill file in the module temp directory, then the spill files are concatenated as the output rows. If the table
+	 * has more than {@value #MAX_SPILL_FILES} columns, the columns are processed in blocks of that size (1 pass over
+	 * the input file per block) to limit the number of open files.
+	 *
+	 * @param file HumanN2 table
+	 * @param outFile Transposed output table
+	 * @param keepUnmapped if FALSE omit the {@value #UNMAPPED} row
+	 * @param keepUnintegrated if FALSE omit the {@value #UNINTEGRATED} row
+	 * @return int[] { number of input rows, number of input columns }
+	 * @throws Exception if unable to read the table or write the output
+	 */
+	private int[] transpose( final File file, final File outFile, final boolean keepUnmapped,
+		final boolean keepUnintegrated ) throws Exception {
+		final File spillDir = new File( getTempDir().getAbsolutePath() + File.separator + outFile.getName() );
+		if( !spillDir.isDirectory() ) spillDir.mkdirs();
+		int numRows = 0;
+		int numCols = 0;
+		final List<File> spillFiles = new ArrayList<>();
+		for( int start = 0; start == 0 || start < numCols; start += MAX_SPILL_FILES ) {
+			final BufferedReader reader = BioLockJUtil.getFileReader( file );
+			final List<BufferedWriter> writers = new ArrayList<>();
+			try {
+				numRows = 0;
+				for( String line = reader.readLine(); line != null; line = reader.readLine() ) {
+					final List<String> cells = BioLockJUtil.splitLine( line, TAB_DELIM );
+					if( numRows == 0 ) {
+						numCols = cells.size();
+						for( int i = start; i < Math.min( numCols, start + MAX_SPILL_FILES ); i++ ) {
+							final File spill = new File( spillDir.getAbsolutePath() + File.separator + i );
+							spillFiles.add( spill );
+							writers.add( new BufferedWriter( new FileWriter( spill ) ) );
+							writers.get( i - start ).write( i == 0 ? MetaUtil.getID()
+								: getSampleID( BioLockJUtil.removeQuotes( cells.get( i ) ) ) );
+						}
+					} else {
+						if( cells.size() != numCols ) throw new Exception( "Invalid HumanN2 table [ " +
+							file.getAbsolutePath() + " ] line #" + ( numRows + 1 ) + " has " + cells.size() +
+							" columns, header has " + numCols );
+						final String pathway = BioLockJUtil.removeQuotes( cells.get( 0 ) );
+						final boolean skipRow = !keepUnmapped && pathway.equals( UNMAPPED ) ||
+							!keepUnintegrated && pathway.equals( UNINTEGRATED );
+						if( !skipRow ) for( int i = 0; i < writers.size(); i++ )
+							writers.get( i ).append( TAB_DELIM )
+								.append( BioLockJUtil.removeQuotes( cells.get( start + i ) ) );
+					}
+					numRows++;
+				}
+			} finally {
+				reader.close();
+				for( final BufferedWriter writer: writers )
+					writer.close();
+			}
+		}
+
+		final OutputStream out = new BufferedOutputStream( new FileOutputStream( outFile ) );
+		try {
+			for( final File spill: spillFiles ) {
+				Files.copy( spill.toPath(), out );
+				out.write( RETURN.getBytes() );
+				spill.delete();
+			}
+		} finally {
+			out.close();
+			spillDir.delete();
 		}
 
-		return output;
+		Log.info( getClass(), "Transposed [ " + numRows + " x " + numCols + " ] HumanN2 table: " +
+			file.getAbsolutePath() + " --> " + outFile.getAbsolutePath() );
+		return new int[] { numRows, numCols };
 	}
 
 	private static String getSampleID( final String name ) {
@@ -148,26 +184,6 @@ public class Humann2Parser extends ParserModuleImpl {
 		return id;
 	}
 
-	private static String[][] transpose( final List<List<String>> data ) {
-		final List<List<String>> transposed = new ArrayList<>();
-		for( final List<String> row: data ) {
-			final List<String> outputRow = new ArrayList<>();
-			outputRow.add( row.get( 0 ) );
-			transposed.add( outputRow );
-		}
-
-		final int m = data.size();
-		final int n = data.get( 0 ).size();
-
-		final String transpose[][] = new String[ n ][ m ];
-
-		for( int c = 0; c < m; c++ )
-			for( int d = 0; d < n; d++ )
-				transpose[ d ][ c ] = data.get( c ).get( d );
-
-		return transpose;
-	}
-
 	private Integer numGeneFamilies = null;
 
 	private Integer numPathwayAbund = null;
@@ -188,6 +204,7 @@ public class Humann2Parser extends ParserModuleImpl {
 	private static final String COVERAGE_SUFFIX = "_Coverage";
 	private static final String HN2_PARSED = "hn2";
 	private static final String KD_SUFFIX = "_kneaddata";
+	private static final int MAX_SPILL_FILES = 500;
 	private static final String PAIRED_SUFFIX = "_paired_merged";
 	private static final String RPK_SUFFIX = "-RPKs";
 	private static final String UNINTEGRATED = "UNINTEGRATED";
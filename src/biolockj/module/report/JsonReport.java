@@ -43,31 +43,33 @@ public class JsonReport extends JavaModuleImpl {
 
 	/**
 	 * Obtain parsed sample data, build root node, and create the jsonMap by passing both to buildMap(). Set ROOT_NODE
-	 * #seqs with getRootCount(jsonMap), add stats info to the jsonNodes, and finally build the JSON file.
+	 * #seqs with getRootCount(jsonMap), add stats info to the jsonNodes, and finally stream the JSON file to disk.
 	 */
 	@Override
 	public void runModule() throws Exception {
 		final JsonNode root = new JsonNode( ROOT_NODE, 0L, null, null );
-		final LinkedHashMap<String, TreeSet<JsonNode>> jsonMap = buildJsonMap( root );
+		final Map<String, Map<String, JsonNode>> jsonMap = buildJsonMap( root );
 		root.addCount( this.totalTaxaCount );
 		if( hasStats() ) {
 			this.summary += "with summary statistics";
 			addStats( jsonMap );
 		}
 
-		writeJson( writeNodeAndChildren( root, false, jsonMap, 0 ) );
+		writeJson( root );
 		this.summary = "Report generated " + this.numberOfNodes + " nodes " + this.summary;
 	}
 
 	/**
-	 * Build JsonMap from the {@link biolockj.module.report.otu.CompileOtuCounts} output directory.
+	 * Build JsonMap from the {@link biolockj.module.report.otu.CompileOtuCounts} output directory in 1 pass over the
+	 * OTUs. Nodes are unique by taxa name within each level. Each new node is also added to the child index of its
+	 * parent node.
 	 *
 	 * @param rootNode Root JsonNode is top of the hierarchy
-	 * @return Map(level, Set(JsonNode)) of nodes by level
+	 * @return Map(level, Map(taxa, JsonNode)) of nodes by level
 	 * @throws Exception if errors occur
 	 */
-	protected LinkedHashMap<String, TreeSet<JsonNode>> buildJsonMap( final JsonNode rootNode ) throws Exception {
-		final LinkedHashMap<String, TreeSet<JsonNode>> jsonMap = initJsonMap();
+	protected Map<String, Map<String, JsonNode>> buildJsonMap( final JsonNode rootNode ) throws Exception {
+		final Map<String, Map<String, JsonNode>> jsonMap = initJsonMap();
 		final Map<String, Long> otuCounts = OtuUtil.compileSampleOtuCounts( getInputFiles().get( 0 ) );
 		Log.info( getClass(), "Build JSON Nodes for " + otuCounts.size() + " unique OTUs..." );
 		for( final String otu: otuCounts.keySet() ) {
@@ -77,14 +79,15 @@ public class JsonReport extends JavaModuleImpl {
 			final Map<String, String> taxaMap = TaxaUtil.getTaxaByLevel( otu );
 			for( final String level: TaxaUtil.getTaxaLevels() ) {
 				final String taxa = taxaMap.get( level );
-				JsonNode jsonNode = getNode( jsonMap.get( level ), taxa );
+				JsonNode jsonNode = jsonMap.get( level ).get( taxa );
 
 				if( jsonNode == null ) {
 					jsonNode = new JsonNode( taxa, otuCount, parent, level );
+					jsonMap.get( level ).put( taxa, jsonNode );
+					this.childNodes.computeIfAbsent( parent, k -> new TreeMap<>() ).put( taxa, jsonNode );
 					this.numberOfNodes++;
 				} else jsonNode.addCount( otuCount );
 
-				jsonMap.get( level ).add( jsonNode );
 				parent = jsonNode;
 				if( taxa == null ) break;
 			}
@@ -98,16 +101,15 @@ public class JsonReport extends JavaModuleImpl {
 	/**
 	 * Add stats from {@link biolockj.module.report.r.R_CalculateStats} into all of the {@link biolockj.node.JsonNode}s.
 	 *
-	 * @param jsonMap LinkedHashMap(level,Set(JsonNode))
+	 * @param jsonMap Map(level, Map(taxa, JsonNode))
 	 * @param stats Stats file
 	 * @param level {@link biolockj.Config}.{@value biolockj.Constants#REPORT_TAXONOMY_LEVELS}
 	 * @param label Label to use in node statistics
-	 * @return LinkedHashMap(level,Set(JsonNode))
+	 * @return Map(level, Map(taxa, JsonNode))
 	 * @throws Exception if errors occur
 	 */
-	protected LinkedHashMap<String, TreeSet<JsonNode>> updateNodeStats(
-		final LinkedHashMap<String, TreeSet<JsonNode>> jsonMap, final File stats, final String level,
-		final String label ) throws Exception {
+	protected Map<String, Map<String, JsonNode>> updateNodeStats( final Map<String, Map<String, JsonNode>> jsonMap,
+		final File stats, final String level, final String label ) throws Exception {
 		Log.info( getClass(), "Adding " + label + " stats from: " + stats.getAbsolutePath() );
 		final BufferedReader reader = BioLockJUtil.getFileReader( stats );
 		try {
@@ -119,7 +121,7 @@ public class JsonReport extends JavaModuleImpl {
 				final String otu = st.nextToken().trim();
 
 				int i = 0;
-				final JsonNode jsonNode = getJsonNode( otu, jsonMap.get( level ), level );
+				final JsonNode jsonNode = jsonMap.get( level ) == null ? null: jsonMap.get( level ).get( otu );
 				if( jsonNode != null ) while( st.hasMoreTokens() ) {
 					final String token = st.nextToken();
 					if( NumberUtils.isNumber( token ) )
@@ -136,48 +138,43 @@ public class JsonReport extends JavaModuleImpl {
 	}
 
 	/**
-	 * Build lines of text output for the Json Report file.
+	 * Write the node and its children to the Json Report file. Nodes are written to the writer as they are visited, with
+	 * each line indented by 1 tab per level.
 	 *
+	 * @param writer Json Report file writer
 	 * @param node JsonNode is the parent node
 	 * @param hasPeer boolean is true if node has peer nodes
-	 * @param jsonMap LinkedHashMap(level,Set(JsonNode)) all nodes by level
 	 * @param nodeLevel {@link biolockj.Config}.{@value biolockj.Constants#REPORT_TAXONOMY_LEVELS}
-	 * @return Json Report lines
+	 * @param prefix Log base prefix for stat names
 	 * @throws Exception if errors occur
 	 */
-	protected String writeNodeAndChildren( final JsonNode node, final boolean hasPeer,
-		final LinkedHashMap<String, TreeSet<JsonNode>> jsonMap, final int nodeLevel ) throws Exception {
-		final String logBase = Config.getString( this, Constants.REPORT_LOG_BASE );
-		final String prefix = logBase == null ? "": "log" + logBase;
-
+	protected void writeNodeAndChildren( final BufferedWriter writer, final JsonNode node, final boolean hasPeer,
+		final int nodeLevel, final String prefix ) throws Exception {
 		final String taxaLevel = nodeLevel == 0 ? ROOT_NODE: TaxaUtil.getTaxaLevels().get( nodeLevel - 1 );
+		final Map<String, JsonNode> children = this.childNodes.get( node );
+		final boolean hasChildren = children != null && !children.isEmpty();
 
-		final List<JsonNode> childNodes = getChildNodes( node, jsonMap, nodeLevel );
-
-		final StringBuffer sb = new StringBuffer();
-		sb.append( "{" + RETURN );
-		sb.append( "\"" + TAXA + "\": \"" + node.getTaxa() + "\"," + RETURN );
-		sb.append( "\"" + OTU_LEVEL + "\": \"" + taxaLevel + "\"," + RETURN );
-		sb.append( "\"" + NUM_SEQS + "\": " + node.getCount() +
-			( node.getStats().isEmpty() && childNodes.isEmpty() ? "": "," ) + RETURN );
+		writeLine( writer, nodeLevel, "{" );
+		writeLine( writer, nodeLevel + 1, "\"" + TAXA + "\": \"" + node.getTaxa() + "\"," );
+		writeLine( writer, nodeLevel + 1, "\"" + OTU_LEVEL + "\": \"" + taxaLevel + "\"," );
+		writeLine( writer, nodeLevel + 1, "\"" + NUM_SEQS + "\": " + node.getCount() +
+			( node.getStats().isEmpty() && !hasChildren ? "": "," ) );
 
-		if( !node.getStats().isEmpty() )
-			for( final Iterator<String> stats = node.getStats().keySet().iterator(); stats.hasNext(); ) {
+		for( final Iterator<String> stats = node.getStats().keySet().iterator(); stats.hasNext(); ) {
 			final String stat = stats.next();
 			final String name =
 				stat.startsWith( R_CalculateStats.getSuffix( null, false ) ) ? stat: prefix + "(" + stat + ")";
-			sb.append( "\"" + name + "\": " + node.getStats().get( stat ) );
-			sb.append( ( stats.hasNext() || !childNodes.isEmpty() ? ",": "" ) + RETURN );
-			}
+			writeLine( writer, nodeLevel + 1, "\"" + name + "\": " + node.getStats().get( stat ) +
+				( stats.hasNext() || hasChildren ? ",": "" ) );
+		}
 
-		if( !childNodes.isEmpty() ) {
-			sb.append( "\"" + CHILDREN + "\": [" + RETURN );
-			for( final Iterator<JsonNode> children = childNodes.iterator(); children.hasNext(); )
-				sb.append( writeNodeAndChildren( children.next(), children.hasNext(), jsonMap, nodeLevel + 1 ) );
+		if( hasChildren ) {
+			writeLine( writer, nodeLevel + 1, "\"" + CHILDREN + "\": [" );
+			for( final Iterator<JsonNode> it = children.values().iterator(); it.hasNext(); )
+				writeNodeAndChildren( writer, it.next(), it.hasNext(), nodeLevel + 1, prefix );
 		}
 
-		sb.append( "}" + ( hasPeer ? ",": nodeLevel != 0 ? " ]": "" ) + RETURN );
-		return sb.toString();
+		writeLine( writer, nodeLevel, "}" + ( hasPeer ? ",": nodeLevel != 0 ? " ]": "" ) );
 	}
 
 	/**
@@ -188,7 +185,7 @@ public class JsonReport extends JavaModuleImpl {
 	 * @param jsonMap jsonMap (key=level)
 	 * @throws Exception if unable to parse report files
 	 */
-	private void addStats( final LinkedHashMap<String, TreeSet<JsonNode>> jsonMap ) throws Exception {
+	private void addStats( final Map<String, Map<String, JsonNode>> jsonMap ) throws Exception {
 		Log.info( getClass(), "Adding stats to JSON nodes..." );
 		for( final String level: TaxaUtil.getTaxaLevels() ) {
 			final Map<String, File> statReports = getAllStatReports( level );
@@ -250,29 +247,17 @@ public class JsonReport extends JavaModuleImpl {
 	}
 
 	/**
-	 * This method formats the JSON code to indent code blocks surround by curly-braces "{ }"
+	 * Stream the JSON nodes, starting with the root node, to the Json Report file.
 	 *
-	 * @param code JSON syntax mark-up
+	 * @param root Root JsonNode
 	 * @throws Exception if errors occur
 	 */
-	private void writeJson( final String code ) throws Exception {
+	private void writeJson( final JsonNode root ) throws Exception {
+		final String logBase = Config.getString( this, Constants.REPORT_LOG_BASE );
 		final BufferedWriter writer = new BufferedWriter(
 			new FileWriter( new File( getOutputDir().getAbsolutePath() + File.separator + JSON_SUMMARY ) ) );
 		try {
-			int indentCount = 0;
-			final StringTokenizer st = new StringTokenizer( code, RETURN );
-			while( st.hasMoreTokens() ) {
-				final String line = st.nextToken();
-				if( line.startsWith( "}" ) ) indentCount--;
-
-				int i = 0;
-				while( i++ < indentCount )
-					writer.write( TAB_DELIM );
-
-				writer.write( line + RETURN );
-
-				if( line.endsWith( "{" ) ) indentCount++;
-			}
+			writeNodeAndChildren( writer, root, false, 0, logBase == null ? "": "log" + logBase );
 		} finally {
 			writer.close();
 		}
@@ -290,41 +275,26 @@ public class JsonReport extends JavaModuleImpl {
 		return false;
 	}
 
-	private static List<JsonNode> getChildNodes( final JsonNode node,
-		final LinkedHashMap<String, TreeSet<JsonNode>> jsonMap, final int nodeLevel ) {
-		final List<JsonNode> childNodes = new ArrayList<>();
-		if( nodeLevel < TaxaUtil.getTaxaLevels().size() ) {
-			// getting all JsonNodes for the nodeLevel
-			final Set<JsonNode> jsonNodes = jsonMap.get( TaxaUtil.getTaxaLevels().get( nodeLevel ) );
-			if( jsonNodes != null ) for( final JsonNode innerNode: jsonNodes )
-				if( innerNode.getParent().equals( node ) ) childNodes.add( innerNode );
-		}
-		return childNodes;
-	}
-
 	private static String getInputFileSuffix() {
 		return CompileOtuCounts.SUMMARY + Constants.OTU_COUNT + TSV_EXT;
 	}
 
-	private static JsonNode getJsonNode( final String otu, final Set<JsonNode> jsonNodes, final String level ) {
-		if( jsonNodes != null ) for( final JsonNode jsonNode: jsonNodes )
-			if( jsonNode.getTaxa().equals( otu ) && jsonNode.getLevel().equals( level ) ) return jsonNode;
-		return null;
-	}
-
-	private static JsonNode getNode( final Set<JsonNode> nodes, final String taxa ) {
-		for( final JsonNode node: nodes )
-			if( node.getTaxa().equals( taxa ) ) return node;
-		return null;
-	}
-
-	private static LinkedHashMap<String, TreeSet<JsonNode>> initJsonMap() {
-		final LinkedHashMap<String, TreeSet<JsonNode>> jsonMap = new LinkedHashMap<>();
+	private static Map<String, Map<String, JsonNode>> initJsonMap() {
+		final Map<String, Map<String, JsonNode>> jsonMap = new LinkedHashMap<>();
 		for( final String level: TaxaUtil.getTaxaLevels() )
-			jsonMap.put( level, new TreeSet<JsonNode>() );
+			jsonMap.put( level, new HashMap<>() );
 		return jsonMap;
 	}
 
+	private static void writeLine( final BufferedWriter writer, final int indentCount, final String line )
+		throws IOException {
+		for( int i = 0; i < indentCount; i++ )
+			writer.write( TAB_DELIM );
+		writer.write( line );
+		writer.write( RETURN );
+	}
+
+	private final Map<JsonNode, TreeMap<String, JsonNode>> childNodes = new IdentityHashMap<>();
 	private int numberOfNodes = 1; // root always created
 
 	private String summary = "";
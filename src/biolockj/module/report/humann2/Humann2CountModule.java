@@ -11,7 +11,7 @@
  */
 package biolockj.module.report.humann2;
 
-import java.io.File;
+import java.io.*;
 import java.util.*;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.filefilter.HiddenFileFilter;
@@ -19,12 +19,14 @@ import biolockj.Log;
 import biolockj.module.BioModule;
 import biolockj.module.JavaModuleImpl;
 import biolockj.module.implicit.parser.wgs.Humann2Parser;
-import biolockj.util.BioLockJUtil;
-import biolockj.util.PathwayUtil;
+import biolockj.util.*;
 
 /**
  * This abstract superclass is extended by all other modules in this package.<br>
- * Shared method implementations are defined to ensure uniform adoption of dependencies and prerequisites.
+ * Shared method implementations are defined to ensure uniform adoption of dependencies and prerequisites.<br>
+ * Count tables (1 row per sample, 1 column per pathway) are filtered in 2 streaming passes so the table is never held
+ * in memory: {@link #scanPathwayTable(File, double)} gathers per-pathway and per-sample statistics, then
+ * {@link #filterPathwayTable(File, File, boolean[], Set, double)} writes the filtered table.
  */
 public abstract class Humann2CountModule extends JavaModuleImpl {
 	@Override
@@ -80,4 +82,204 @@ public abstract class Humann2CountModule extends JavaModuleImpl {
 		}
 		return false;
 	}
+
+	/**
+	 * Pass 2: stream the count table and write the filtered table. Counts below minCount are set to 0.0.
+	 *
+	 * @param file Input count table
+	 * @param outFile Filtered output table
+	 * @param keepPathways Flag for each pathway column, in table order, set TRUE to keep the column
+	 * @param removeSampleIds Sample IDs (rows) to remove
+	 * @param minCount Minimum count, use 0 to keep all counts
+	 * @return Filter result
+	 * @throws Exception if errors occur reading or writing the table
+	 */
+	protected FilterResult filterPathwayTable( final File file, final File outFile, final boolean[] keepPathways,
+		final Set<String> removeSampleIds, final double minCount ) throws Exception {
+		final FilterResult result = new FilterResult();
+		final BufferedReader reader = BioLockJUtil.getFileReader( file );
+		final BufferedWriter writer = new BufferedWriter( new FileWriter( outFile ) );
+		try {
+			final String header = reader.readLine();
+			final List<String> pathways = parseHeader( file, header );
+			if( pathways.size() != keepPathways.length ) throw new Exception(
+				"Pathway table changed between passes: " + file.getAbsolutePath() );
+
+			final StringBuilder sb = new StringBuilder( MetaUtil.getID() );
+			for( int i = 0; i < pathways.size(); i++ )
+				if( keepPathways[ i ] ) sb.append( TAB_DELIM ).append( pathways.get( i ) );
+			writer.write( sb.toString() + RETURN );
+
+			final double[] counts = new double[ pathways.size() ];
+			for( String line = reader.readLine(); line != null; line = reader.readLine() ) {
+				final String id = parseCounts( file, line, counts );
+				if( id == null ) continue;
+				final TreeSet<String> removed = new TreeSet<>();
+				if( removeSampleIds.contains( id ) ) {
+					for( int i = 0; i < counts.length; i++ )
+						if( counts[ i ] > 0 ) removed.add( pathways.get( i ) );
+					result.removedSamples.put( id, removed );
+					continue;
+				}
+
+				sb.setLength( 0 );
+				sb.append( id );
+				double total = 0;
+				int unique = 0;
+				for( int i = 0; i < counts.length; i++ ) {
+					final double count = counts[ i ];
+					final boolean keepCount = count >= minCount;
+					if( count > 0 && ( !keepCount || !keepPathways[ i ] ) ) removed.add( pathways.get( i ) );
+					if( !keepPathways[ i ] ) continue;
+					sb.append( TAB_DELIM ).append( keepCount ? count: 0.0 );
+					if( keepCount && count > 0 ) {
+						total += count;
+						unique++;
+					}
+				}
+				writer.write( sb.toString() + RETURN );
+
+				result.totalPathways.put( id, String.valueOf( (long) total ) );
+				result.uniquePathways.put( id, String.valueOf( unique ) );
+				if( !removed.isEmpty() ) result.removedPathways.put( id, removed );
+			}
+		} finally {
+			reader.close();
+			writer.close();
+		}
+
+		return result;
+	}
+
+	/**
+	 * Pass 1: stream the count table to count the samples with a count for each pathway, and the pathways with a
+	 * count for each sample.
+	 *
+	 * @param file Input count table
+	 * @param minCount Minimum count
+	 * @return Table statistics
+	 * @throws Exception if errors occur reading the table
+	 */
+	protected TableStats scanPathwayTable( final File file, final double minCount ) throws Exception {
+		final BufferedReader reader = BioLockJUtil.getFileReader( file );
+		try {
+			final TableStats stats = new TableStats( parseHeader( file, reader.readLine() ) );
+			final double[] counts = new double[ stats.pathways.size() ];
+			long numCells = 0L;
+			for( String line = reader.readLine(); line != null; line = reader.readLine() ) {
+				final String id = parseCounts( file, line, counts );
+				if( id == null ) continue;
+				int numPathways = 0;
+				for( int i = 0; i < counts.length; i++ )
+					if( counts[ i ] > 0 ) {
+						numPathways++;
+						stats.numSamples[ i ]++;
+						if( counts[ i ] >= minCount ) stats.numSamplesAboveMin[ i ]++;
+					}
+				stats.numPathways.put( id, numPathways );
+				numCells += counts.length;
+			}
+			MetricsUtil.addRecords( this, numCells );
+			return stats;
+		} finally {
+			reader.close();
+		}
+	}
+
+	/**
+	 * Parse the pathway names from the count table header, the 1st cell (sample ID column) is skipped.
+	 *
+	 * @param file Count table
+	 * @param header Header line
+	 * @return Pathway names, in table column order
+	 * @throws Exception if the table is empty
+	 */
+	protected static List<String> parseHeader( final File file, final String header ) throws Exception {
+		if( header == null ) throw new Exception( "Empty pathway table: " + file.getAbsolutePath() );
+		final String[] cells = header.split( TAB_DELIM, -1 );
+		return Arrays.asList( cells ).subList( 1, cells.length );
+	}
+
+	/**
+	 * Parse the tab-delimited record into counts, each cell is parsed once without splitting the line.
+	 *
+	 * @param file Count table
+	 * @param line Sample record
+	 * @param counts Reused array, filled with the pathway counts in table column order
+	 * @return Sample ID, or null for an empty line
+	 * @throws Exception if the record has the wrong number of columns
+	 */
+	protected static String parseCounts( final File file, final String line, final double[] counts ) throws Exception {
+		if( line.trim().isEmpty() ) return null;
+		int start = line.indexOf( TAB_DELIM );
+		final String id = start < 0 ? line: line.substring( 0, start );
+		int i = 0;
+		while( start >= 0 ) {
+			final int end = line.indexOf( TAB_DELIM, start + 1 );
+			if( i == counts.length ) break;
+			final String cell = end < 0 ? line.substring( start + 1 ): line.substring( start + 1, end );
+			counts[ i++ ] = cell.isEmpty() ? 0.0: Double.parseDouble( cell );
+			start = end;
+		}
+		if( i != counts.length || start >= 0 ) throw new Exception( "Sample " + id +
+			" has the wrong number of columns (expected " + counts.length + " counts) in pathway table: " +
+			file.getAbsolutePath() );
+		return id;
+	}
+
+	/**
+	 * Result of {@link Humann2CountModule#filterPathwayTable(File, File, boolean[], Set, double)}.
+	 */
+	protected static class FilterResult {
+		/**
+		 * Map sample ID to pathways with a count set to 0 or removed from the table, for each retained sample
+		 */
+		protected final TreeMap<String, TreeSet<String>> removedPathways = new TreeMap<>();
+
+		/**
+		 * Map removed sample ID to its pathways with a count
+		 */
+		protected final TreeMap<String, TreeSet<String>> removedSamples = new TreeMap<>();
+
+		/**
+		 * Map sample ID to total pathway count in the output table
+		 */
+		protected final Map<String, String> totalPathways = new LinkedHashMap<>();
+
+		/**
+		 * Map sample ID to number of unique pathways in the output table
+		 */
+		protected final Map<String, String> uniquePathways = new LinkedHashMap<>();
+	}
+
+	/**
+	 * Statistics gathered by {@link Humann2CountModule#scanPathwayTable(File, double)}.
+	 */
+	protected static class TableStats {
+		private TableStats( final List<String> pathways ) {
+			this.pathways = pathways;
+			this.numSamples = new int[ pathways.size() ];
+			this.numSamplesAboveMin = new int[ pathways.size() ];
+		}
+
+		/**
+		 * Map sample ID to number of pathways with a count, in table order
+		 */
+		protected final Map<String, Integer> numPathways = new LinkedHashMap<>();
+
+		/**
+		 * Number of samples with a count, for each pathway column
+		 */
+		protected final int[] numSamples;
+
+		/**
+		 * Number of samples with a count at or above the min count, for each pathway column
+		 */
+		protected final int[] numSamplesAboveMin;
+
+		/**
+		 * Pathway names, in table column order
+		 */
+		protected final List<String> pathways;
+	}
 }
@@ -49,11 +49,12 @@ public class RemoveLowPathwayCounts extends Humann2CountModule {
 	@Override
 	public void runModule() throws Exception {
 		this.sampleIds.addAll( MetaUtil.getSampleIds() );
+		final int minCount = getMinCount();
+		final boolean addMetaCols = Config.getBoolean( this, Constants.REPORT_NUM_HITS ) &&
+			!Config.getBoolean( this, Constants.HN2_DISABLE_PATH_ABUNDANCE );
 		for( final File file: getInputFiles() ) {
-			logLowCountPathways( removeLowPathwayCounts( file ) );
-			if( Config.getBoolean( this, Constants.REPORT_NUM_HITS ) &&
-				!Config.getBoolean( this, Constants.HN2_DISABLE_PATH_ABUNDANCE ) &&
-				file.getName().contains( Constants.HN2_PATH_ABUND_SUM ) ) {
+			logLowCountPathways( removeLowPathwayCounts( file, minCount ) );
+			if( addMetaCols && file.getName().contains( Constants.HN2_PATH_ABUND_SUM ) ) {
 				MetaUtil.addColumn( getMetaColName() + "_" + Constants.HN2_UNIQUE_PATH_COUNT,
 					this.uniquePathwaysPerSample, getTempDir(), true );
 				MetaUtil.addColumn( getMetaColName() + "_" + Constants.HN2_TOTAL_PATH_COUNT,
@@ -91,110 +92,48 @@ public class RemoveLowPathwayCounts extends Humann2CountModule {
 	}
 
 	/**
-	 * Remove Pathway Counts below the {@link biolockj.Config}.{@value biolockj.Constants#REPORT_MIN_COUNT}
+	 * Remove Pathway Counts below the {@link biolockj.Config}.{@value biolockj.Constants#REPORT_MIN_COUNT}. Pathway
+	 * columns without a count above the threshold in any sample are removed from the output table.
 	 *
 	 * @param file Input file
+	 * @param minCount Minimum count
 	 * @return TreeMap(SampleId, TreeMap(Pathway)) Map removed pathways to sample ID
 	 * @throws Exception if errors occur
 	 */
-	protected TreeMap<String, TreeSet<String>> removeLowPathwayCounts( final File file ) throws Exception {
+	protected TreeMap<String, TreeSet<String>> removeLowPathwayCounts( final File file, final int minCount )
+		throws Exception {
 		Log.info( getClass(), "Inspecting for Low Pathway count: " + file.getAbsolutePath() );
-		final TreeMap<String, TreeSet<String>> lowCountPathways = new TreeMap<>();
-		final List<List<String>> table = BioLockJUtil.parseCountTable( file );
-		final List<List<String>> output = new ArrayList<>();
-		List<String> pathways = null;
-		final TreeSet<String> validPathways = new TreeSet<>();
-		final Set<String> foundSamplePathways = new TreeSet<>();
-		int totalPathwayCount = 0;
-		for( final List<String> record: table ) {
-			final String sampleId = record.get( 0 );
-
-			if( pathways == null ) {
-				output.add( record );
-				validPathways.addAll( record.subList( 1, record.size() ) );
-				pathways = record;
-				continue;
-			}
-
-			final TreeSet<String> validSamplePathways = new TreeSet<>();
-
-			final List<String> line = new ArrayList<>();
-			line.add( sampleId );
-			for( int i = 1; i < record.size(); i++ ) {
-				final Double count = Double.valueOf( record.get( i ) );
-				final String pathway = pathways.get( i - 1 );
-				if( count < getMinCount() ) {
-					line.add( "0.0" );
-					Log.debug( getClass(), sampleId + ": Remove Low Pathway count: " + pathway + "=" + count );
-				} else {
-					validSamplePathways.add( pathway );
-					line.add( count.toString() );
-					totalPathwayCount += count;
-					validPathways.add( pathway );
-				}
-			}
+		final TableStats stats = scanPathwayTable( file, minCount );
+		final boolean[] keepPathways = new boolean[ stats.pathways.size() ];
+		final TreeSet<String> allRemovedPathways = new TreeSet<>();
+		for( int i = 0; i < keepPathways.length; i++ ) {
+			keepPathways[ i ] = stats.numSamplesAboveMin[ i ] > 0;
+			if( !keepPathways[ i ] ) allRemovedPathways.add( stats.pathways.get( i ) );
+		}
 
-			output.add( line );
+		final File outTable = PathwayUtil.getPathwayCountFile( getOutputDir(), file, getMetaColName() );
+		final FilterResult result = filterPathwayTable( file, outTable, keepPathways, new HashSet<>(), minCount );
 
-			final TreeSet<String> badSamplePathways = new TreeSet<>( validPathways );
-			badSamplePathways.removeAll( validSamplePathways );
-			foundSamplePathways.addAll( validSamplePathways );
-			if( file.getName().contains( Constants.HN2_PATH_ABUND_SUM ) ) {
-				Log.info( getClass(), "Set totalPathwaysPerSample: " + sampleId + "=" + totalPathwayCount );
-				Log.info( getClass(), "Set uniquePathwaysPerSample: " + sampleId + "=" + foundSamplePathways.size() );
-				this.totalPathwaysPerSample.put( sampleId, String.valueOf( totalPathwayCount ) );
-				this.uniquePathwaysPerSample.put( sampleId, String.valueOf( foundSamplePathways.size() ) );
-			}
+		for( final String id: result.removedPathways.keySet() ) {
+			Log.warn( getClass(), id + ": Remove " + result.removedPathways.get( id ).size() +
+				" Pathways with #counts below threshold: " + minCount );
+			Log.debug( getClass(), id + ": Removed Pathways: " + result.removedPathways.get( id ) );
+		}
 
-			if( !badSamplePathways.isEmpty() ) {
-				lowCountPathways.put( sampleId, badSamplePathways );
-				Log.warn( getClass(), sampleId + ": Remove " + badSamplePathways.size() +
-					" Pathways with #counts below threshold: " + getMinCount() );
-				Log.debug( getClass(), sampleId + ": Removed Pathways: " + badSamplePathways );
-			}
+		if( file.getName().contains( Constants.HN2_PATH_ABUND_SUM ) ) {
+			Log.info( getClass(), "Set totalPathwaysPerSample: " + result.totalPathways );
+			Log.info( getClass(), "Set uniquePathwaysPerSample: " + result.uniquePathways );
+			this.totalPathwaysPerSample.putAll( result.totalPathways );
+			this.uniquePathwaysPerSample.putAll( result.uniquePathways );
 		}
 
-		final TreeSet<String> allRemovedPathways = new TreeSet<>( validPathways );
-		allRemovedPathways.removeAll( foundSamplePathways );
 		if( !allRemovedPathways.isEmpty() ) {
 			Log.warn( getClass(),
-				"Remove " + allRemovedPathways.size() + " Pathways with #counts below threshold: " + getMinCount() );
+				"Remove " + allRemovedPathways.size() + " Pathways with #counts below threshold: " + minCount );
 			Log.debug( getClass(), "Removed Pathways: " + allRemovedPathways );
 		}
 
-		buildOutputTable( output, file, allRemovedPathways );
-
-		return lowCountPathways;
-	}
-
-	private void buildOutputTable( final List<List<String>> data, final File file, final Set<String> badPathways )
-		throws Exception {
-		final File outTable = PathwayUtil.getPathwayCountFile( getOutputDir(), file, getMetaColName() );
-		final BufferedWriter writer = new BufferedWriter( new FileWriter( outTable ) );
-		try {
-			final Set<Integer> badIndex = new HashSet<>();
-			boolean firstRecord = true;
-			for( final List<String> record: data ) {
-				boolean newRecord = true;
-				if( firstRecord && !badPathways.isEmpty() ) for( final String pathway: record ) {
-					if( badPathways.contains( pathway ) ) badIndex.add( record.indexOf( pathway ) );
-					else writer.write( ( !newRecord ? TAB_DELIM: "" ) + pathway );
-					newRecord = false;
-				}
-				else if( !firstRecord ) for( int i = 0; i < record.size(); i++ ) {
-					if( !badIndex.contains( i ) ) writer.write( ( !newRecord ? TAB_DELIM: "" ) + record.get( i ) );
-					newRecord = false;
-				}
-				else for( final String pathway: record ) {
-					writer.write( ( !newRecord ? TAB_DELIM: "" ) + pathway );
-					newRecord = false;
-				}
-				firstRecord = false;
-				writer.write( RETURN );
-			}
-		} finally {
-			writer.close();
-		}
+		return result.removedPathways;
 	}
 
 	private void freeMemory() {
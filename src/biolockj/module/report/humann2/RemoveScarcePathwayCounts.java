@@ -14,7 +14,6 @@ package biolockj.module.report.humann2;
 import java.io.*;
 import java.util.*;
 import org.apache.commons.io.FileUtils;
-import org.apache.commons.lang.math.NumberUtils;
 import biolockj.*;
 import biolockj.exception.*;
 import biolockj.util.*;
@@ -59,11 +58,22 @@ public class RemoveScarcePathwayCounts extends Humann2CountModule {
 		for( final File file: getInputFiles() )
 			if( cutoff < 1 ) FileUtils.copyFileToDirectory( file, getOutputDir() );
 			else {
-				final List<List<String>> table = BioLockJUtil.parseCountTable( file );
-				logScarceData( removeScarcePathwayCounts( file, getScarcePathways( table ) ),
-					getScarcePathwayLogFile() );
-				logScarceData( removeScarceSamples( file, getScarceSampleIds( file, table ) ),
-					getScarceSampleLogFile() );
+				final TableStats stats = scanPathwayTable( file, 0 );
+				final boolean[] keepPathways = new boolean[ stats.pathways.size() ];
+				for( int i = 0; i < keepPathways.length; i++ )
+					keepPathways[ i ] = stats.numSamples[ i ] == 0 || stats.numSamples[ i ] >= cutoff;
+
+				final Set<String> scarceIds = new HashSet<>();
+				if( file.getName().contains( Constants.HN2_PATH_ABUND_SUM ) ) {
+					final int sampleMin =
+						new Double( Math.ceil( stats.pathways.size() * getScarceSampleCutoff() ) ).intValue();
+					for( final String id: stats.numPathways.keySet() )
+						if( stats.numPathways.get( id ) < sampleMin ) scarceIds.add( id );
+				}
+
+				final FilterResult result = removeScarceData( file, keepPathways, scarceIds );
+				logScarceData( result.removedPathways, getScarcePathwayLogFile() );
+				logScarceData( result.removedSamples, getScarceSampleLogFile() );
 			}
 	}
 
@@ -88,78 +98,33 @@ public class RemoveScarcePathwayCounts extends Humann2CountModule {
 			writer.close();
 		}
 
-		Log.info( getClass(),
-			"Found " + map.size() + " samples with scarce pathways to removed- Pathway list saved to --> " +
-				getScarcePathwayLogFile().getAbsolutePath() );
+		Log.info( getClass(), "Found " + map.size() +
+			" samples with scarce pathways to removed- Pathway list saved to --> " + file.getAbsolutePath() );
 	}
 
 	/**
-	 * Remove Pathway Counts below the {@link biolockj.Config}.{@value biolockj.Constants#REPORT_MIN_COUNT}
+	 * Remove scarce pathway columns and scarce sample rows from the count table.
 	 *
 	 * @param file input file
-	 * @param scarcePathways Set of pathway names to be eliminated
-	 * @return TreeMap(SampleId, TreeMap(Pathway)) Map removed pathways to sample ID
+	 * @param keepPathways Flag for each pathway column, set FALSE for scarce pathways
+	 * @param scarceIds Set of sample IDs to be eliminated
+	 * @return Filter result with the removed pathways and samples
 	 * @throws Exception if errors occur
 	 */
-	protected TreeMap<String, TreeSet<String>> removeScarcePathwayCounts( final File file,
-		final Set<String> scarcePathways ) throws Exception {
-		if( scarcePathways.isEmpty() ) return null;
-		final TreeMap<String, TreeSet<String>> scarcePathMap = new TreeMap<>();
-		final List<List<String>> table = BioLockJUtil.parseCountTable( file );
-		final List<List<String>> output = new ArrayList<>();
-
-		List<String> pathways = null;
-
-		final List<String> validPathways = new ArrayList<>();
-		int totalPathwayCount = 0;
-		for( final List<String> record: table ) {
-			final List<String> line = new ArrayList<>();
-			final String id = record.get( 0 );
-			line.add( id );
-			if( pathways == null ) {
-				for( int i = 1; i < record.size(); i++ ) {
-					final String pathway = record.get( i );
-					if( !scarcePathways.contains( pathway ) ) {
-						line.add( pathway );
-						validPathways.add( pathway );
-					}
-				}
-				pathways = record;
-				output.add( line );
-				continue;
-			}
-
-			final TreeSet<String> validSamplePathways = new TreeSet<>();
-
-			for( int i = 1; i < record.size(); i++ ) {
-				final String pathway = pathways.get( i );
-				if( !scarcePathways.contains( pathway ) ) {
-					final Double count = Double.valueOf( record.get( i ) );
-					line.add( count.toString() );
-					totalPathwayCount += count;
-					if( count > 0 ) validSamplePathways.add( pathway );
-				}
-			}
-
-			output.add( line );
-
-			final TreeSet<String> badSamplePathways = new TreeSet<>( validPathways );
-			badSamplePathways.removeAll( validSamplePathways );
-
-			this.totalPathwaysPerSample.put( id, String.valueOf( totalPathwayCount ) );
-			this.uniquePathwaysPerSample.put( id, String.valueOf( validSamplePathways.size() ) );
-
-			if( !badSamplePathways.isEmpty() ) {
-				scarcePathMap.put( id, badSamplePathways );
-				Log.warn( getClass(), id + ": Remove " + badSamplePathways.size() +
-					" Pathways found in % samples below threshold: " + getMetaColName() );
-				Log.debug( getClass(), id + ": Removed Pathways: " + badSamplePathways );
-			}
+	protected FilterResult removeScarceData( final File file, final boolean[] keepPathways,
+		final Set<String> scarceIds ) throws Exception {
+		final String cutoff = getMetaColName().replaceAll( "%", "per" );
+		final File outFile = PathwayUtil.getPathwayCountFile( getOutputDir(), file, cutoff );
+		final FilterResult result = filterPathwayTable( file, outFile, keepPathways, scarceIds, 0 );
+		for( final String id: result.removedPathways.keySet() ) {
+			Log.warn( getClass(), id + ": Remove " + result.removedPathways.get( id ).size() +
+				" Pathways found in % samples below threshold: " + getMetaColName() );
+			Log.debug( getClass(), id + ": Removed Pathways: " + result.removedPathways.get( id ) );
 		}
 
-		buildOutputTable( file, output );
-
-		return scarcePathMap;
+		this.totalPathwaysPerSample.putAll( result.totalPathways );
+		this.uniquePathwaysPerSample.putAll( result.uniquePathways );
+		return result;
 	}
 
 	@SuppressWarnings("unused")
@@ -169,26 +134,6 @@ public class RemoveScarcePathwayCounts extends Humann2CountModule {
 			file.getName().contains( Constants.HN2_PATH_ABUND_SUM );
 	}
 
-	private void buildOutputTable( final File file, final List<List<String>> data )
-		throws ConfigNotFoundException, ConfigFormatException, ConfigViolationException, IOException {
-		final String cutoff = getMetaColName().replaceAll( "%", "per" );
-		final File outFile = PathwayUtil.getPathwayCountFile( getOutputDir(), file, cutoff );
-		final BufferedWriter writer = new BufferedWriter( new FileWriter( outFile ) );
-		try {
-			for( final List<String> record: data ) {
-				boolean newRecord = true;
-				for( int i = 0; i < record.size(); i++ ) {
-					writer.write( ( !newRecord ? TAB_DELIM: "" ) + record.get( i ) );
-					newRecord = false;
-				}
-
-				writer.write( RETURN );
-			}
-		} finally {
-			writer.close();
-		}
-	}
-
 	private void freeMemory() {
 		this.uniquePathwaysPerSample = null;
 		this.totalPathwaysPerSample = null;
@@ -204,13 +149,6 @@ public class RemoveScarcePathwayCounts extends Humann2CountModule {
 		return "scarce" + new Double( getScarceCountCutoff() * 100 ).intValue() + "%";
 	}
 
-	private int getSampleCutoff() throws Exception {
-		if( this.scarceSampleCutoff == null ) this.scarceSampleCutoff =
-			new Double( Math.ceil( MetaUtil.getFieldNames().size() * getScarceSampleCutoff() ) ).intValue();
-
-		return this.scarceSampleCutoff;
-	}
-
 	private Double getScarceCountCutoff() throws ConfigNotFoundException, ConfigFormatException {
 		return Config.requirePositiveDouble( this, Constants.REPORT_SCARCE_CUTOFF );
 	}
@@ -219,84 +157,16 @@ public class RemoveScarcePathwayCounts extends Humann2CountModule {
 		return new File( getTempDir().getAbsolutePath() + File.separator + "scarcePathways" + TXT_EXT );
 	}
 
-	private Set<String> getScarcePathways( final List<List<String>> table ) throws Exception {
-		final Set<String> scarcePathways = new HashSet<>();
-		final Map<String, Double> pathMap = new HashMap<>();
-		final List<String> pathways = table.get( 0 ).subList( 1, table.get( 0 ).size() - 1 );
-		for( final String pathway: pathways )
-			pathMap.put( pathway, 0.0 );
-
-		for( final List<String> record: table.subList( 1, table.size() - 1 ) )
-			for( int i = 0; i < pathways.size(); i++ ) {
-				final Double count = Double.valueOf( record.get( i + 1 ) );
-				final String pathway = pathways.get( i );
-				if( count > 0 ) pathMap.put( pathway, pathMap.get( pathway ) + 1 );
-			}
-
-		for( final String pathway: pathways ) {
-			final Double count = pathMap.get( pathway );
-			if( count > 0 && count < getCutoff() ) scarcePathways.add( pathway );
-		}
-
-		return scarcePathways;
-	}
-
 	private Double getScarceSampleCutoff() throws ConfigNotFoundException, ConfigFormatException {
 		return Config.requirePositiveDouble( this, Constants.REPORT_SAMPLE_CUTOFF );
 	}
 
-	private Set<String> getScarceSampleIds( final File file, final List<List<String>> table ) throws Exception {
-		final Set<String> scarceIds = new HashSet<>();
-		table.remove( 0 );
-		for( final List<String> record: table ) {
-			String id = null;
-			int count = 0;
-			boolean newRecord = true;
-			for( final String cell: record ) {
-				if( newRecord ) id = cell;
-				else if( NumberUtils.isNumber( cell ) && Double.valueOf( cell ) > 0 ) count++;
-				newRecord = false;
-			}
-
-			if( count < getSampleCutoff() && file.getName().contains( Constants.HN2_PATH_ABUND_SUM ) ) {
-				scarceIds.add( id );
-				this.totalPathwaysPerSample.remove( id );
-				this.uniquePathwaysPerSample.remove( id );
-			}
-		}
-
-		return scarceIds;
-	}
-
 	private File getScarceSampleLogFile() {
 		return new File( getTempDir().getAbsolutePath() + File.separator + "scarceSamples" + TXT_EXT );
 	}
 
-	private TreeMap<String, TreeSet<String>> removeScarceSamples( final File file, final Set<String> scarceIds )
-		throws ConfigNotFoundException, ConfigFormatException, ConfigViolationException, FileNotFoundException,
-		IOException {
-		final TreeMap<String, TreeSet<String>> scarceSampleMap = new TreeMap<>();
-		final List<List<String>> table = BioLockJUtil.parseCountTable( file );
-		final List<List<String>> output = new ArrayList<>();
-		List<String> pathways = null;
-		for( final List<String> record: table ) {
-			final String id = record.get( 0 );
-			if( id.equals( MetaUtil.getID() ) ) pathways = record.subList( 1, record.size() );
-			if( scarceIds.contains( id ) && pathways != null ) {
-				scarceSampleMap.put( id, new TreeSet<>() );
-				for( int i = 1; i < record.size(); i++ )
-					if( !record.get( i ).equals( "0" ) && !record.get( i ).equals( "0.0" ) )
-						scarceSampleMap.get( id ).add( pathways.get( i - 1 ) );
-			} else output.add( record );
-		}
-
-		buildOutputTable( file, output );
-		return scarceSampleMap;
-	}
-
 	private final Set<String> sampleIds = new HashSet<>();
 	private Integer scarceCountCutoff = null;
-	private Integer scarceSampleCutoff = null;
 	private Map<String, String> totalPathwaysPerSample = new HashMap<>();
 	private Map<String, String> uniquePathwaysPerSample = new HashMap<>();
 }
@@ -14,11 +14,15 @@ package biolockj.module.report.otu;
 import java.io.*;
 import java.util.*;
 import biolockj.Log;
+import biolockj.exception.OtuFileException;
 import biolockj.util.*;
 
 /**
  * This BioModule compiles the counts from all OTU count files into a single summary OTU count file containing OTU
- * counts for the entire dataset.
+ * counts for the entire dataset.<br>
+ * OTU count files are sorted by OTU, so they are combined with a k-way merge that only holds the current line of each
+ * file (plus the token dictionary of binary OTU count files) in memory. If there are more than
+ * {@value #MAX_OPEN_FILES} input files, they are merged in batches into intermediate files in the temp directory.
  * 
  * @blj.web_desc Compile OTU Counts
  */
@@ -32,18 +36,20 @@ public class CompileOtuCounts extends OtuCountModule {
 		String msg = "# Samples:     " +
 			BioLockJUtil.formatNumericOutput( new Integer( MetaUtil.getSampleIds().size() ).longValue(), false ) +
 			RETURN;
-		long uniqueOtus = 0;
-		long totalOtus = 0;
-		BufferedReader reader = null;
-		try {
-			reader = BioLockJUtil.getFileReader( getSummaryOtuFile() );
-			for( String line = reader.readLine(); line != null; line = reader.readLine() ) {
-				final OtuUtil.OtuCountLine otuLine = new OtuUtil.OtuCountLine( line );
-				uniqueOtus++;
-				totalOtus += otuLine.getCount();
+		long uniqueOtus = this.numUniqueOtus;
+		long totalOtus = this.numTotalOtus;
+		if( uniqueOtus == 0 ) {
+			BufferedReader reader = null;
+			try {
+				reader = BioLockJUtil.getFileReader( getSummaryOtuFile() );
+				for( String line = reader.readLine(); line != null; line = reader.readLine() ) {
+					final OtuUtil.OtuCountLine otuLine = new OtuUtil.OtuCountLine( line );
+					uniqueOtus++;
+					totalOtus += otuLine.getCount();
+				}
+			} finally {
+				if( reader != null ) reader.close();
 			}
-		} finally {
-			if( reader != null ) reader.close();
 		}
 
 		msg += "# Unique OTUs: " + BioLockJUtil.formatNumericOutput( uniqueOtus, false ) + RETURN;
@@ -53,9 +59,36 @@ public class CompileOtuCounts extends OtuCountModule {
 		return super.getSummary() + msg;
 	}
 
+	/**
+	 * Merge the sample OTU count files into the summary OTU count file. If an input file is not sorted by OTU, compile
+	 * the OTU counts in memory instead.
+	 */
 	@Override
 	public void runModule() throws Exception {
-		buildSummaryOtuCountFile( compileOtuCounts( getInputFiles() ) );
+		try {
+			List<File> files = getInputFiles();
+			int pass = 0;
+			while( files.size() > MAX_OPEN_FILES ) {
+				final List<File> mergedFiles = new ArrayList<>();
+				for( int i = 0; i < files.size(); i += MAX_OPEN_FILES ) {
+					final File mergedFile = new File( getTempDir().getAbsolutePath() + File.separator + MERGE_PREFIX +
+						pass + "_" + mergedFiles.size() + TSV_EXT );
+					mergeOtuCounts( files.subList( i, Math.min( i + MAX_OPEN_FILES, files.size() ) ), mergedFile,
+						pass == 0 );
+					mergedFiles.add( mergedFile );
+				}
+				files = mergedFiles;
+				pass++;
+			}
+
+			mergeOtuCounts( files, getSummaryOtuFile(), pass == 0 );
+		} catch( final OtuFileException ex ) {
+			Log.warn( getClass(), ex.getMessage() + " --> compile OTU counts in memory" );
+			this.uniqueOtuPerSample.clear();
+			this.numUniqueOtus = 0L;
+			this.numTotalOtus = 0L;
+			buildSummaryOtuCountFile( compileOtuCounts( getInputFiles() ) );
+		}
 	}
 
 	/**
@@ -101,6 +134,56 @@ public class CompileOtuCounts extends OtuCountModule {
 		return combinedOtuCounts;
 	}
 
+	/**
+	 * Merge OTU count files sorted by OTU into a single OTU count file, summing the counts of each OTU. Only the current
+	 * line of each input file is held in memory. The number of unique OTUs per sample, and the number of unique and
+	 * total OTUs in the output file, are recorded in the same pass.
+	 *
+	 * @param files OTU count files sorted by OTU
+	 * @param outputFile Output OTU count file
+	 * @param isSampleFiles TRUE if files are sample OTU count files (not intermediate merged files)
+	 * @throws OtuFileException if an input file is not sorted by OTU
+	 * @throws Exception if errors occur reading or writing the files
+	 */
+	protected void mergeOtuCounts( final List<File> files, final File outputFile, final boolean isSampleFiles )
+		throws Exception {
+		Log.info( getClass(), "Merge " + files.size() + " OTU count files into " + outputFile.getAbsolutePath() );
+		final PriorityQueue<OtuStream> heap = new PriorityQueue<>( Math.max( 1, files.size() ) );
+		final List<OtuStream> streams = new ArrayList<>();
+		final boolean isSummary = outputFile.equals( getSummaryOtuFile() );
+		final BufferedWriter writer = new BufferedWriter( new FileWriter( outputFile ) );
+		try {
+			for( final File file: files ) {
+				final OtuStream stream = new OtuStream( file, streams.size() );
+				streams.add( stream );
+				if( stream.next() ) heap.add( stream );
+			}
+
+			while( !heap.isEmpty() ) {
+				final String otu = heap.peek().otu;
+				long count = 0L;
+				while( !heap.isEmpty() && heap.peek().otu.equals( otu ) ) {
+					final OtuStream stream = heap.poll();
+					count += stream.count;
+					if( stream.next() ) heap.add( stream );
+				}
+
+				writer.write( otu + TAB_DELIM + count + RETURN );
+				if( isSummary ) {
+					this.numUniqueOtus++;
+					this.numTotalOtus += count;
+				}
+			}
+
+			if( isSampleFiles ) for( final OtuStream stream: streams )
+				this.uniqueOtuPerSample.put( OtuUtil.getSampleId( stream.file ), stream.numOtus );
+		} finally {
+			writer.close();
+			for( final OtuStream stream: streams )
+				stream.close();
+		}
+	}
+
 	/**
 	 * Find the maximum OTU count per sample.
 	 *
@@ -150,10 +233,82 @@ public class CompileOtuCounts extends OtuCountModule {
 		return OtuUtil.getOtuCountFile( getOutputDir(), null, SUMMARY );
 	}
 
+	/**
+	 * Reads 1 OTU count file line at a time, ordered by OTU (then by file index for equal OTUs) in the merge heap.
+	 * Binary OTU count files are read 1 cell at a time with {@link biolockj.util.BinaryTableUtil.CellReader}.
+	 */
+	private static class OtuStream implements Comparable<OtuStream> {
+		OtuStream( final File file, final int index ) throws IOException {
+			this.file = file;
+			this.index = index;
+			if( BinaryTableUtil.isBinaryTable( file ) ) {
+				this.reader = null;
+				this.cells = new BinaryTableUtil.CellReader( file );
+			} else {
+				this.reader = BioLockJUtil.getFileReader( file );
+				this.cells = null;
+			}
+		}
+
+		@Override
+		public int compareTo( final OtuStream stream ) {
+			final int val = this.otu.compareTo( stream.otu );
+			return val == 0 ? Integer.compare( this.index, stream.index ): val;
+		}
+
+		void close() throws IOException {
+			if( this.reader != null ) this.reader.close();
+			if( this.cells != null ) this.cells.close();
+		}
+
+		/**
+		 * Read the next line, return FALSE at the end of the file.
+		 */
+		boolean next() throws IOException, OtuFileException {
+			final String nextOtu;
+			final long nextCount;
+			if( this.cells != null ) {
+				if( !this.cells.next() ) return false;
+				nextOtu = this.cells.getColumn();
+				nextCount = this.cells.getCount();
+			} else {
+				final String line = this.reader.readLine();
+				if( line == null ) return false;
+				final OtuUtil.OtuCountLine otuLine = new OtuUtil.OtuCountLine( line );
+				nextOtu = otuLine.getOtu();
+				nextCount = otuLine.getCount();
+			}
+
+			if( this.otu != null && nextOtu.compareTo( this.otu ) <= 0 ) throw new OtuFileException(
+				"OTU count file is not sorted by OTU [ " + nextOtu + " ]: " + this.file.getAbsolutePath() );
+			this.otu = nextOtu;
+			this.count = nextCount;
+			this.numOtus++;
+			return true;
+		}
+
+		private final BinaryTableUtil.CellReader cells;
+		private long count = 0L;
+		private final File file;
+		private final int index;
+		private long numOtus = 0L;
+		private String otu = null;
+		private final BufferedReader reader;
+	}
+
+	private long numTotalOtus = 0L;
+	private long numUniqueOtus = 0L;
 	private final Map<String, Long> uniqueOtuPerSample = new HashMap<>();
 
+	/**
+	 * Maximum number of OTU count files merged at once: {@value #MAX_OPEN_FILES}
+	 */
+	protected static final int MAX_OPEN_FILES = 256;
+
 	/**
 	 * Output file prefix: {@value #SUMMARY}
 	 */
 	public static final String SUMMARY = "summary";
+
+	private static final String MERGE_PREFIX = "merge_";
 }
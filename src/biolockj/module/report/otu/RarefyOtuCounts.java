@@ -84,8 +84,8 @@ public class RarefyOtuCounts extends OtuCountModule {
 		for( final String sampleId: sampleOtuCounts.keySet() ) {
 			Log.info( getClass(), "Rarefy " + sampleId );
 			final TreeMap<String, Long> data = rarefy( sampleId, sampleOtuCounts.get( sampleId ), quantileNum );
-			if( data != null )
-				generateOtuput( OtuUtil.getOtuCountFile( getOutputDir(), sampleId, getMetaColName() ), data );
+			if( data != null ) OtuUtil.writeOtuCountFile( this,
+				OtuUtil.getOtuCountFile( getOutputDir(), sampleId, getMetaColName() ), sampleId, data );
 		}
 
 		if( Config.getBoolean( this, Constants.REPORT_NUM_HITS ) ) MetaUtil
@@ -214,23 +214,6 @@ public class RarefyOtuCounts extends OtuCountModule {
 		return "postRareQ" + new Double( Config.requirePositiveDouble( this, QUANTILE ) * 100 ).intValue();
 	}
 
-	/**
-	 * Print the output file wit rarefied counts.
-	 *
-	 * @param file Output file
-	 * @param otuCounts TreeMap(OTU, count)
-	 * @throws Exception if errors occur
-	 */
-	protected static void generateOtuput( final File file, final TreeMap<String, Long> otuCounts ) throws Exception {
-		final BufferedWriter writer = new BufferedWriter( new FileWriter( file ) );
-		try {
-			for( final String otu: otuCounts.keySet() )
-				writer.write( otu + TAB_DELIM + otuCounts.get( otu ) + RETURN );
-		} finally {
-			writer.close();
-		}
-	}
-
 	/**
 	 * Get OTU count data for the given sampleId.
 	 *
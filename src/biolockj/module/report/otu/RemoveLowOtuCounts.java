@@ -12,15 +12,19 @@ package biolockj.module.report.otu;
  * PARTICULAR PURPOSE. See the GNU General Public License for more details at http://www.gnu.org *
  */
 import java.io.*;
+import java.nio.file.Files;
 import java.util.*;
-import org.apache.commons.io.FileUtils;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
 import biolockj.*;
 import biolockj.module.implicit.parser.ParserModuleImpl;
 import biolockj.util.*;
 
 /**
  * This BioModule set low OTU counts below a configured threshold to zero.<br>
- * These low sample counts are assumed to be miscategorized or contaminents.
+ * These low sample counts are assumed to be miscategorized or contaminents.<br>
+ * Each sample is filtered independently, so samples are streamed and processed concurrently on up to
+ * {@link biolockj.Config}.{@value biolockj.Constants#SCRIPT_NUM_THREADS} threads.
  * 
  * @blj.web_desc Remove Low OTU Counts
  */
@@ -51,7 +55,8 @@ public class RemoveLowOtuCounts extends OtuCountModule {
 		String summary = "Remove OTU below count --> " + getMetaColName() + RETURN;
 		summary +=
 			BioLockJUtil.addTrailingSpaces( "# Unique OTUs removed:", pad ) + this.uniqueOtuRemoved.size() + RETURN;
-		summary += BioLockJUtil.addTrailingSpaces( "# Total OTUs removed:", pad ) + this.totalOtuRemoved + RETURN;
+		summary +=
+			BioLockJUtil.addTrailingSpaces( "# Total OTUs removed:", pad ) + this.totalOtuRemoved.get() + RETURN;
 		summary += SummaryUtil.getCountSummary( this.hitsPerSample, label, false );
 		this.sampleIds.removeAll( this.hitsPerSample.keySet() );
 		if( !this.sampleIds.isEmpty() ) summary += "Removed empty metadata records: " + this.sampleIds;
@@ -59,12 +64,27 @@ public class RemoveLowOtuCounts extends OtuCountModule {
 		return super.getSummary() + summary;
 	}
 
+	/**
+	 * Resolve the {@link biolockj.Config}.{@value biolockj.Constants#REPORT_MIN_COUNT} threshold once, then call
+	 * {@link #removeLowOtuCounts(File, int)} for each sample concurrently.
+	 */
 	@Override
 	public void runModule() throws Exception {
 		this.sampleIds.addAll( MetaUtil.getSampleIds() );
-		final TreeMap<String, TreeMap<String, Long>> sampleOtuCounts = OtuUtil.getSampleOtuCounts( getInputFiles() );
+		final int minCount = getMinCount();
+		final TreeMap<String, TreeSet<String>> lowCountOtus = new TreeMap<>();
+		final List<Callable<Void>> tasks = new ArrayList<>();
+		for( final File file: getInputFiles() )
+			tasks.add( () -> {
+				final TreeSet<String> otus = removeLowOtuCounts( file, minCount );
+				if( !otus.isEmpty() ) synchronized( lowCountOtus ) {
+					lowCountOtus.put( OtuUtil.getSampleId( file ), otus );
+				}
+				return null;
+			} );
 
-		final TreeMap<String, TreeSet<String>> lowCountOtus = removeLowOtuCounts( sampleOtuCounts );
+		Log.debug( getClass(), "Build low count files for total # files: " + tasks.size() );
+		runConcurrently( tasks );
 		logLowCountOtus( lowCountOtus );
 		if( Config.getBoolean( this, Constants.REPORT_NUM_HITS ) ) MetaUtil
 			.addColumn( getMetaColName() + "_" + Constants.OTU_COUNT, this.hitsPerSample, getOutputDir(), true );
@@ -99,73 +119,65 @@ public class RemoveLowOtuCounts extends OtuCountModule {
 	}
 
 	/**
-	 * Remove OTUs below the {@link biolockj.Config}.{@value biolockj.Constants#REPORT_MIN_COUNT }
+	 * Remove OTUs below the {@link biolockj.Config}.{@value biolockj.Constants#REPORT_MIN_COUNT} from 1 sample. TSV
+	 * sample OTU count files are streamed 1 line at a time to the output file. Binary input files, or samples written
+	 * as binary tables if {@link biolockj.util.BinaryTableUtil#useBinaryTables(BioModule)}, are filtered as a map of
+	 * the sample OTU counts. If no OTUs are removed, the output file is renamed to the input file name. If every OTU is
+	 * removed, no output file is saved.
 	 *
-	 * @param sampleOtuCounts TreeMap(SampleId, TreeMap(OTU, count)) OTU counts for every sample
-	 * @return TreeMap(SampleId, TreeMap(OTU, count)) Updated sampleOtuCounts after removal of low counts.
+	 * @param file Sample OTU count file
+	 * @param minCount Minimum OTU count
+	 * @return Ordered set of the low count OTUs removed from the sample
 	 * @throws Exception if errors occur
 	 */
-	protected TreeMap<String, TreeSet<String>>
-		removeLowOtuCounts( final TreeMap<String, TreeMap<String, Long>> sampleOtuCounts ) throws Exception {
-		final TreeMap<String, TreeSet<String>> lowCountOtus = new TreeMap<>();
-		Log.debug( getClass(), "Build low count files for total # files: " + sampleOtuCounts.size() );
-		for( final String sampleId: sampleOtuCounts.keySet() ) {
-			final Set<String> badOtus = new TreeSet<>();
-			Log.debug( getClass(), "Check for low OTU counts in: " + sampleId );
-			long numOtus = 0;
-			final TreeMap<String, Long> otuCounts = sampleOtuCounts.get( sampleId );
-
-			final Set<String> validOtus = new TreeSet<>( otuCounts.keySet() );
-			long numOtuRemoved = 0;
+	protected TreeSet<String> removeLowOtuCounts( final File file, final int minCount ) throws Exception {
+		final String sampleId = OtuUtil.getSampleId( file );
+		final TreeSet<String> badOtus = new TreeSet<>();
+		Log.debug( getClass(), "Check for low OTU counts in: " + sampleId );
+		long numOtus = 0;
+		long numOtuRemoved = 0;
+		final File otuFile = OtuUtil.getOtuCountFile( getOutputDir(), sampleId, getMetaColName() );
+		if( BinaryTableUtil.isBinaryTable( file ) || BinaryTableUtil.useBinaryTables( this ) ) {
+			final TreeMap<String, Long> otuCounts = OtuUtil.compileSampleOtuCounts( file );
+			final TreeMap<String, Long> keptCounts = new TreeMap<>();
 			for( final String otu: otuCounts.keySet() ) {
 				final long count = otuCounts.get( otu );
-				if( count < getMinCount() ) {
-					this.uniqueOtuRemoved.add( otu );
-					this.totalOtuRemoved += count;
-					badOtus.add( otu );
-					Log.debug( getClass(), sampleId + ": Remove Low OTU count: " + otu + "=" + count );
-					validOtus.remove( otu );
-					if( lowCountOtus.get( sampleId ) == null ) lowCountOtus.put( sampleId, new TreeSet<>() );
-					lowCountOtus.get( sampleId ).add( otu );
-					numOtuRemoved += count;
-				} else numOtus += count;
-				// Log.debug( getClass(),
-				// sampleId + ": update OTU count to " + numOtus + " after adding: " + otu + "=" + count );
+				if( keepOtu( sampleId, otu, count, minCount, badOtus ) ) {
+					keptCounts.put( otu, count );
+					numOtus += count;
+				} else numOtuRemoved += count;
 			}
-
-			if( numOtus > 0 ) {
-				Log.debug( getClass(), sampleId + ": Reduce total OTU count by: " + numOtuRemoved );
-				this.hitsPerSample.put( sampleId, String.valueOf( numOtus ) );
-
-				if( numOtuRemoved == 0 ) FileUtils.copyFileToDirectory( getFileMap().get( sampleId ), getOutputDir() );
-				else {
-					Log.warn( getClass(), sampleId + ": Removed " + badOtus.size() + " low OTU counts (below " +
-						getMinCount() + ") --> " + badOtus );
-
-					final File otuFile = OtuUtil.getOtuCountFile( getOutputDir(), sampleId, getMetaColName() );
-					final BufferedWriter writer = new BufferedWriter( new FileWriter( otuFile ) );
-					try {
-						for( final String otu: validOtus )
-							writer.write( otu + TAB_DELIM + otuCounts.get( otu ) + RETURN );
-					} finally {
-						writer.close();
-						getFileMap().put( sampleId, otuFile );
-					}
+			if( numOtus > 0 ) OtuUtil.writeOtuCountFile( this, otuFile, sampleId, keptCounts );
+		} else {
+			final BufferedReader reader = BioLockJUtil.getFileReader( file );
+			final BufferedWriter writer = new BufferedWriter( new FileWriter( otuFile ) );
+			try {
+				for( String line = reader.readLine(); line != null; line = reader.readLine() ) {
+					final OtuUtil.OtuCountLine otuLine = new OtuUtil.OtuCountLine( line );
+					final long count = otuLine.getCount();
+					if( keepOtu( sampleId, otuLine.getOtu(), count, minCount, badOtus ) ) {
+						writer.write( otuLine.getOtu() + TAB_DELIM + count + RETURN );
+						numOtus += count;
+					} else numOtuRemoved += count;
 				}
-
+			} finally {
+				reader.close();
+				writer.close();
 			}
 		}
 
-		return lowCountOtus;
-	}
-
-	private Map<String, File> getFileMap() throws Exception {
-		if( this.fileMap == null ) {
-			this.fileMap = new HashMap<>();
-			for( final File f: getInputFiles() )
-				this.fileMap.put( OtuUtil.getSampleId( f ), f );
-		}
-		return this.fileMap;
+		this.totalOtuRemoved.addAndGet( numOtuRemoved );
+		if( numOtus > 0 ) {
+			Log.debug( getClass(), sampleId + ": Reduce total OTU count by: " + numOtuRemoved );
+			this.hitsPerSample.put( sampleId, String.valueOf( numOtus ) );
+			if( badOtus.isEmpty() ) Files.move( otuFile.toPath(),
+				new File( getOutputDir().getAbsolutePath() + File.separator + file.getName() ).toPath() );
+			else Log.warn( getClass(), sampleId + ": Removed " + badOtus.size() + " low OTU counts (below " +
+				minCount + ") --> " + badOtus );
+		} else if( otuFile.isFile() && !otuFile.delete() )
+			Log.warn( getClass(), "Unable to delete: " + otuFile.getAbsolutePath() );
+
+		return badOtus;
 	}
 
 	private File getLowCountOtuLogFile() {
@@ -177,12 +189,25 @@ public class RemoveLowOtuCounts extends OtuCountModule {
 	}
 
 	private Integer getMinCount() throws Exception {
-		return Config.requirePositiveInteger( this, Constants.REPORT_MIN_COUNT );
+		if( this.minCount == null ) this.minCount = Config.requirePositiveInteger( this, Constants.REPORT_MIN_COUNT );
+		return this.minCount;
+	}
+
+	/**
+	 * Check the OTU count against the minimum, low count OTUs are added to badOtus and the module summary.
+	 */
+	private boolean keepOtu( final String sampleId, final String otu, final long count, final int minCount,
+		final TreeSet<String> badOtus ) {
+		if( count >= minCount ) return true;
+		this.uniqueOtuRemoved.add( otu );
+		badOtus.add( otu );
+		Log.debug( getClass(), sampleId + ": Remove Low OTU count: " + otu + "=" + count );
+		return false;
 	}
 
-	private Map<String, File> fileMap = null;
-	private Map<String, String> hitsPerSample = new HashMap<>();
+	private Map<String, String> hitsPerSample = new ConcurrentHashMap<>();
+	private Integer minCount = null;
 	private final Set<String> sampleIds = new HashSet<>();
-	private long totalOtuRemoved = 0;
-	private final Set<String> uniqueOtuRemoved = new HashSet<>();
+	private final AtomicLong totalOtuRemoved = new AtomicLong();
+	private final Set<String> uniqueOtuRemoved = ConcurrentHashMap.newKeySet();
 }
@@ -182,24 +182,22 @@ public class RemoveScarceOtuCounts extends OtuCountModule {
 		for( final String sampleId: updatedOtuCounts.keySet() ) {
 			final TreeMap<String, Long> otuCounts = updatedOtuCounts.get( sampleId );
 			if( otuCounts != null && !otuCounts.isEmpty() ) {
-				final BufferedWriter writer = new BufferedWriter( new FileWriter(
-					OtuUtil.getOtuCountFile( getOutputDir(), sampleId, getMetaColName().replace( "%", "" ) ) ) );
-				try {
-					Log.debug( getClass(), sampleId + " # unique OTUs: " + otuCounts.size() );
-					Long total = 0L;
-					for( final String otu: otuCounts.keySet() ) {
-						Log.debug( getClass(), sampleId + " checking OTU: " + otu );
-						final Long sampleCount = otuCounts.get( otu );
-						if( sampleCount != null ) {
-							total += otuCounts.get( otu );
-							writer.write( otu + TAB_DELIM + otuCounts.get( otu ) + RETURN );
-						}
+				Log.debug( getClass(), sampleId + " # unique OTUs: " + otuCounts.size() );
+				final TreeMap<String, Long> sampleCounts = new TreeMap<>();
+				Long total = 0L;
+				for( final String otu: otuCounts.keySet() ) {
+					Log.debug( getClass(), sampleId + " checking OTU: " + otu );
+					final Long sampleCount = otuCounts.get( otu );
+					if( sampleCount != null ) {
+						total += sampleCount;
+						sampleCounts.put( otu, sampleCount );
 					}
-
-					this.hitsPerSample.put( sampleId, total.toString() );
-				} finally {
-					writer.close();
 				}
+
+				OtuUtil.writeOtuCountFile( this,
+					OtuUtil.getOtuCountFile( getOutputDir(), sampleId, getMetaColName().replace( "%", "" ) ),
+					sampleId, sampleCounts );
+				this.hitsPerSample.put( sampleId, total.toString() );
 			}
 		}
 	}
@@ -13,6 +13,7 @@ package biolockj.module.report.taxa;
 
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.Callable;
 import java.util.stream.Collectors;
 import biolockj.*;
 import biolockj.module.implicit.RegisterNumReads;
@@ -92,9 +93,6 @@ public class AddMetadataToTaxaTables extends TaxaCountModule {
 			MetaUtil.getFieldNames().contains( numHitsCol ) ) addHitRatioToMetadata();
 
 		generateMergedTables();
-
-		Log.info( getClass(), this.mergeHeaderLine );
-		Log.info( getClass(), this.mergeSampleLine );
 		Log.info( getClass(), "runModule() complete!" );
 	}
 
@@ -130,63 +128,90 @@ public class AddMetadataToTaxaTables extends TaxaCountModule {
 	}
 
 	/**
-	 * Create the merged metadata tables.
+	 * Create the merged metadata tables. The metadata suffix appended to each row is built once per sample, then the
+	 * taxa level tables are merged concurrently.
 	 *
 	 * @throws Exception if unable to build tables
 	 */
 	protected void generateMergedTables() throws Exception {
+		buildMetaSuffixMap();
 		final String outDir = getOutputDir().getAbsolutePath() + File.separator;
-		for( final File file: getInputFiles() ) {
-			final String name = file.getName().replaceAll( TSV_EXT, "" ) + META_MERGED;
-			Log.info( getClass(), "Merge OTU table + Metadata file: " + outDir + name );
-			BufferedReader reader = null;
-			BufferedWriter writer = null;
-			try {
-				reader = BioLockJUtil.getFileReader( file );
-				writer = new BufferedWriter( new FileWriter( outDir + name ) );
-				for( String line = reader.readLine(); line != null; line = reader.readLine() ) {
-					final String mergedLine = getMergedLine( line );
-					if( mergedLine != null ) writer.write( mergedLine + RETURN );
-				}
-			} finally {
-				if( writer != null ) writer.close();
-				if( reader != null ) reader.close();
-			}
-			Log.info( getClass(), "Done merging table: " + file.getAbsolutePath() );
-		}
-
+		final List<Callable<Void>> tasks = new ArrayList<>();
+		for( final File file: getInputFiles() )
+			tasks.add( () -> {
+				mergeTable( file, new File( outDir + file.getName().replaceAll( TSV_EXT, "" ) + META_MERGED ) );
+				return null;
+			} );
+		runConcurrently( tasks );
 	}
 
 	/**
-	 * Return OTU table line with metadata row appended (both have PK = sample ID)
+	 * Return OTU table line with metadata row appended (both have PK = sample ID). The metadata values are read from
+	 * the map built by {@link #generateMergedTables()}.
 	 *
 	 * @param line OTU table line
 	 * @return OTU table line + metadata line
 	 * @throws Exception if unable to create merged line
 	 */
 	protected String getMergedLine( final String line ) throws Exception {
-		final StringBuffer sb = new StringBuffer();
-		final String sampleId = new StringTokenizer( line, TAB_DELIM ).nextToken();
-		if( sampleId.equals( MetaUtil.getID() ) || MetaUtil.getSampleIds().contains( sampleId ) ) {
-			sb.append( BioLockJUtil.removeQuotes( line ) );
-			for( final String field: MetaUtil.getRecord( sampleId ) )
-				sb.append( TAB_DELIM ).append( BioLockJUtil.removeQuotes( field ) );
-		} else {
+		final int tab = line.indexOf( TAB_DELIM );
+		final String sampleId = tab < 0 ? line: line.substring( 0, tab );
+		final String metaSuffix = this.metaSuffixMap.get( sampleId );
+		if( metaSuffix == null ) {
 			Log.warn( getClass(), "Missing record for: " + sampleId + " in metadata: " + MetaUtil.getPath() );
 			return null;
 		}
 
-		if( this.mergeHeaderLine == null )
-			this.mergeHeaderLine = "Merged OTU table header [" + sampleId + "] = " + sb.toString();
-		else if( this.mergeSampleLine == null )
-			this.mergeSampleLine = "Example Merged OTU table row [" + sampleId + "] = " + sb.toString();
+		return BioLockJUtil.removeQuotes( line ) + metaSuffix;
+	}
 
-		return sb.toString();
+	/**
+	 * Cache the quote-stripped, tab-delimited metadata values (with leading tab) for the header and each sample ID. The
+	 * map is built before the tables are merged concurrently and is read-only after that.
+	 *
+	 * @throws Exception if unable to read the metadata
+	 */
+	private void buildMetaSuffixMap() throws Exception {
+		final Map<String, String> suffixMap = new HashMap<>();
+		final List<String> ids = new ArrayList<>( MetaUtil.getSampleIds() );
+		ids.add( MetaUtil.getID() );
+		for( final String id: ids ) {
+			final StringBuilder sb = new StringBuilder();
+			for( final String field: MetaUtil.getRecord( id ) )
+				sb.append( TAB_DELIM ).append( BioLockJUtil.removeQuotes( field ) );
+			suffixMap.put( id, sb.toString() );
+		}
+		this.metaSuffixMap = Collections.unmodifiableMap( suffixMap );
+	}
+
+	private void mergeTable( final File file, final File outFile ) throws Exception {
+		Log.info( getClass(), "Merge OTU table + Metadata file: " + outFile.getAbsolutePath() );
+		BufferedReader reader = null;
+		BufferedWriter writer = null;
+		try {
+			reader = BioLockJUtil.getFileReader( file );
+			writer = new BufferedWriter( new FileWriter( outFile ) );
+			int lineNum = 0;
+			for( String line = reader.readLine(); line != null; line = reader.readLine() ) {
+				final String mergedLine = getMergedLine( line );
+				if( mergedLine != null ) {
+					writer.write( mergedLine + RETURN );
+					if( lineNum == 0 ) Log.info( getClass(),
+						"Merged OTU table header [" + file.getName() + "] = " + mergedLine );
+					else if( lineNum == 1 ) Log.info( getClass(),
+						"Example Merged OTU table row [" + file.getName() + "] = " + mergedLine );
+					lineNum++;
+				}
+			}
+		} finally {
+			if( writer != null ) writer.close();
+			if( reader != null ) reader.close();
+		}
+		Log.info( getClass(), "Done merging table: " + file.getAbsolutePath() );
 	}
 
 	private final Map<String, String> hitRatioPerSample = new HashMap<>();
-	private String mergeHeaderLine = null;
-	private String mergeSampleLine = null;
+	private Map<String, String> metaSuffixMap = null;
 
 	/**
 	 * Metadata column name for column that stores the calculation for:
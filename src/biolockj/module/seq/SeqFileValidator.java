@@ -18,16 +18,20 @@ import biolockj.Log;
 import biolockj.exception.ConfigViolationException;
 import biolockj.exception.SequnceFormatException;
 import biolockj.module.JavaModuleImpl;
+import biolockj.module.PartitionedModule;
 import biolockj.module.SeqModule;
 import biolockj.module.implicit.RegisterNumReads;
 import biolockj.util.*;
 
 /**
- * This BioModule validates fasta/fastq file formats are valid and enforces min/max read lengths.
+ * This BioModule validates fasta/fastq file formats are valid and enforces min/max read lengths.<br>
+ * Input files are validated concurrently, split into
+ * {@link biolockj.Config}.{@value biolockj.Constants#SCRIPT_NUM_WORKERS} partitions.
  * 
  * @blj.web_desc Sequence File Validator
  */
-public class SeqFileValidator extends JavaModuleImpl implements SeqModule {
+public class SeqFileValidator extends JavaModuleImpl
+	implements SeqModule, PartitionedModule<SeqFileValidator.PartitionResult> {
 
 	/**
 	 * Set {@value #NUM_VALID_READS} as the number of reads field.
@@ -38,6 +42,25 @@ public class SeqFileValidator extends JavaModuleImpl implements SeqModule {
 		RegisterNumReads.setNumReadFieldName( getMetaColName() );
 	}
 
+	/**
+	 * Merge the validation results of each partition. Paired reads are validated in the same partition, so sample
+	 * stats never need to be merged across partitions.
+	 */
+	@Override
+	public void combinePartitions( final List<PartitionResult> results ) throws Exception {
+		for( final PartitionResult result: results ) {
+			this.badFiles.addAll( result.badFiles );
+			this.readsPerSample.putAll( result.readsPerSample );
+			this.rvReadsPerSample.putAll( result.rvReadsPerSample );
+			this.sampleStats.putAll( result.sampleStats );
+			for( final Long[] stats: result.sampleStats.values() )
+				MetricsUtil.addRecords( this, stats[ INDEX_NUM_VALID_READS ] + stats[ INDEX_NUM_READS_INVALID_FORMAT ] +
+					stats[ INDEX_NUM_READS_TOO_SHORT ] );
+			for( final Long seqLen: result.maxSeqFound.keySet() )
+				setMaxSeq( this.maxSeqFound, result.maxSeqFound.get( seqLen ), seqLen );
+		}
+	}
+
 	@Override
 	public List<File> getSeqFiles( final Collection<File> files ) throws SequnceFormatException {
 		return SeqUtil.getSeqFiles( files );
@@ -96,8 +119,8 @@ public class SeqFileValidator extends JavaModuleImpl implements SeqModule {
 	}
 
 	/**
-	 * Cache sampleIds to compare to validated sampleIds post-processing. Call {@link #validateFile(File, Integer)} for
-	 * each input file.<br>
+	 * Cache sampleIds to compare to validated sampleIds post-processing. Call {@link #runPartitions()} to validate the
+	 * input files.<br>
 	 * Call {@link #removeBadFiles()} to remove empty files (cases where all reads fail validation).<br>
 	 * Call {@link #verifyPairedSeqs()} if module input files are paired read files.<br>
 	 * Call {@link biolockj.util.MetaUtil#addColumn(String, Map, File, boolean)}
@@ -105,9 +128,7 @@ public class SeqFileValidator extends JavaModuleImpl implements SeqModule {
 	@Override
 	public void runModule() throws Exception {
 		this.sampleIds.addAll( MetaUtil.getSampleIds() );
-		int count = 0;
-		for( final File file: getInputFiles() )
-			validateFile( file, count++ );
+		runPartitions();
 
 		removeBadFiles();
 
@@ -116,6 +137,19 @@ public class SeqFileValidator extends JavaModuleImpl implements SeqModule {
 		MetaUtil.addColumn( getMetaColName(), this.readsPerSample, getOutputDir(), true );
 	}
 
+	/**
+	 * Call {@link #validateFile(File, Integer, PartitionResult)} for each input file in the partition, numbered by its
+	 * position in the partition.
+	 */
+	@Override
+	public PartitionResult runPartition( final List<File> files ) throws Exception {
+		final PartitionResult result = new PartitionResult();
+		int count = 0;
+		for( final File file: files )
+			validateFile( file, count++, result );
+		return result;
+	}
+
 	/**
 	 * Remove sequence files in which all reads failed validation checks, leaving only an empty file.
 	 */
@@ -135,10 +169,12 @@ public class SeqFileValidator extends JavaModuleImpl implements SeqModule {
 	 * Invalid reads are saved to a file in the module temp directory for analysis/review.
 	 *
 	 * @param file Sequence file
-	 * @param fileCount Integer count
+	 * @param fileCount Position of the file in its partition
+	 * @param result Partition result that holds the validation stats
 	 * @throws Exception if I/O errors occur while processing sequence files
 	 */
-	protected void validateFile( final File file, final Integer fileCount ) throws Exception {
+	protected void validateFile( final File file, final Integer fileCount, final PartitionResult result )
+		throws Exception {
 		Log.info( getClass(), "Validate File [" + fileCount + "]: " + file.getAbsolutePath() );
 		final Long[] stats = initStats();
 		long combinedReadLen = 0;
@@ -155,7 +191,7 @@ public class SeqFileValidator extends JavaModuleImpl implements SeqModule {
 			try {
 				line = SeqUtil.scanFirstLine( reader, file );
 			} catch( final Exception ex ) {
-				this.badFiles.add( outputFile );
+				result.badFiles.add( outputFile );
 				Log.debug( getClass(), "Error scanning input file: " + ex.getMessage() );
 				return;
 			}
@@ -190,7 +226,8 @@ public class SeqFileValidator extends JavaModuleImpl implements SeqModule {
 							" number of bases and quality scores: " + seqLines.get( 0 ) );
 					} else {
 						stats[ INDEX_NUM_VALID_READS ]++;
-						setMaxSeq( SeqUtil.getSampleId( file.getName() ), seqLen );
+						setMaxSeq( result.maxSeqFound, Collections.singleton( SeqUtil.getSampleId( file.getName() ) ),
+							seqLen );
 						final Integer seqMax = Config.getPositiveInteger( this, INPUT_SEQ_MAX );
 						if( seqMax != null && seqMax > 0 && seqLen > seqMax ) {
 							stats[ INDEX_NUM_TRIMMED_READS ]++;
@@ -220,11 +257,11 @@ public class SeqFileValidator extends JavaModuleImpl implements SeqModule {
 		}
 		Log.info( BioLockJUtil.class, "Output file: " + outputFile.getAbsolutePath() );
 
-		if( stats[ INDEX_NUM_VALID_READS ] == 0 ) this.badFiles.add( file );
+		if( stats[ INDEX_NUM_VALID_READS ] == 0 ) result.badFiles.add( file );
 
-		if( !this.badFiles.contains( file ) ) {
+		if( !result.badFiles.contains( file ) ) {
 			saveRemovedSeqsToFile( badLines, file );
-			populateSampleStats( stats, file, combinedReadLen );
+			populateSampleStats( stats, file, combinedReadLen, result );
 		}
 	}
 
@@ -344,11 +381,11 @@ public class SeqFileValidator extends JavaModuleImpl implements SeqModule {
 		return seqMin;
 	}
 
-	private void populateSampleStats( final Long[] stats, final File file, final long combinedReadLen )
-		throws Exception {
+	private void populateSampleStats( final Long[] stats, final File file, final long combinedReadLen,
+		final PartitionResult result ) throws Exception {
 
 		final String id = SeqUtil.getSampleId( file.getName() );
-		setNumReads( file, stats );
+		setNumReads( file, stats, result );
 		final Long numValidReads = stats[ INDEX_NUM_VALID_READS ];
 		if( numValidReads == null || numValidReads == 0L ) return;
 		final long len = numValidReads > 0 ? Double.valueOf( combinedReadLen / numValidReads ).longValue(): 0;
@@ -360,7 +397,7 @@ public class SeqFileValidator extends JavaModuleImpl implements SeqModule {
 			stats[ INDEX_AVG_RV_READ_LEN ] = len;
 		}
 
-		final Long[] otherStats = this.sampleStats.get( id );
+		final Long[] otherStats = result.sampleStats.get( id );
 		if( otherStats != null && otherStats[ INDEX_NUM_VALID_READS ] != null &&
 			otherStats[ INDEX_NUM_VALID_READS ] != 0L ) {
 			Log.debug( getClass(), "Merging paired read stats for: " + file.getName() );
@@ -383,7 +420,7 @@ public class SeqFileValidator extends JavaModuleImpl implements SeqModule {
 				Log.debug( getClass(), "Updated FW seq length = " + stats[ INDEX_AVG_FW_READ_LEN ] );
 			}
 		}
-		this.sampleStats.put( SeqUtil.getSampleId( file.getName() ), stats );
+		result.sampleStats.put( SeqUtil.getSampleId( file.getName() ), stats );
 	}
 
 	private void saveRemovedSeqsToFile( final Collection<String> badLines, final File file ) throws Exception {
@@ -400,24 +437,10 @@ public class SeqFileValidator extends JavaModuleImpl implements SeqModule {
 		}
 	}
 
-	private void setMaxSeq( final String sampleId, final long seqLen ) {
-		final TreeSet<String> ids = new TreeSet<>();
-		ids.add( sampleId );
-		if( this.maxSeqFound.isEmpty() ) this.maxSeqFound.put( seqLen, ids );
-		else {
-			final long currentMaxLen = this.maxSeqFound.keySet().iterator().next();
-			final long newMaxLen = Math.max( seqLen, currentMaxLen );
-			if( newMaxLen == currentMaxLen ) {
-				ids.addAll( this.maxSeqFound.values().iterator().next() );
-				this.maxSeqFound.put( newMaxLen, ids );
-			} else if( newMaxLen > currentMaxLen ) this.maxSeqFound.put( newMaxLen, ids );
-		}
-	}
-
-	private void setNumReads( final File file, final Long[] stats ) throws Exception {
-		if( SeqUtil.isForwardRead( file.getName() ) ) this.readsPerSample.put( SeqUtil.getSampleId( file.getName() ),
+	private void setNumReads( final File file, final Long[] stats, final PartitionResult result ) throws Exception {
+		if( SeqUtil.isForwardRead( file.getName() ) ) result.readsPerSample.put( SeqUtil.getSampleId( file.getName() ),
 			String.valueOf( stats[ INDEX_NUM_VALID_READS ] ) );
-		else this.rvReadsPerSample.put( SeqUtil.getSampleId( file.getName() ),
+		else result.rvReadsPerSample.put( SeqUtil.getSampleId( file.getName() ),
 			String.valueOf( stats[ INDEX_NUM_VALID_READS ] ) );
 
 	}
@@ -428,6 +451,23 @@ public class SeqFileValidator extends JavaModuleImpl implements SeqModule {
 		return prefix + name;
 	}
 
+	private static void setMaxSeq( final Map<Long, TreeSet<String>> maxSeqFound, final Collection<String> sampleIds,
+		final long seqLen ) {
+		final TreeSet<String> ids = new TreeSet<>( sampleIds );
+		if( maxSeqFound.isEmpty() ) maxSeqFound.put( seqLen, ids );
+		else {
+			final long currentMaxLen = maxSeqFound.keySet().iterator().next();
+			final long newMaxLen = Math.max( seqLen, currentMaxLen );
+			if( newMaxLen == currentMaxLen ) {
+				ids.addAll( maxSeqFound.values().iterator().next() );
+				maxSeqFound.put( newMaxLen, ids );
+			} else if( newMaxLen > currentMaxLen ) {
+				maxSeqFound.clear();
+				maxSeqFound.put( newMaxLen, ids );
+			}
+		}
+	}
+
 	private static Long[] initStats() {
 		final Long[] stats = new Long[ 8 ];
 		for( int i = 0; i < stats.length; i++ )
@@ -435,6 +475,17 @@ public class SeqFileValidator extends JavaModuleImpl implements SeqModule {
 		return stats;
 	}
 
+	/**
+	 * Validation stats for the input files in 1 partition.
+	 */
+	protected static class PartitionResult {
+		private final Set<File> badFiles = new HashSet<>();
+		private final Map<Long, TreeSet<String>> maxSeqFound = new HashMap<>();
+		private final Map<String, String> readsPerSample = new HashMap<>();
+		private final Map<String, String> rvReadsPerSample = new HashMap<>();
+		private final Map<String, Long[]> sampleStats = new HashMap<>();
+	}
+
 	private Set<File> badFiles = new HashSet<>();
 	private final Map<Long, TreeSet<String>> maxSeqFound = new HashMap<>();
 	private String otuColName = null;
@@ -11,10 +11,12 @@
  */
 package biolockj.node.r16s;
 
-import java.util.StringTokenizer;
+import java.util.ArrayList;
+import java.util.List;
 import biolockj.Config;
 import biolockj.Constants;
 import biolockj.node.OtuNodeImpl;
+import biolockj.util.TaxaUtil;
 
 /**
  * This class represents one line of {@link biolockj.module.classifier.r16s.RdpClassifier} output. RDP outputs the
@@ -37,6 +39,8 @@ public class RdpNode extends OtuNodeImpl {
 		buildRdpNode( id, line );
 	}
 
+	private RdpNode() {}
+
 	/**
 	 * Return lowest RDP confidence percentage (0-100) above the configured threshold value. If no valid levels are
 	 * found, return 0.
@@ -59,47 +63,77 @@ public class RdpNode extends OtuNodeImpl {
 	 */
 	protected void buildRdpNode( final String id, final String line ) throws Exception {
 		if( line == null || id == null || line.isEmpty() || id.isEmpty() ) return;
+		final List<String> taxaLevels = new ArrayList<>();
+		final int threshold = Config.requirePositiveInteger( null, Constants.RDP_THRESHOLD_SCORE );
+		init( id, line, scanLine( line, threshold, taxaLevels ), taxaLevels );
+	}
 
-		final StringTokenizer st = new StringTokenizer( line, Constants.TAB_DELIM );
+	private void init( final String id, final String line, final int nodeScore, final List<String> taxaLevels )
+		throws Exception {
 		setSampleId( id );
 		setLine( line );
 		setCount( 1 );
+		this.score = nodeScore;
+		for( int i = 0; i < taxaLevels.size(); i += 2 )
+			addTaxa( taxaLevels.get( i ), taxaLevels.get( i + 1 ) );
+	}
 
-		// skip the header, every line has at least 1 token, so next line will never throw Exception
-		st.nextToken();
-
-		while( st.hasMoreTokens() ) {
-			String taxa = getTaxaName( st.nextToken() );
-			while( st.hasMoreTokens() && ( taxa.equals( "-" ) || taxa.equals( "" ) ) )
-				taxa = getTaxaName( st.nextToken() );
-
-			final String level = st.hasMoreTokens() ? st.nextToken().trim(): null;
-			final Integer nextScore = st.hasMoreTokens() ? calculateScore( st.nextToken().trim() ): null;
-
-			if( level == null || nextScore == null ||
-				nextScore < Config.requirePositiveInteger( null, Constants.RDP_THRESHOLD_SCORE ) ) return;
-
-			this.score = nextScore;
-			addTaxa( taxa, level );
-
-		}
+	/**
+	 * Build the RdpNode for one line of RDP output, if the read is classified at a configured taxonomy level with a
+	 * score at or above the threshold. Reads below the threshold are rejected before the node is built. The line is
+	 * parsed by offset, scanning stops at the 1st level below the threshold.
+	 *
+	 * @param id Sample ID
+	 * @param line RDP Classifier output line
+	 * @param threshold {@link biolockj.Config}.{@value biolockj.Constants#RDP_THRESHOLD_SCORE}
+	 * @return RdpNode, or null if the read is not classified above the threshold
+	 * @throws Exception if the line contains an invalid score
+	 */
+	public static RdpNode getRdpNode( final String id, final String line, final int threshold ) throws Exception {
+		if( line == null || id == null || line.isEmpty() || id.isEmpty() ) return null;
+		final List<String> taxaLevels = new ArrayList<>();
+		final int nodeScore = scanLine( line, threshold, taxaLevels );
+		boolean found = false;
+		for( int i = 1; i < taxaLevels.size() && !found; i += 2 )
+			found = !taxaLevels.get( i - 1 ).isEmpty() && TaxaUtil.getTaxaLevels().contains( taxaLevels.get( i ) );
+		if( !found ) return null;
+
+		final RdpNode node = new RdpNode();
+		node.init( id, line, nodeScore, taxaLevels );
+		return node;
 	}
 
 	/**
 	 * Returns default score = 0 if no valid levels are found, otherwise return a score between 1 - 100.
 	 *
 	 * @return the lowest score above the RDP (between 0 and 100)
-	 * @Exception if scoreString has an invalid format
+	 * @Exception if the score has an invalid format
 	 */
-	private static Integer calculateScore( final String scoreString ) throws Exception {
-		String confScore = scoreString;
-		if( confScore.equals( "1" ) || confScore.equals( "1.0" ) ) return 100;
-		else if( confScore.equals( "0" ) || confScore.equals( "0.0" ) ) return 0;
-		else if( !confScore.startsWith( "0." ) ) throw new Exception( rangeError( confScore ) );
-		confScore = scoreString.replace( "0.", "" );
-		if( confScore.length() == 1 ) confScore += "0";
-		final Integer thisScore = Integer.parseInt( confScore );
-		if( thisScore < 0 || thisScore > 100 ) throw new Exception( rangeError( confScore ) );
+	private static int calculateScore( final String line, final int tokenStart, final int tokenEnd )
+		throws Exception {
+		int start = tokenStart;
+		int end = tokenEnd;
+		while( start < end && Character.isWhitespace( line.charAt( start ) ) )
+			start++;
+		while( end > start && Character.isWhitespace( line.charAt( end - 1 ) ) )
+			end--;
+
+		final char first = start < end ? line.charAt( start ): ' ';
+		final boolean isInt = end - start == 1 || end - start == 3 && line.charAt( start + 1 ) == '.' &&
+			line.charAt( start + 2 ) == '0';
+		if( isInt && first == '1' ) return 100;
+		if( isInt && first == '0' ) return 0;
+		if( end - start < 3 || first != '0' || line.charAt( start + 1 ) != '.' )
+			throw new Exception( rangeError( line.substring( start, end ) ) );
+
+		int thisScore = 0;
+		for( int i = start + 2; i < end; i++ ) {
+			final char c = line.charAt( i );
+			if( c < '0' || c > '9' ) throw new Exception( rangeError( line.substring( start, end ) ) );
+			thisScore = thisScore * 10 + c - '0';
+		}
+		if( end - start == 3 ) thisScore *= 10;
+		if( thisScore > 100 ) throw new Exception( rangeError( line.substring( start, end ) ) );
 		return thisScore;
 	}
 
@@ -111,7 +145,58 @@ public class RdpNode extends OtuNodeImpl {
 		return "Invalid RDP confidence score | Required range [ 0.0 <= score <= 1.0 ] ---> Actual score = " + score;
 	}
 
+	/**
+	 * Scan the tab-delimited line by offset (empty tokens are skipped), adding the taxa name and level of each level
+	 * with a score at or above the threshold to taxaLevels. Scanning stops at the 1st level below the threshold.
+	 *
+	 * @return Score of the last level added, or 0 if no levels were added
+	 */
+	private static int scanLine( final String line, final int threshold, final List<String> taxaLevels )
+		throws Exception {
+		int nodeScore = 0;
+		// skip the header
+		int start = nextToken( line, tokenEnd( line, nextToken( line, 0 ) ) );
+		while( start > -1 ) {
+			int end = tokenEnd( line, start );
+			String taxa = getTaxaName( line.substring( start, end ) );
+			start = nextToken( line, end );
+			while( start > -1 && ( taxa.equals( "-" ) || taxa.equals( "" ) ) ) {
+				end = tokenEnd( line, start );
+				taxa = getTaxaName( line.substring( start, end ) );
+				start = nextToken( line, end );
+			}
+
+			if( start < 0 ) return nodeScore;
+			final int levelStart = start;
+			final int levelEnd = tokenEnd( line, levelStart );
+			start = nextToken( line, levelEnd );
+			if( start < 0 ) return nodeScore;
+			end = tokenEnd( line, start );
+			final int nextScore = calculateScore( line, start, end );
+			if( nextScore < threshold ) return nodeScore;
+
+			nodeScore = nextScore;
+			taxaLevels.add( taxa );
+			taxaLevels.add( line.substring( levelStart, levelEnd ).trim() );
+			start = nextToken( line, end );
+		}
+		return nodeScore;
+	}
+
+	private static int nextToken( final String line, final int index ) {
+		for( int i = index; i < line.length(); i++ )
+			if( line.charAt( i ) != TAB ) return i;
+		return -1;
+	}
+
+	private static int tokenEnd( final String line, final int start ) {
+		if( start < 0 ) return line.length();
+		final int end = line.indexOf( TAB, start );
+		return end < 0 ? line.length(): end;
+	}
+
 	private int score = 0;
+	private static final char TAB = '\t';
 
 	// Override default taxonomy level delimiters set in OtuNodeImpl
 	static {
@@ -14,6 +14,7 @@ package biolockj.util;
 import java.io.*;
 import java.util.*;
 import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import biolockj.*;
 import biolockj.exception.*;
 import biolockj.module.*;
@@ -35,17 +36,20 @@ public class BashScriptBuilder {
 	 * Docker *non-R_Modules* include: 1 MAIN script, 1+ worker-scripts - MAIN.sh runs workers<br>
 	 * AWS Docker R_Modules include: 0 MAIN scripts, 0 worker-scripts - MAIN.R run by Nextflow<br>
 	 * AWS Docker *non-R_Modules* include: 0 MAIN scripts, 1+ worker-scripts MAIN.sh runs workers<br>
+	 * Synchronized since the worker scripts are collected in a shared list and modules may build their scripts
+	 * concurrently.
 	 * 
 	 * @param module ScriptModule
 	 * @param data Bash script lines
 	 * @throws PipelineScriptException if any errors occur writing module script
 	 */
-	public static void buildScripts( final ScriptModule module, final List<List<String>> data )
+	public static synchronized void buildScripts( final ScriptModule module, final List<List<String>> data )
 		throws PipelineScriptException {
 		if( data == null || data.size() < 1 )
 			throw new PipelineScriptException( module, "All worker scripts are empty" );
 		try {
 			workerScripts.clear();
+			pathVars.clear();
 			buildWorkerScripts( module, data );
 			if( workerScripts.isEmpty() )
 				throw new PipelineScriptException( module, false, "No worker script lines created" );
@@ -56,6 +60,8 @@ public class BashScriptBuilder {
 		} catch( final Exception ex ) {
 			Log.error( BashScriptBuilder.class, "Localized error details: ", ex );
 			throw new PipelineScriptException( module, ex.getMessage() );
+		} finally {
+			pathVars.clear();
 		}
 	}
 
@@ -86,8 +92,11 @@ public class BashScriptBuilder {
 	protected static void buildMainScript( final ScriptModule module ) throws ConfigException, IOException {
 
 		final List<String> mainScriptLines = initMainScript( module );
+		final boolean runConcurrent = runLocalConcurrent( module );
 		for( final File worker: workerScripts )
-			mainScriptLines.add( getMainScriptExecuteWorkerLine( worker.getAbsolutePath() ) );
+			mainScriptLines.add( getMainScriptExecuteWorkerLine( worker.getAbsolutePath(), runConcurrent ) );
+
+		if( runConcurrent ) mainScriptLines.add( RETURN + "wait" );
 
 		mainScriptLines
 			.add( RETURN + "touch \"" + getMainScriptPath( module ) + "_" + Constants.SCRIPT_SUCCESS + "\"" );
@@ -129,7 +138,7 @@ public class BashScriptBuilder {
 	protected static File createScript( final ScriptModule module, final String scriptPath, final List<String> lines ) throws IOException {
 		Log.info( BashScriptBuilder.class, "Write new script: " + scriptPath );
 		final File workerScript = new File( scriptPath );
-		final BufferedWriter writer = new BufferedWriter( new FileWriter( workerScript ) );
+		final BufferedWriter writer = new BufferedWriter( new FileWriter( workerScript ), BUFFER_SIZE );
 		try {
 			writeScript( module, writer, lines );
 		} finally {
@@ -138,16 +147,62 @@ public class BashScriptBuilder {
 		return workerScript;
 	}
 
+	/**
+	 * Create bash MAIN script functions used to run worker scripts concurrently on a local host:<br>
+	 * <ul>
+	 * <li>runLocalJob waits for one of the
+	 * {@link biolockj.Config}.{@value biolockj.Constants#SCRIPT_NUM_LOCAL_SLOTS} slots to open, then starts the worker
+	 * in the background
+	 * <li>runLocalWorker runs the worker, limited to
+	 * {@link biolockj.Config}.{@value biolockj.Constants#SCRIPT_TIMEOUT} minutes (if set), and writes the worker
+	 * {@value biolockj.Constants#SCRIPT_FAILURES} indicator file if the worker exits with an error (or times out)
+	 * without writing one itself.
+	 * </ul>
+	 * 
+	 * @param module ScriptModule
+	 * @return Bash script lines
+	 * @throws ConfigException if {@link biolockj.Config} properties are invalid
+	 */
+	protected static List<String> buildRunLocalJobFunctions( final ScriptModule module ) throws ConfigException {
+		final Integer timeout = module.getTimeout();
+		final List<String> lines = new ArrayList<>();
+		lines.add( "# Run up to " + getNumLocalSlots( module ) + " worker scripts at a time" );
+		lines.add( "function " + FUNCTION_RUN_LOCAL_JOB + "() {" );
+		lines.add( "while [ $(jobs -rp | wc -l) -ge " + getNumLocalSlots( module ) + " ]; do" );
+		lines.add( "sleep 1" );
+		lines.add( "done" );
+		lines.add( FUNCTION_RUN_LOCAL_WORKER + " $1 &" );
+		lines.add( "}" + RETURN );
+		lines.add( "function " + FUNCTION_RUN_LOCAL_WORKER + "() {" );
+		if( timeout != null && timeout > 0 ) {
+			lines.add( "if [ -x \"$(command -v timeout)\" ]; then" );
+			lines.add( "timeout " + timeout + "m $1" );
+			lines.add( "else" );
+			lines.add( "$1" );
+			lines.add( "fi" );
+		} else lines.add( "$1" );
+		lines.add( "statusCode=$?" );
+		lines.add( "if [ ${statusCode} -ne 0 ] && [ ! -f \"$1_" + Constants.SCRIPT_FAILURES + "\" ]; then" );
+		lines.add( "echo \"Worker script failed or timed out with status code [ ${statusCode} ]:  $1\" >> \"$1_" +
+			Constants.SCRIPT_FAILURES + "\"" );
+		lines.add( "fi" );
+		lines.add( "}" + RETURN );
+		return lines;
+	}
+
 	/**
 	 * Call executeLine function in the worker script
 	 * 
 	 * @param workerScriptPath Worker script path
+	 * @param runConcurrent if TRUE run the worker in the background with runLocalJob
 	 * @return bash script line
 	 */
-	protected static String getMainScriptExecuteWorkerLine( final String workerScriptPath ) {
+	protected static String getMainScriptExecuteWorkerLine( final String workerScriptPath,
+		final boolean runConcurrent ) {
 		final StringBuffer line = new StringBuffer();
 		if( DockerUtil.inDockerEnv() ) line.append( DockerUtil.SPAWN_DOCKER_CONTAINER + " " );
 		else if( Config.isOnCluster() ) line.append( FUNCTION_RUN_JOB + " " );
+		else if( runConcurrent ) line.append( FUNCTION_RUN_LOCAL_JOB + " " );
 		line.append( workerScriptPath );
 		return FUNCTION_EXECUTE_LINE + " \"" + line.toString() + "\" ${LINENO}";
 	}
@@ -208,12 +263,16 @@ public class BashScriptBuilder {
 			lines.add( "function " + FUNCTION_RUN_JOB + "() {" );
 			lines.add( Config.requireString( module, CLUSTER_BATCH_COMMAND ) + " $1" );
 			lines.add( "}" + RETURN );
-		}
+		} else if( runLocalConcurrent( module ) ) lines.addAll( buildRunLocalJobFunctions( module ) );
 		lines.addAll( buildScriptFailureFunction( mainScriptPath ) );
 		lines.addAll( buildExecuteFunction() );
 		return lines;
 	}
 	
+	private static void addPathVar( final String var, final File dir ) {
+		pathVars.put( var, Pattern.compile( dir.getAbsolutePath(), Pattern.LITERAL ) );
+	}
+
 	private static boolean hasTempDir( final BioModule module ) {
 		return ModuleUtil.subDirExists( module, BioModule.TEMP_DIR );
 	}
@@ -266,37 +325,24 @@ public class BashScriptBuilder {
 	protected static void writeScript( final ScriptModule module, final BufferedWriter writer, final List<String> scriptLines )
 		throws IOException {
 		int indentCount = 0;
-		final List<String> lines = new ArrayList<>();
+		final StringBuilder sb = new StringBuilder();
 		try {
-			for( final String line: scriptLines ) {
-				String data = line;
-				if( hasTempDir( module ) && !data.trim().startsWith( TEMP_DIR ) && data.contains( module.getTempDir().getAbsolutePath() ) ) 
-					data = data.replaceAll( module.getTempDir().getAbsolutePath(), Matcher.quoteReplacement( TEMP_DIR_VAR ) );
-				if( !data.trim().startsWith( SCRIPT_DIR ) && data.contains( module.getScriptDir().getAbsolutePath() ) ) 
-					data = data.replaceAll( module.getScriptDir().getAbsolutePath(), Matcher.quoteReplacement( SCRIPT_DIR_VAR ) );
-				if( !data.trim().startsWith( OUTPUT_DIR ) && data.contains( module.getOutputDir().getAbsolutePath() ) ) 
-					data = data.replaceAll( module.getOutputDir().getAbsolutePath(), Matcher.quoteReplacement( OUTPUT_DIR_VAR ) );
-				if( !data.trim().startsWith( MOD_DIR ) && data.contains( module.getModuleDir().getAbsolutePath() ) ) 
-					data = data.replaceAll( module.getModuleDir().getAbsolutePath(), Matcher.quoteReplacement( MOD_DIR_VAR ) );
-				if( !data.trim().startsWith( PIPE_DIR ) && data.contains( Config.pipelinePath() ) ) 
-					data = data.replaceAll( Config.pipelinePath(), Matcher.quoteReplacement( PIPE_DIR_VAR ) );
-				lines.add( data );
-			}
-			for( String line: lines ) {
-				String data = line.trim();
+			for( String line: scriptLines ) {
+				line = substitutePaths( module, line );
+				final String data = line.trim();
 				if( data.equals( "fi" ) || data.equals( "}" ) || data.equals( "elif" ) ||
 					data.equals( "else" ) || data.equals( "done" ) ) indentCount--;
 
-				int i = 0;
-				while( i++ < indentCount )
-					line = Constants.INDENT + line;
-				writer.write( line + RETURN );
-				Log.debug( BashScriptBuilder.class, line );
+				for( int i = 0; i < indentCount; i++ )
+					sb.append( Constants.INDENT );
+				sb.append( line ).append( RETURN );
 
 				if( data.endsWith( "{" ) || line.equals( "elif" ) || data.equals( "else" ) ||
 					data.startsWith( "if" ) && data.endsWith( "then" ) ||
 					data.startsWith( "while" ) && data.endsWith( "do" ) ) indentCount++;
 			}
+			writer.write( sb.toString() );
+			Log.debug( BashScriptBuilder.class, sb.toString() );
 		} finally {
 			if( writer != null ) writer.close();
 		}
@@ -305,6 +351,7 @@ public class BashScriptBuilder {
 	private static void buildWorkerScripts( final ScriptModule module, final List<List<String>> data )
 		throws Exception {
 		int sampleCount = 0;
+		final List<Integer> batchSizes = getWorkerBatchSizes( module, data );
 		String workerScriptPath = getWorkerScriptPath( module );
 		List<String> workerLines = initWorkerScript( module, workerScriptPath );
 		final Iterator<List<String>> it = data.iterator();
@@ -313,7 +360,7 @@ public class BashScriptBuilder {
 			if( lines.isEmpty() )
 				throw new PipelineScriptException( module, true, " Worker script #" + workerNum() + " is empty." );
 			workerLines.addAll( getWorkerScriptLines( lines ) );
-			if( saveWorker( module, ++sampleCount, data.size() ) || !it.hasNext() ) {
+			if( saveWorker( module, ++sampleCount, data.size(), batchSizes ) || !it.hasNext() ) {
 				if( !( module instanceof JavaModule ) )
 					workerLines.add( "touch \"" + workerScriptPath + "_" + Constants.SCRIPT_SUCCESS + "\"" );
 				workerScripts.add( createScript( module, workerScriptPath, workerLines ) );
@@ -336,15 +383,56 @@ public class BashScriptBuilder {
 			module.getModuleDir().getName() + Constants.SH_EXT ).getAbsolutePath();
 	}
 
+	private static int getNumLocalSlots( final ScriptModule module ) throws ConfigFormatException {
+		final Integer slots = Config.getPositiveInteger( module, Constants.SCRIPT_NUM_LOCAL_SLOTS );
+		return slots == null ? 1: slots;
+	}
+
 	private static Integer getMinSamplesPerWorker( final BioModule module, final int count )
 		throws ConfigNotFoundException, ConfigFormatException {
 		return new Double( Math.floor( (double) count / (double) ModuleUtil.getNumWorkers( module ) ) ).intValue();
 	}
 
+	/**
+	 * Get the module worker batch sizes, if each script line set maps to 1 batched sample, in batch order. Each line
+	 * set must reference the file name of its batched sample, otherwise the module built its line sets in a different
+	 * order, so the line sets are split evenly across workers.
+	 * 
+	 * @param module ScriptModule
+	 * @param data Script line sets
+	 * @return Number of script line sets per worker, or an empty list to split them evenly
+	 */
+	private static List<Integer> getWorkerBatchSizes( final ScriptModule module, final List<List<String>> data ) {
+		if( !( module instanceof BioModuleImpl ) ) return new ArrayList<>();
+		final List<Integer> batchSizes = ( (BioModuleImpl) module ).getWorkerBatchSizes();
+		if( batchSizes.isEmpty() ) return batchSizes;
+		final List<File> samples = ( (BioModuleImpl) module ).getWorkerBatchSamples();
+		if( samples.size() != data.size() ) {
+			Log.debug( BashScriptBuilder.class, "# script line sets [" + data.size() + "] != # batched samples [" +
+				samples.size() + "] --> split evenly across workers" );
+			return new ArrayList<>();
+		}
+
+		for( int i = 0; i < data.size(); i++ )
+			if( !hasFileName( data.get( i ), samples.get( i ) ) ) {
+				Log.warn( BashScriptBuilder.class,
+					"Script line set [" + i + "] does not reference batched sample [" + samples.get( i ).getName() +
+						"] --> script lines are not in batch order, split evenly across workers" );
+				return new ArrayList<>();
+			}
+		return batchSizes;
+	}
+
 	private static String getWorkerId( final int scriptNum, final int digits ) {
 		return String.format( "%0" + digits + "d", scriptNum );
 	}
 
+	private static boolean hasFileName( final List<String> lines, final File file ) {
+		for( final String line: lines )
+			if( line.contains( file.getName() ) ) return true;
+		return false;
+	}
+
 	/**
 	 * Return lines to script that load cluster modules based on {@link biolockj.Config}.{@value #CLUSTER_MODULES}
 	 *
@@ -361,14 +449,58 @@ public class BashScriptBuilder {
 		return lines;
 	}
 
-	private static boolean saveWorker( final BioModule module, final int sampleCount, final int count )
-		throws ConfigNotFoundException, ConfigFormatException {
+	/**
+	 * Worker scripts run concurrently only on a local host (not Docker, not cluster) with more than 1 worker script and
+	 * {@link biolockj.Config}.{@value biolockj.Constants#SCRIPT_NUM_LOCAL_SLOTS} &gt; 1.
+	 * 
+	 * @param module ScriptModule
+	 * @return TRUE if MAIN script should run worker scripts concurrently
+	 * @throws ConfigFormatException if {@value biolockj.Constants#SCRIPT_NUM_LOCAL_SLOTS} is not a positive integer
+	 */
+	private static boolean runLocalConcurrent( final ScriptModule module ) throws ConfigFormatException {
+		return !DockerUtil.inDockerEnv() && !Config.isOnCluster() && workerScripts.size() > 1 &&
+			getNumLocalSlots( module ) > 1;
+	}
+
+	private static boolean saveWorker( final BioModule module, final int sampleCount, final int count,
+		final List<Integer> batchSizes ) throws ConfigNotFoundException, ConfigFormatException {
+		if( !batchSizes.isEmpty() ) return sampleCount == batchSizes.get( workerNum() );
 		final int maxWorkers = count - ModuleUtil.getNumWorkers( module );
 		final int minSamplesPerWorker = getMinSamplesPerWorker( module, count );
 		return workerNum() < maxWorkers && sampleCount == minSamplesPerWorker + 1 ||
 			workerNum() >= maxWorkers && sampleCount == minSamplesPerWorker;
 	}
 
+	/**
+	 * Replace absolute module and pipeline paths in the script line with the bash variables defined at the top of each
+	 * script. Paths are replaced from most to least specific: tempDir, scriptDir, outputDir, modDir, pipeDir. The
+	 * line that defines a variable is not updated. The path patterns are compiled once per
+	 * {@link #buildScripts(ScriptModule, List)} call and only applied to lines that contain the path.
+	 * 
+	 * @param module ScriptModule
+	 * @param line Script line
+	 * @return Script line with bash variables
+	 */
+	private static synchronized String substitutePaths( final ScriptModule module, final String line ) {
+		if( pathVars.isEmpty() || pathVarModule != module ) {
+			pathVars.clear();
+			pathVarModule = module;
+			if( hasTempDir( module ) ) addPathVar( TEMP_DIR, module.getTempDir() );
+			addPathVar( SCRIPT_DIR, module.getScriptDir() );
+			addPathVar( OUTPUT_DIR, module.getOutputDir() );
+			addPathVar( MOD_DIR, module.getModuleDir() );
+			addPathVar( PIPE_DIR, new File( Config.pipelinePath() ) );
+		}
+
+		String data = line;
+		for( final String var: pathVars.keySet() ) {
+			final Pattern path = pathVars.get( var );
+			if( !data.trim().startsWith( var ) && data.contains( path.pattern() ) )
+				data = path.matcher( data ).replaceAll( Matcher.quoteReplacement( "${" + var + "}" ) );
+		}
+		return data;
+	}
+
 	private static int workerNum() {
 		return workerScripts.size();
 	}
@@ -402,19 +534,19 @@ public class BashScriptBuilder {
 	 */
 	protected static final String SCRIPT_JOB_HEADER = "cluster.jobHeader";
 
+	private static final int BUFFER_SIZE = 64 * 1024;
 	private static final String FUNCTION_EXECUTE_LINE = "executeLine";
 	private static final String FUNCTION_RUN_JOB = "runJob";
+	private static final String FUNCTION_RUN_LOCAL_JOB = "runLocalJob";
+	private static final String FUNCTION_RUN_LOCAL_WORKER = "runLocalWorker";
 	private static final String FUNCTION_SCRIPT_FAILED = "scriptFailed";
 	private static final String MOD_DIR = "modDir";
-	private static final String MOD_DIR_VAR = "${" + MOD_DIR + "}";
 	private static final String OUTPUT_DIR = "outputDir";
-	private static final String OUTPUT_DIR_VAR = "${" + OUTPUT_DIR + "}";
+	private static ScriptModule pathVarModule = null;
+	private static final Map<String, Pattern> pathVars = new LinkedHashMap<>();
 	private static final String PIPE_DIR = "pipeDir";
-	private static final String PIPE_DIR_VAR = "${" + PIPE_DIR + "}";
 	private static final String SCRIPT_DIR = "scriptDir";
-	private static final String SCRIPT_DIR_VAR = "${" + SCRIPT_DIR + "}";
 	private static final String TEMP_DIR = "tempDir";
-	private static final String TEMP_DIR_VAR = "${" + TEMP_DIR + "}";
 	
 	private static final String RETURN = Constants.RETURN;
 	private static final List<File> workerScripts = new ArrayList<>();
@@ -0,0 +1,525 @@
+/**
+ * @UNCC Fodor Lab
+ * @author Michael Sioda
+ * @email msioda@uncc.edu
+ * @date Jun 20, 2019
+ * @disclaimer This code is free software; you can redistribute it and/or modify it under the terms of the GNU General
+ * Public License as published by the Free Software Foundation; either version 2 of the License, or (at your option) any
+ * later version, provided that any use properly credits the author. This program is distributed in the hope that it
+ * will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU General Public License for more details at http://www.gnu.org *
+ */
+package biolockj.util;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.regex.Pattern;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.CountingInputStream;
+import org.apache.commons.io.output.CountingOutputStream;
+import biolockj.Config;
+import biolockj.Constants;
+import biolockj.exception.ConfigFormatException;
+import biolockj.module.BioModule;
+import biolockj.module.report.otu.OtuCountModule;
+
+/**
+ * This utility reads and writes the compact binary count table format passed between Java OTU count modules if
+ * {@link biolockj.Config}.{@value biolockj.Constants#REPORT_BINARY_TABLES}={@value biolockj.Constants#TRUE}. Binary
+ * tables keep the file name of the TSV table they replace, so {@link biolockj.util.OtuUtil} readers detect the format
+ * from the leading {@value #MAGIC} bytes. File layout:
+ * <ol>
+ * <li>Header: {@value #MAGIC}, format version, dictionary of the unique {@value biolockj.Constants#OTU_SEPARATOR}
+ * separated OTU/taxa tokens, column names as lists of dictionary indexes, number of rows
+ * <li>Rows: row ID (sample ID), number of non-zero cells, then (column index delta, count) pairs
+ * <li>Footer index: row IDs and file offsets, then the footer offset and {@value #MAGIC}
+ * </ol>
+ * Integers are stored as unsigned varints and strings as a varint length followed by UTF-8 bytes, so counts must be
+ * non-negative whole numbers. Taxa tables, normalized tables and final outputs are always written as TSV.
+ */
+public class BinaryTableUtil {
+
+	/**
+	 * This inner class reads the non-zero cells of a binary table 1 at a time, in file order (row by row, each row
+	 * ordered by column index). Column names are decoded from the table header as each cell is read, so only the token
+	 * dictionary and the current cell are held in memory.
+	 */
+	public static class CellReader implements Closeable {
+		/**
+		 * Open the binary table and read the token dictionary.
+		 *
+		 * @param file Binary table
+		 * @throws IOException if the file is not a valid binary table
+		 */
+		public CellReader( final File file ) throws IOException {
+			this.file = file;
+			final CountingInputStream counter =
+				new CountingInputStream( new BufferedInputStream( new FileInputStream( file ) ) );
+			this.in = new DataInputStream( counter );
+			try {
+				readHeader( this.in, file );
+				this.tokens = readTokens( this.in );
+				this.numCols = readVarInt( this.in );
+				this.colOffset = counter.getByteCount();
+				for( int i = 0; i < this.numCols; i++ )
+					skipColumn( this.in );
+				this.numRows = readVarLong( this.in );
+			} catch( final IOException ex ) {
+				this.in.close();
+				throw ex;
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			this.in.close();
+			if( this.colIn != null ) this.colIn.close();
+		}
+
+		/**
+		 * Get the column name (OTU or taxa) of the current cell.
+		 *
+		 * @return Column name
+		 */
+		public String getColumn() {
+			return this.column;
+		}
+
+		/**
+		 * Get the count of the current cell.
+		 *
+		 * @return Count
+		 */
+		public long getCount() {
+			return this.count;
+		}
+
+		/**
+		 * Get the row ID (sample ID) of the current cell.
+		 *
+		 * @return Row ID
+		 */
+		public String getRowId() {
+			return this.rowId;
+		}
+
+		/**
+		 * Read the next non-zero cell.
+		 *
+		 * @return FALSE at the end of the table
+		 * @throws IOException if the file is not a valid binary table
+		 */
+		public boolean next() throws IOException {
+			while( this.cellsLeft == 0 ) {
+				if( this.rowsRead == this.numRows ) return false;
+				this.rowId = readString( this.in );
+				this.cellsLeft = readVarInt( this.in );
+				this.col = -1;
+				this.rowsRead++;
+			}
+
+			this.col += readVarInt( this.in );
+			if( this.col < 0 || this.col >= this.numCols )
+				throw new IOException( "Invalid column index " + this.col + " in: " + this.file );
+			this.count = readVarLong( this.in );
+			this.column = seekColumn( this.col );
+			this.cellsLeft--;
+			return true;
+		}
+
+		/**
+		 * Decode the column name from a 2nd stream over the column list, which only moves forward within a row and is
+		 * reopened for each new row.
+		 */
+		private String seekColumn( final int index ) throws IOException {
+			if( this.colIn == null || index < this.nextCol ) {
+				if( this.colIn != null ) this.colIn.close();
+				this.colIn = new DataInputStream( new BufferedInputStream( new FileInputStream( this.file ) ) );
+				IOUtils.skipFully( this.colIn, this.colOffset );
+				this.nextCol = 0;
+			}
+			for( ; this.nextCol < index; this.nextCol++ )
+				skipColumn( this.colIn );
+			this.nextCol++;
+			return readColumn( this.colIn, this.tokens, this.file );
+		}
+
+		private int cellsLeft = 0;
+		private int col = -1;
+		private DataInputStream colIn = null;
+		private final long colOffset;
+		private String column = null;
+		private long count = 0L;
+		private final File file;
+		private final DataInputStream in;
+		private int nextCol = 0;
+		private final int numCols;
+		private final long numRows;
+		private String rowId = null;
+		private long rowsRead = 0L;
+		private final String[] tokens;
+	}
+
+	// Prevents instantiation
+	private BinaryTableUtil() {}
+
+	/**
+	 * Read the column names from the table header.
+	 *
+	 * @param file Binary table
+	 * @return List of column names (OTUs or taxa)
+	 * @throws IOException if the file is not a valid binary table
+	 */
+	public static List<String> getColumns( final File file ) throws IOException {
+		final DataInputStream in = getInputStream( file );
+		try {
+			return readColumns( in, file );
+		} finally {
+			in.close();
+		}
+	}
+
+	/**
+	 * Read the row IDs from the footer index without reading the table rows.
+	 *
+	 * @param file Binary table
+	 * @return List of row IDs (sample IDs)
+	 * @throws IOException if the file is not a valid binary table
+	 */
+	public static List<String> getRowIds( final File file ) throws IOException {
+		return new ArrayList<>( readFooter( file ).keySet() );
+	}
+
+	/**
+	 * Check the leading bytes to determine if the file is a binary table.
+	 *
+	 * @param file File
+	 * @return TRUE if file starts with {@value #MAGIC}
+	 */
+	public static boolean isBinaryTable( final File file ) {
+		if( file == null || !file.isFile() || file.length() < MIN_LENGTH ) return false;
+		try {
+			final DataInputStream in = new DataInputStream( new FileInputStream( file ) );
+			try {
+				final byte[] magic = new byte[ MAGIC_BYTES.length ];
+				in.readFully( magic );
+				return Arrays.equals( magic, MAGIC_BYTES );
+			} finally {
+				in.close();
+			}
+		} catch( final IOException ex ) {
+			return false;
+		}
+	}
+
+	/**
+	 * Read a single row using the footer index to seek directly to it.
+	 *
+	 * @param file Binary table
+	 * @param rowId Row ID (sample ID)
+	 * @return TreeMap(column, count) or null if the row is not found
+	 * @throws IOException if the file is not a valid binary table
+	 */
+	public static TreeMap<String, Long> readRow( final File file, final String rowId ) throws IOException {
+		final Long offset = readFooter( file ).get( rowId );
+		if( offset == null ) return null;
+		final CountingInputStream counter =
+			new CountingInputStream( new BufferedInputStream( new FileInputStream( file ) ) );
+		final DataInputStream in = new DataInputStream( counter );
+		try {
+			readHeader( in, file );
+			final List<String> columns = readColumns( in, file );
+			IOUtils.skipFully( in, offset - counter.getByteCount() );
+			readString( in );
+			return readCounts( in, columns, file );
+		} finally {
+			in.close();
+		}
+	}
+
+	/**
+	 * Read every row of the table.
+	 *
+	 * @param file Binary table
+	 * @return Map(row ID, TreeMap(column, count)) in file order, only non-zero cells are included
+	 * @throws IOException if the file is not a valid binary table
+	 */
+	public static Map<String, TreeMap<String, Long>> readTable( final File file ) throws IOException {
+		final Map<String, TreeMap<String, Long>> rows = new LinkedHashMap<>();
+		final DataInputStream in = getInputStream( file );
+		try {
+			final List<String> columns = readColumns( in, file );
+			final long numRows = readVarLong( in );
+			for( long i = 0; i < numRows; i++ )
+				rows.put( readString( in ), readCounts( in, columns, file ) );
+		} finally {
+			in.close();
+		}
+		return rows;
+	}
+
+	/**
+	 * Check if the module should write binary tables. Binary tables are only written if
+	 * {@link biolockj.Config}.{@value biolockj.Constants#REPORT_BINARY_TABLES}={@value biolockj.Constants#TRUE} and the
+	 * next module is a Java OTU count module that reads them through {@link biolockj.util.OtuUtil}, so taxa tables, R
+	 * modules, scripts, and the final pipeline outputs always get TSV files.
+	 *
+	 * @param module BioModule writing the table
+	 * @return TRUE if the table should be written in binary format
+	 * @throws ConfigFormatException if {@value biolockj.Constants#REPORT_BINARY_TABLES} is not a valid boolean
+	 */
+	public static boolean useBinaryTables( final BioModule module ) throws ConfigFormatException {
+		return Config.getBoolean( module, Constants.REPORT_BINARY_TABLES ) &&
+			ModuleUtil.getNextModule( module ) instanceof OtuCountModule;
+	}
+
+	/**
+	 * Write the table in binary format. Columns are written in the order given, null or zero counts are not stored.
+	 *
+	 * @param file Output file
+	 * @param columns Column names (OTUs or taxa), if null use the ordered set of columns found in the rows
+	 * @param rows Map(row ID, Map(column, count)) written in map order
+	 * @throws IOException if a count is negative, a column is missing, or errors occur writing the file
+	 */
+	public static void writeTable( final File file, final Collection<String> columns,
+		final Map<String, ? extends Map<String, Long>> rows ) throws IOException {
+		final List<String> cols = new ArrayList<>();
+		if( columns != null ) cols.addAll( columns );
+		else {
+			final TreeSet<String> found = new TreeSet<>();
+			for( final Map<String, Long> counts: rows.values() )
+				found.addAll( counts.keySet() );
+			cols.addAll( found );
+		}
+
+		final Map<String, Integer> colIndex = new HashMap<>();
+		final Map<String, Integer> tokenIndex = new LinkedHashMap<>();
+		final List<int[]> colTokens = new ArrayList<>();
+		for( final String col: cols ) {
+			colIndex.put( col, colIndex.size() );
+			final String[] parts = TOKEN_SPLITTER.split( col, -1 );
+			final int[] ids = new int[ parts.length ];
+			for( int i = 0; i < parts.length; i++ ) {
+				Integer id = tokenIndex.get( parts[ i ] );
+				if( id == null ) tokenIndex.put( parts[ i ], id = tokenIndex.size() );
+				ids[ i ] = id;
+			}
+			colTokens.add( ids );
+		}
+
+		final CountingOutputStream counter =
+			new CountingOutputStream( new BufferedOutputStream( new FileOutputStream( file ) ) );
+		final DataOutputStream out = new DataOutputStream( counter );
+		try {
+			out.write( MAGIC_BYTES );
+			out.writeByte( VERSION );
+			writeVarLong( out, tokenIndex.size() );
+			for( final String token: tokenIndex.keySet() )
+				writeString( out, token );
+			writeVarLong( out, colTokens.size() );
+			for( final int[] ids: colTokens ) {
+				writeVarLong( out, ids.length );
+				for( final int id: ids )
+					writeVarLong( out, id );
+			}
+
+			writeVarLong( out, rows.size() );
+			final Map<String, Long> rowOffsets = new LinkedHashMap<>();
+			for( final String rowId: rows.keySet() ) {
+				out.flush();
+				rowOffsets.put( rowId, counter.getByteCount() );
+				writeString( out, rowId );
+				writeCounts( out, rows.get( rowId ), colIndex, file );
+			}
+
+			out.flush();
+			final long footerOffset = counter.getByteCount();
+			writeVarLong( out, rowOffsets.size() );
+			for( final String rowId: rowOffsets.keySet() ) {
+				writeString( out, rowId );
+				out.writeLong( rowOffsets.get( rowId ) );
+			}
+			out.writeLong( footerOffset );
+			out.write( MAGIC_BYTES );
+		} finally {
+			out.close();
+		}
+	}
+
+	private static DataInputStream getInputStream( final File file ) throws IOException {
+		final DataInputStream in = new DataInputStream( new BufferedInputStream( new FileInputStream( file ) ) );
+		try {
+			readHeader( in, file );
+		} catch( final IOException ex ) {
+			in.close();
+			throw ex;
+		}
+		return in;
+	}
+
+	private static String readColumn( final DataInputStream in, final String[] tokens, final File file )
+		throws IOException {
+		final StringBuilder sb = new StringBuilder();
+		final int numParts = readVarInt( in );
+		for( int i = 0; i < numParts; i++ ) {
+			final int id = readVarInt( in );
+			if( id >= tokens.length ) throw new IOException( "Invalid token index " + id + " in: " + file );
+			sb.append( i == 0 ? "": Constants.OTU_SEPARATOR ).append( tokens[ id ] );
+		}
+		return sb.toString();
+	}
+
+	private static List<String> readColumns( final DataInputStream in, final File file ) throws IOException {
+		final String[] tokens = readTokens( in );
+		final int numCols = readVarInt( in );
+		final List<String> columns = new ArrayList<>( numCols );
+		for( int i = 0; i < numCols; i++ )
+			columns.add( readColumn( in, tokens, file ) );
+		return columns;
+	}
+
+	private static TreeMap<String, Long> readCounts( final DataInputStream in, final List<String> columns,
+		final File file ) throws IOException {
+		final TreeMap<String, Long> counts = new TreeMap<>();
+		final int numCells = readVarInt( in );
+		int col = -1;
+		for( int i = 0; i < numCells; i++ ) {
+			col += readVarInt( in );
+			if( col >= columns.size() ) throw new IOException( "Invalid column index " + col + " in: " + file );
+			counts.put( columns.get( col ), readVarLong( in ) );
+		}
+		return counts;
+	}
+
+	private static Map<String, Long> readFooter( final File file ) throws IOException {
+		final RandomAccessFile raf = new RandomAccessFile( file, "r" );
+		try {
+			final long trailer = raf.length() - Long.BYTES - MAGIC_BYTES.length;
+			if( trailer < MAGIC_BYTES.length + 1 ) throw new IOException( "Binary table is truncated: " + file );
+			raf.seek( trailer );
+			final long footerOffset = raf.readLong();
+			final byte[] magic = new byte[ MAGIC_BYTES.length ];
+			raf.readFully( magic );
+			if( !Arrays.equals( magic, MAGIC_BYTES ) || footerOffset < 0 || footerOffset > trailer )
+				throw new IOException( "Binary table footer is missing or invalid: " + file.getAbsolutePath() );
+
+			raf.seek( footerOffset );
+			final byte[] footer = new byte[ (int) ( trailer - footerOffset ) ];
+			raf.readFully( footer );
+			final DataInputStream in = new DataInputStream( new ByteArrayInputStream( footer ) );
+			final Map<String, Long> offsets = new LinkedHashMap<>();
+			final int numRows = readVarInt( in );
+			for( int i = 0; i < numRows; i++ )
+				offsets.put( readString( in ), in.readLong() );
+			return offsets;
+		} finally {
+			raf.close();
+		}
+	}
+
+	/**
+	 * Read the {@value #MAGIC} bytes and format version.
+	 */
+	private static void readHeader( final DataInputStream in, final File file ) throws IOException {
+		final byte[] magic = new byte[ MAGIC_BYTES.length ];
+		in.readFully( magic );
+		if( !Arrays.equals( magic, MAGIC_BYTES ) || in.readUnsignedByte() != VERSION )
+			throw new IOException( "Not a version " + VERSION + " binary table: " + file.getAbsolutePath() );
+	}
+
+	private static String readString( final DataInput in ) throws IOException {
+		final byte[] bytes = new byte[ readVarInt( in ) ];
+		in.readFully( bytes );
+		return new String( bytes, StandardCharsets.UTF_8 );
+	}
+
+	private static String[] readTokens( final DataInputStream in ) throws IOException {
+		final String[] tokens = new String[ readVarInt( in ) ];
+		for( int i = 0; i < tokens.length; i++ )
+			tokens[ i ] = readString( in );
+		return tokens;
+	}
+
+	private static int readVarInt( final DataInput in ) throws IOException {
+		final long val = readVarLong( in );
+		if( val > Integer.MAX_VALUE ) throw new IOException( "Binary table value exceeds max int: " + val );
+		return (int) val;
+	}
+
+	private static long readVarLong( final DataInput in ) throws IOException {
+		long val = 0L;
+		for( int shift = 0; shift < 64; shift += 7 ) {
+			final byte b = in.readByte();
+			val |= (long) ( b & 0x7F ) << shift;
+			if( ( b & 0x80 ) == 0 ) return val;
+		}
+		throw new IOException( "Malformed varint in binary table" );
+	}
+
+	private static void skipColumn( final DataInputStream in ) throws IOException {
+		final int numParts = readVarInt( in );
+		for( int i = 0; i < numParts; i++ )
+			readVarInt( in );
+	}
+
+	/**
+	 * Write the non-zero cells of 1 row ordered by column index, each column index stored as the delta from the
+	 * previous cell.
+	 */
+	private static void writeCounts( final DataOutputStream out, final Map<String, Long> counts,
+		final Map<String, Integer> colIndex, final File file ) throws IOException {
+		final int size = counts == null ? 0: counts.size();
+		final long[] cells = new long[ size ];
+		final long[] vals = new long[ size ];
+		int numCells = 0;
+		if( counts != null ) for( final Map.Entry<String, Long> entry: counts.entrySet() ) {
+			final Long count = entry.getValue();
+			if( count == null || count == 0L ) continue;
+			final Integer col = colIndex.get( entry.getKey() );
+			if( col == null ) throw new IOException( "Column not found in table header [ " + entry.getKey() +
+				" ] while writing: " + file.getAbsolutePath() );
+			if( count < 0L ) throw new IOException( "Binary tables only store non-negative counts [ " +
+				entry.getKey() + "=" + count + " ] while writing: " + file.getAbsolutePath() );
+
+			// high 32 bits sort by column, low 32 bits point to the count
+			cells[ numCells ] = (long) col << 32 | numCells;
+			vals[ numCells++ ] = count;
+		}
+
+		Arrays.sort( cells, 0, numCells );
+		writeVarLong( out, numCells );
+		int prev = -1;
+		for( int i = 0; i < numCells; i++ ) {
+			final int col = (int) ( cells[ i ] >>> 32 );
+			writeVarLong( out, col - prev );
+			writeVarLong( out, vals[ (int) cells[ i ] ] );
+			prev = col;
+		}
+	}
+
+	private static void writeString( final DataOutputStream out, final String val ) throws IOException {
+		final byte[] bytes = val.getBytes( StandardCharsets.UTF_8 );
+		writeVarLong( out, bytes.length );
+		out.write( bytes );
+	}
+
+	private static void writeVarLong( final DataOutputStream out, final long val ) throws IOException {
+		long v = val;
+		while( ( v & ~0x7FL ) != 0L ) {
+			out.writeByte( (int) ( v & 0x7F | 0x80 ) );
+			v >>>= 7;
+		}
+		out.writeByte( (int) v );
+	}
+
+	/**
+	 * Binary table file signature: {@value #MAGIC}
+	 */
+	public static final String MAGIC = "BLJB";
+
+	private static final byte[] MAGIC_BYTES = MAGIC.getBytes( StandardCharsets.US_ASCII );
+	private static final int MIN_LENGTH = MAGIC_BYTES.length * 2 + Long.BYTES + 1;
+	private static final Pattern TOKEN_SPLITTER = Pattern.compile( Pattern.quote( Constants.OTU_SEPARATOR ) );
+	private static final int VERSION = 1;
+}
@@ -558,6 +558,7 @@ public class BioLockJUtil {
 	 */
 	public static String removeQuotes( final String value ) {
 		if( value == null ) return null;
+		if( value.indexOf( '\'' ) < 0 && value.indexOf( '"' ) < 0 ) return value;
 		return value.replaceAll( "'", "" ).replaceAll( "\"", "" );
 	}
 
@@ -579,6 +580,25 @@ public class BioLockJUtil {
 		}
 	}
 
+	/**
+	 * Split line on every occurrence of the literal delim (not a regular expression), keeping trailing empty cells, as
+	 * {@link String#split(String, int)} does with a negative limit.
+	 * 
+	 * @param line Line of text
+	 * @param delim Literal column delimiter
+	 * @return List of cell values
+	 */
+	public static List<String> splitLine( final String line, final String delim ) {
+		final List<String> cells = new ArrayList<>();
+		int start = 0;
+		for( int end = line.indexOf( delim ); end > -1; end = line.indexOf( delim, start ) ) {
+			cells.add( line.substring( start, end ) );
+			start = end + delim.length();
+		}
+		cells.add( line.substring( start ) );
+		return cells;
+	}
+
 	private static Collection<File> findDups( final Collection<File> files, final Collection<File> newFiles )
 		throws ConfigViolationException {
 		final Map<String, String> names = new HashMap<>();
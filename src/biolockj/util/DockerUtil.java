@@ -60,7 +60,7 @@ public class DockerUtil {
 	 * 
 	 * @param args Terminal command + args
 	 * @param label Log file identifier for subprocess
-	 * @return Thread ID
+	 * @return Subprocess ID
 	 */
 	public static Long downloadDB( final String[] args, final String label ) {
 		if( downloadDbCmdRegister.contains( args ) ) {
@@ -70,7 +70,7 @@ public class DockerUtil {
 		}
 
 		downloadDbCmdRegister.add( args );
-		return Processor.runSubprocess( args, label ).getId();
+		return Processor.runSubprocess( args, label );
 	}
 
 	/**
@@ -126,6 +126,19 @@ public final class DownloadUtil {
 		return new File( Config.pipelinePath() + File.separator + DOWNLOAD_LIST );
 	}
 
+	/**
+	 * Check if the module output is included in the pipeline download. These modules must always write files in the
+	 * format their file extension implies.
+	 *
+	 * @param module BioModule
+	 * @return TRUE if the module is a downloadable type
+	 */
+	public static boolean isDownloadModule( final BioModule module ) {
+		return module instanceof JsonReport || module instanceof R_Module ||
+			module instanceof AddMetadataToTaxaTables || module instanceof AddMetadataToPathwayTables ||
+			module instanceof BuildTaxaTables || module instanceof NormalizeTaxaTables;
+	}
+
 	/**
 	 * Add files to {@value biolockj.util.DownloadUtil#DOWNLOAD_LIST} in pipeline root directory.
 	 * 
@@ -209,11 +222,7 @@ public final class DownloadUtil {
 		try {
 			for( final BioModule module: Pipeline.getModules() ) {
 
-				final boolean downloadableType = module instanceof JsonReport || module instanceof R_Module ||
-					module instanceof AddMetadataToTaxaTables || module instanceof AddMetadataToPathwayTables ||
-					module instanceof BuildTaxaTables || module instanceof NormalizeTaxaTables;
-
-				if( ModuleUtil.hasExecuted( module ) && downloadableType ) modules.add( module );
+				if( ModuleUtil.hasExecuted( module ) && isDownloadModule( module ) ) modules.add( module );
 			}
 		} catch( final Exception ex ) {
 			Log.warn( DownloadUtil.class, "Unable to find any executed modules to summarize: " + ex.getMessage() );
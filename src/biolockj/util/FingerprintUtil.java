@@ -0,0 +1,229 @@
+/**
+ * @UNCC Fodor Lab
+ * @author Michael Sioda
+ * @email msioda@uncc.edu
+ * @date Jun 3, 2019
+ * @disclaimer This code is free software; you can redistribute it and/or modify it under the terms of the GNU General
+ * Public License as published by the Free Software Foundation; either version 2 of the License, or (at your option) any
+ * later version, provided that any use properly credits the author. This program is distributed in the hope that it
+ * will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU General Public License for more details at http://www.gnu.org *
+ */
+package biolockj.util;
+
+import java.io.*;
+import java.security.MessageDigest;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import biolockj.*;
+import biolockj.module.BioModule;
+import biolockj.module.report.r.R_Module;
+
+/**
+ * This utility records a fingerprint for each completed module, so a restarted pipeline can tell if a completed module
+ * must be rerun. The fingerprint file {@value biolockj.Constants#BLJ_FINGERPRINT} in the module root directory lists:
+ * <ul>
+ * <li>The BioLockJ version
+ * <li>The {@link biolockj.Config} properties read by the module (value of the 1st read), plus any property set with the
+ * module name as prefix
+ * <li>The size and last-modified time of each input file (and of each file referenced by the properties)
+ * <li>If {@link biolockj.Config}.{@value biolockj.Constants#PIPELINE_FINGERPRINT_CHECKSUMS}=
+ * {@value biolockj.Constants#TRUE}, the MD5 checksum of each of these files
+ * </ul>
+ */
+public class FingerprintUtil {
+
+	// Prevents instantiation
+	private FingerprintUtil() {}
+
+	/**
+	 * Cache the {@link biolockj.Config} properties read by the module. The value of the 1st read is kept, so defaults
+	 * set by {@link biolockj.Config} after a property is found undefined are not recorded.
+	 *
+	 * @param module BioModule
+	 * @param props Properties read by the module, with the value 1st read
+	 */
+	public static void addUsedProps( final BioModule module, final Map<String, String> props ) {
+		final Map<String, String> vals = usedProps.computeIfAbsent( module, k -> new ConcurrentHashMap<>() );
+		for( final String name: props.keySet() )
+			if( !name.startsWith( INTERNAL_PROP_PREFIX ) ) vals.putIfAbsent( name, props.get( name ) );
+	}
+
+	/**
+	 * Compare the saved fingerprint to the current fingerprint of a completed module. Modules completed before
+	 * fingerprints were saved are considered unchanged.
+	 *
+	 * @param module Completed BioModule
+	 * @return Description of the 1st change found, or null if the module is unchanged
+	 * @throws Exception if errors occur reading the input files
+	 */
+	public static String getChange( final BioModule module ) throws Exception {
+		final File file = getFingerprintFile( module );
+		if( !file.isFile() ) {
+			Log.debug( FingerprintUtil.class, "No fingerprint found for: " + module.getClass().getName() );
+			return null;
+		}
+
+		final Map<String, String> saved = readFingerprint( file );
+		final Set<String> propNames = new TreeSet<>();
+		for( final String key: saved.keySet() )
+			if( key.startsWith( PROP ) ) propNames.add( key.substring( PROP.length() ) );
+
+		final Map<String, String> current = buildFingerprint( module, propNames );
+		final Set<String> keys = new TreeSet<>( saved.keySet() );
+		keys.addAll( current.keySet() );
+		for( final String key: keys ) {
+			final String prev = saved.get( key );
+			final String val = current.get( key );
+			if( prev == null ) return key + " added";
+			if( val == null ) return key + " removed";
+			if( key.startsWith( FILE ) ? !sameFile( prev, val ): !sameProp( prev, val ) )
+				return key + " changed from [ " + prev + " ] to [ " + val + " ]";
+		}
+		return null;
+	}
+
+	/**
+	 * Get the module fingerprint file.
+	 *
+	 * @param module BioModule
+	 * @return Fingerprint file
+	 */
+	public static File getFingerprintFile( final BioModule module ) {
+		return new File( module.getModuleDir().getAbsolutePath() + File.separator + Constants.BLJ_FINGERPRINT );
+	}
+
+	/**
+	 * Save the fingerprint of a module that has completed successfully.
+	 *
+	 * @param module BioModule
+	 * @throws Exception if unable to save the fingerprint file
+	 */
+	public static void saveFingerprint( final BioModule module ) throws Exception {
+		final Map<String, String> fingerprint = buildFingerprint( module, new TreeSet<>() );
+		final BufferedWriter writer = new BufferedWriter( new FileWriter( getFingerprintFile( module ) ) );
+		try {
+			for( final String key: fingerprint.keySet() )
+				writer.write( key + Constants.TAB_DELIM + fingerprint.get( key ) + Constants.RETURN );
+		} finally {
+			writer.close();
+		}
+		Log.debug( FingerprintUtil.class, "Saved fingerprint: " + getFingerprintFile( module ).getAbsolutePath() );
+	}
+
+	/**
+	 * Build the ordered map of fingerprint keys/values for the module in its current state.
+	 *
+	 * @param module BioModule
+	 * @param propNames Names of properties to include in addition to the cached properties read by the module
+	 * @return Fingerprint map
+	 * @throws Exception if errors occur reading the files
+	 */
+	protected static TreeMap<String, String> buildFingerprint( final BioModule module, final Set<String> propNames )
+		throws Exception {
+		final TreeMap<String, String> fingerprint = new TreeMap<>();
+		fingerprint.put( VERSION, BioLockJUtil.getVersion() );
+		fingerprint.put( MODULE, module.getClass().getName() );
+
+		final Map<String, String> readProps =
+			usedProps.get( module ) == null ? new HashMap<>(): new HashMap<>( usedProps.get( module ) );
+		final Set<String> names = new TreeSet<>( propNames );
+		names.addAll( readProps.keySet() );
+
+		final Map<String, String> props = Config.getProperties();
+		final Set<String> prefixes = getPropPrefixes( module );
+		for( final String name: props.keySet() )
+			if( name.indexOf( "." ) > 0 && prefixes.contains( name.substring( 0, name.indexOf( "." ) ) ) )
+				names.add( name );
+
+		final boolean checksums = Config.getBoolean( null, Constants.PIPELINE_FINGERPRINT_CHECKSUMS );
+		final Set<File> files = new TreeSet<>( module.getInputFiles() );
+		for( final String name: names ) {
+			final String val = readProps.containsKey( name ) ? readProps.get( name )
+				: props.get( name ) == null ? "": props.get( name ).trim();
+			fingerprint.put( PROP + name, val );
+			if( !val.isEmpty() && new File( val ).isFile() ) files.add( new File( val ) );
+		}
+
+		for( final File file: files )
+			fingerprint.put( FILE + file.getAbsolutePath(),
+				file.length() + "," + file.lastModified() + ( checksums ? "," + getChecksum( file ): "" ) );
+
+		return fingerprint;
+	}
+
+	private static String getChecksum( final File file ) throws Exception {
+		final MessageDigest md = MessageDigest.getInstance( "MD5" );
+		final InputStream in = new FileInputStream( file );
+		try {
+			final byte[] bytes = new byte[ BUFFER_SIZE ];
+			for( int numRead = in.read( bytes ); numRead != -1; numRead = in.read( bytes ) )
+				md.update( bytes, 0, numRead );
+		} finally {
+			in.close();
+		}
+
+		final StringBuilder sb = new StringBuilder();
+		for( final byte b: md.digest() )
+			sb.append( Integer.toString( ( b & 0xff ) + 0x100, 16 ).substring( 1 ) );
+		return sb.toString();
+	}
+
+	/**
+	 * Module properties can be set with the module class name as prefix. R modules also read every property with the
+	 * "r" prefix directly from the MASTER config file.
+	 */
+	private static Set<String> getPropPrefixes( final BioModule module ) {
+		final Set<String> prefixes = new HashSet<>();
+		final String name = module.getClass().getSimpleName();
+		prefixes.add( name );
+		prefixes.add( name.substring( 0, 1 ).toLowerCase() + name.substring( 1 ) );
+		if( module instanceof R_Module ) prefixes.add( R_PROP_PREFIX );
+		return prefixes;
+	}
+
+	private static Map<String, String> readFingerprint( final File file ) throws Exception {
+		final Map<String, String> fingerprint = new HashMap<>();
+		final BufferedReader reader = BioLockJUtil.getFileReader( file );
+		try {
+			for( String line = reader.readLine(); line != null; line = reader.readLine() ) {
+				final int index = line.indexOf( Constants.TAB_DELIM );
+				if( index > 0 ) fingerprint.put( line.substring( 0, index ), line.substring( index + 1 ) );
+			}
+		} finally {
+			reader.close();
+		}
+		return fingerprint;
+	}
+
+	/**
+	 * File values are "size,lastModified[,md5]". If both values include the MD5 checksum, the last-modified time is
+	 * ignored so files that are copied or touched without changes still match.
+	 */
+	private static boolean sameFile( final String prev, final String val ) {
+		final String[] prevParts = prev.split( "," );
+		final String[] parts = val.split( "," );
+		if( prevParts.length < 2 || parts.length < 2 || !prevParts[ 0 ].equals( parts[ 0 ] ) ) return false;
+		if( prevParts.length > 2 && parts.length > 2 ) return prevParts[ 2 ].equals( parts[ 2 ] );
+		return prevParts[ 1 ].equals( parts[ 1 ] );
+	}
+
+	/**
+	 * {@link biolockj.Config#getBoolean(BioModule, String)} reads undefined properties as
+	 * {@value biolockj.Constants#FALSE} and saves this default in the MASTER config, so an undefined (empty) value
+	 * matches {@value biolockj.Constants#FALSE}.
+	 */
+	private static boolean sameProp( final String prev, final String val ) {
+		if( prev.equals( val ) ) return true;
+		return prev.isEmpty() && val.equals( Constants.FALSE ) || val.isEmpty() && prev.equals( Constants.FALSE );
+	}
+
+	private static final int BUFFER_SIZE = 1024 * 1024;
+	private static final String FILE = "file:";
+	private static final String INTERNAL_PROP_PREFIX = "internal.";
+	private static final String MODULE = "module";
+	private static final String PROP = "prop:";
+	private static final String R_PROP_PREFIX = "r";
+	private static final Map<BioModule, Map<String, String>> usedProps = new ConcurrentHashMap<>();
+	private static final String VERSION = "version";
+}
@@ -0,0 +1,201 @@
+/**
+ * @UNCC Fodor Lab
+ * @author Michael Sioda
+ * @email msioda@uncc.edu
+ * @date Jun 12, 2019
+ * @disclaimer This code is free software; you can redistribute it and/or modify it under the terms of the GNU General
+ * Public License as published by the Free Software Foundation; either version 2 of the License, or (at your option) any
+ * later version, provided that any use properly credits the author. This program is distributed in the hope that it
+ * will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU General Public License for more details at http://www.gnu.org *
+ */
+package biolockj.util;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.lang.management.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.filefilter.HiddenFileFilter;
+import biolockj.Config;
+import biolockj.Constants;
+import biolockj.Log;
+import biolockj.module.BioModule;
+import biolockj.module.ScriptModule;
+
+/**
+ * This utility appends 1 row of performance metrics per module run to the tab-delimited pipeline metrics file
+ * {@value #METRICS_FILE} so runtimes can be compared across pipelines. Columns:
+ * <ul>
+ * <li>Module, Status (Success or Failures), Start time
+ * <li>Wall time and JVM CPU time (ms)
+ * <li>Peak JVM heap (bytes), N/A if the module ran concurrently with another module
+ * <li>Number of input files and bytes read, number of output files and bytes written
+ * <li>Records processed (as reported by the module, otherwise the number of input files) and records per second
+ * <li>Duration of each worker script (ms) for {@link biolockj.module.ScriptModule}s
+ * </ul>
+ * CPU time and peak heap are measured for the whole BioLockJ JVM, so CPU time also includes any module running
+ * concurrently and excludes the CPU time of module scripts. The JVM peak heap can only be reset for all modules at
+ * once, so it is only recorded for modules that ran alone.
+ */
+public class MetricsUtil {
+
+	// Prevents instantiation
+	private MetricsUtil() {}
+
+	/**
+	 * Add to the number of records processed by the module, such as reads or OTU hits.
+	 *
+	 * @param module BioModule
+	 * @param count Number of records
+	 */
+	public static void addRecords( final BioModule module, final long count ) {
+		records.computeIfAbsent( module, k -> new AtomicLong() ).addAndGet( count );
+	}
+
+	/**
+	 * Getter for the pipeline metrics file.
+	 *
+	 * @return Metrics file
+	 */
+	public static File getMetricsFile() {
+		return new File( Config.pipelinePath() + File.separator + METRICS_FILE );
+	}
+
+	/**
+	 * Append the module metrics to the pipeline metrics file. Errors are logged, but never fail the pipeline.
+	 *
+	 * @param module BioModule
+	 * @param success TRUE if the module completed successfully
+	 */
+	public static synchronized void saveMetrics( final BioModule module, final boolean success ) {
+		try {
+			final long[] start = startValues.remove( module );
+			final long startTime = start == null ? getStartedFile( module ).lastModified(): start[ 0 ];
+			final long wallTime = System.currentTimeMillis() - startTime;
+			final long cpuTime = start == null ? -1L: ( getProcessCpuTime() - start[ 1 ] ) / NANOS_PER_MILLI;
+			final String peakHeap =
+				start == null || overlapped.remove( module ) ? NOT_AVAILABLE: String.valueOf( getPeakHeap() );
+
+			long bytesRead = 0L;
+			for( final File file: module.getInputFiles() )
+				bytesRead += file.length();
+
+			final Collection<File> outputFiles = module.getOutputDir().isDirectory()
+				? FileUtils.listFiles( module.getOutputDir(), HiddenFileFilter.VISIBLE, HiddenFileFilter.VISIBLE )
+				: new ArrayList<>();
+			long bytesWritten = 0L;
+			for( final File file: outputFiles )
+				bytesWritten += file.length();
+
+			final AtomicLong count = records.remove( module );
+			final long numRecords = count == null ? module.getInputFiles().size(): count.get();
+			final double rate = wallTime > 0 ? numRecords * 1000.0 / wallTime: 0.0;
+
+			final File file = getMetricsFile();
+			final boolean addHeader = !file.isFile();
+			final BufferedWriter writer = new BufferedWriter( new FileWriter( file, true ) );
+			try {
+				if( addHeader ) writer.write( HEADER + Constants.RETURN );
+				writer.write( ModuleUtil.displayID( module ) + "_" + module.getClass().getSimpleName() + TAB +
+					( success ? Constants.SCRIPT_SUCCESS: Constants.SCRIPT_FAILURES ) + TAB + startTime + TAB +
+					wallTime + TAB + cpuTime + TAB + peakHeap + TAB + module.getInputFiles().size() + TAB +
+					bytesRead + TAB + outputFiles.size() + TAB + bytesWritten + TAB + numRecords + TAB +
+					String.format( "%.2f", rate ) + TAB + getWorkerDurations( module ) + Constants.RETURN );
+			} finally {
+				writer.close();
+			}
+		} catch( final Exception ex ) {
+			Log.warn( MetricsUtil.class,
+				"Unable to save metrics for " + module.getClass().getName() + ": " + ex.getMessage() );
+		}
+	}
+
+	/**
+	 * Record the module start time and JVM CPU time. If no other module is running, reset the peak heap usage.
+	 * Otherwise the peak heap is not reset (so the running modules keep their peak) and is not recorded for this module
+	 * or the modules already running.
+	 *
+	 * @param module BioModule
+	 */
+	public static synchronized void startModule( final BioModule module ) {
+		if( startValues.isEmpty() ) {
+			for( final MemoryPoolMXBean pool: ManagementFactory.getMemoryPoolMXBeans() )
+				if( pool.getType() == MemoryType.HEAP ) pool.resetPeakUsage();
+		} else {
+			overlapped.addAll( startValues.keySet() );
+			overlapped.add( module );
+		}
+		startValues.put( module, new long[] { System.currentTimeMillis(), getProcessCpuTime() } );
+		records.remove( module );
+	}
+
+	private static long getPeakHeap() {
+		long peak = 0L;
+		for( final MemoryPoolMXBean pool: ManagementFactory.getMemoryPoolMXBeans() )
+			if( pool.getType() == MemoryType.HEAP && pool.getPeakUsage() != null )
+				peak += pool.getPeakUsage().getUsed();
+		return peak;
+	}
+
+	/**
+	 * Get the CPU time used by the JVM process, or by the current thread if the platform does not report process CPU
+	 * time.
+	 */
+	private static long getProcessCpuTime() {
+		final OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+		if( os instanceof com.sun.management.OperatingSystemMXBean )
+			return ( (com.sun.management.OperatingSystemMXBean) os ).getProcessCpuTime();
+		return ManagementFactory.getThreadMXBean().getCurrentThreadCpuTime();
+	}
+
+	private static File getStartedFile( final BioModule module ) {
+		return new File( module.getModuleDir().getAbsolutePath() + File.separator + Constants.BLJ_STARTED );
+	}
+
+	/**
+	 * Worker script durations are measured from the indicator file timestamps, formatted as a comma-separated list of
+	 * scriptName:ms. The MAIN script is excluded.
+	 */
+	private static String getWorkerDurations( final BioModule module ) throws Exception {
+		if( !( module instanceof ScriptModule ) || !ModuleUtil.subDirExists( module, Constants.SCRIPT_DIR ) ) return "";
+		final ScriptModule scriptModule = (ScriptModule) module;
+		final File[] files = scriptModule.getScriptDir().listFiles();
+		if( files == null ) return "";
+
+		final StringBuilder sb = new StringBuilder();
+		final String startedSuffix = "_" + Constants.SCRIPT_STARTED;
+		final File mainScript = scriptModule.getMainScript();
+		for( final File started: new TreeSet<>( Arrays.asList( files ) ) ) {
+			if( !started.getName().endsWith( startedSuffix ) ) continue;
+			final String path = started.getAbsolutePath();
+			final File script = new File( path.substring( 0, path.length() - startedSuffix.length() ) );
+			if( script.equals( mainScript ) ) continue;
+
+			File finish = new File( script.getAbsolutePath() + "_" + Constants.SCRIPT_SUCCESS );
+			if( !finish.isFile() ) finish = new File( script.getAbsolutePath() + "_" + Constants.SCRIPT_FAILURES );
+			if( !finish.isFile() ) continue;
+			sb.append( sb.length() == 0 ? "": "," ).append( script.getName() ).append( ":" )
+				.append( finish.lastModified() - started.lastModified() );
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Name of the tab-delimited pipeline metrics file: {@value #METRICS_FILE}
+	 */
+	public static final String METRICS_FILE = "metrics" + Constants.TSV_EXT;
+
+	private static final String TAB = Constants.TAB_DELIM;
+	private static final String HEADER = "Module" + TAB + "Status" + TAB + "Start" + TAB + "WallTimeMs" + TAB +
+		"CpuTimeMs" + TAB + "PeakHeapBytes" + TAB + "NumInputFiles" + TAB + "BytesRead" + TAB + "NumOutputFiles" +
+		TAB + "BytesWritten" + TAB + "Records" + TAB + "RecordsPerSec" + TAB + "WorkerDurationsMs";
+	private static final long NANOS_PER_MILLI = 1000000L;
+	private static final String NOT_AVAILABLE = "N/A";
+	private static final Set<BioModule> overlapped = ConcurrentHashMap.newKeySet();
+	private static final Map<BioModule, AtomicLong> records = new ConcurrentHashMap<>();
+	private static final Map<BioModule, long[]> startValues = new ConcurrentHashMap<>();
+}
@@ -18,6 +18,7 @@ import biolockj.exception.ConfigFormatException;
 import biolockj.exception.ConfigNotFoundException;
 import biolockj.module.BioModule;
 import biolockj.module.JavaModule;
+import biolockj.module.PartitionedModule;
 import biolockj.module.classifier.ClassifierModule;
 import biolockj.module.implicit.Demultiplexer;
 import biolockj.module.report.r.R_CalculateStats;
@@ -197,7 +198,9 @@ public class ModuleUtil {
 	}
 
 	/**
-	 * Get the actual number of worker scripts generated for a given module, minimum value = 1.
+	 * Get the actual number of worker scripts generated for a given module, minimum value = 1.<br>
+	 * A {@link biolockj.module.JavaModule} has 1 worker unless it is a {@link biolockj.module.PartitionedModule} that
+	 * runs in the BioLockJ JVM, in which case each worker processes 1 partition of the input files.
 	 * 
 	 * @param module BioModule
 	 * @return Number of worker scripts generated for a given module.
@@ -207,7 +210,8 @@ public class ModuleUtil {
 	 */
 	public static Integer getNumWorkers( final BioModule module )
 		throws ConfigNotFoundException, ConfigFormatException {
-		if( module instanceof JavaModule ) return 1;
+		if( module instanceof JavaModule &&
+			( !( module instanceof PartitionedModule ) || isDetachedJavaModule( module ) ) ) return 1;
 		final int count = Config.requirePositiveInteger( module, Constants.SCRIPT_NUM_WORKERS );
 		return Math.max( 1, Math.min( count, module.getInputFiles().size() ) );
 	}
@@ -257,6 +261,22 @@ public class ModuleUtil {
 		return f.isFile();
 	}
 
+	/**
+	 * Return TRUE if module is a {@link biolockj.module.JavaModule} that runs in a separate instance of BioLockJ, called
+	 * from its own bash script. This is the case if
+	 * {@link biolockj.Config}.{@value biolockj.Constants#DETACH_JAVA_MODULES}={@value biolockj.Constants#TRUE} when
+	 * running on the cluster or in Docker (but not in direct mode, which is the detached instance).
+	 *
+	 * @param module BioModule
+	 * @return TRUE if module is a detached JavaModule
+	 * @throws ConfigFormatException if {@value biolockj.Constants#DETACH_JAVA_MODULES} is not a valid boolean
+	 */
+	public static boolean isDetachedJavaModule( final BioModule module ) throws ConfigFormatException {
+		if( !( module instanceof JavaModule ) || BioLockJUtil.isDirectMode() ) return false;
+		return Config.getBoolean( module, Constants.DETACH_JAVA_MODULES ) &&
+			( DockerUtil.inDockerEnv() || Config.isOnCluster() );
+	}
+
 	/**
 	 * Test if module is the first {@link biolockj.module.report.r.R_Module} configured in the pipeline.
 	 * 
@@ -245,10 +245,9 @@ public class NextflowUtil {
 	 * subprocess is finished. Also create pipeline success flag file in $HOME dir on the EC2 head node.
 	 */
 	public static void stopNextflow() {
-		if( nfMainThread != null ) {
-			nfMainThread.interrupt();
-			Processor.deregisterThread( nfMainThread );
-			Log.info( NextflowUtil.class, "Nextflow process thread de-registered" );
+		if( nfMainJob != null ) {
+			Processor.cancelSubprocess( nfMainJob );
+			Log.info( NextflowUtil.class, "Nextflow process cancelled and de-registered" );
 		}
 
 		try {
@@ -400,8 +399,8 @@ public class NextflowUtil {
 		return true;
 	}
 
-	private static void setNfMainThread( final Thread thread ) {
-		nfMainThread = thread;
+	private static void setNfMainJob( final Long id ) {
+		nfMainJob = id;
 	}
 
 	private static void startService() throws ConfigNotFoundException {
@@ -418,7 +417,7 @@ public class NextflowUtil {
 		args[ 8 ] = "-with-dag";
 		args[ 9 ] = reportBase + "nextflow_diagram.html";
 		args[ 10 ] = getMainNf().getAbsolutePath();
-		setNfMainThread( Processor.runSubprocess( args, "Nextflow" ) );
+		setNfMainJob( Processor.runSubprocess( args, "Nextflow" ) );
 	}
 
 	private static File templateConfig() {
@@ -524,7 +523,7 @@ public class NextflowUtil {
 	private static final String NF_LOG_NAME = ".nextflow.log";
 	private static final String NF_MEMORY = "$" + AWS_RAM;
 	private static final int NF_TIMEOUT = 180;
-	private static Thread nfMainThread = null;
+	private static Long nfMainJob = null;
 	private static final String ON_DEMAND = "DEMAND";
 	private static final String PROCESS = "process";
 	private static final String S3_DIR = "s3://";
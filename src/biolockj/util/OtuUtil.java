@@ -15,6 +15,7 @@ import java.io.*;
 import java.util.*;
 import biolockj.*;
 import biolockj.exception.OtuFileException;
+import biolockj.module.BioModule;
 
 /**
  * This utility helps work with OTU count files as formatted by the
@@ -76,7 +77,8 @@ public class OtuUtil {
 	}
 
 	/**
-	 * Compile OTU counts from an individual sample OTU count file
+	 * Compile OTU counts from an individual sample OTU count file, in TSV or {@link biolockj.util.BinaryTableUtil}
+	 * format.
 	 * 
 	 * @param file OTU count file
 	 * @return TreeMap(OTU, count)
@@ -87,6 +89,12 @@ public class OtuUtil {
 	public static TreeMap<String, Long> compileSampleOtuCounts( final File file )
 		throws OtuFileException, FileNotFoundException, IOException {
 		final TreeMap<String, Long> otuCounts = new TreeMap<>();
+		if( BinaryTableUtil.isBinaryTable( file ) ) {
+			for( final TreeMap<String, Long> rowCounts: BinaryTableUtil.readTable( file ).values() )
+				otuCounts.putAll( rowCounts );
+			return otuCounts;
+		}
+
 		final BufferedReader reader = BioLockJUtil.getFileReader( file );
 		try {
 			for( String line = reader.readLine(); line != null; line = reader.readLine() ) {
@@ -188,6 +196,10 @@ public class OtuUtil {
 		try {
 			final String name = file.getName();
 			if( name.contains( "_" + Constants.OTU_COUNT + "_" ) && name.endsWith( Constants.TSV_EXT ) ) {
+				if( BinaryTableUtil.isBinaryTable( file ) ) {
+					Log.debug( OtuUtil.class, "Found binary OTU file for: " + BinaryTableUtil.getRowIds( file ) );
+					return true;
+				}
 				reader = BioLockJUtil.getFileReader( file );
 				final OtuCountLine otuCountLine = new OtuCountLine( reader.readLine() );
 				Log.debug( OtuUtil.class, "Found OTU file " + otuCountLine.getOtu() + " : " + otuCountLine.getCount() );
@@ -206,4 +218,32 @@ public class OtuUtil {
 		return false;
 	}
 
+	/**
+	 * Write the sample OTU count file. The file is written in {@link biolockj.util.BinaryTableUtil} format if
+	 * {@link biolockj.util.BinaryTableUtil#useBinaryTables(BioModule)}, otherwise as TSV with 1 OTU per line.
+	 * 
+	 * @param module BioModule writing the file
+	 * @param file OTU count file
+	 * @param sampleId Sample ID
+	 * @param otuCounts TreeMap(OTU, count)
+	 * @throws Exception if errors occur writing the file
+	 */
+	public static void writeOtuCountFile( final BioModule module, final File file, final String sampleId,
+		final TreeMap<String, Long> otuCounts ) throws Exception {
+		if( BinaryTableUtil.useBinaryTables( module ) ) {
+			final TreeMap<String, TreeMap<String, Long>> row = new TreeMap<>();
+			row.put( sampleId, otuCounts );
+			BinaryTableUtil.writeTable( file, otuCounts.keySet(), row );
+			return;
+		}
+
+		final BufferedWriter writer = new BufferedWriter( new FileWriter( file ) );
+		try {
+			for( final String otu: otuCounts.keySet() )
+				writer.write( otu + Constants.TAB_DELIM + otuCounts.get( otu ) + Constants.RETURN );
+		} finally {
+			writer.close();
+		}
+	}
+
 }
@@ -139,28 +139,28 @@ public final class RMetaUtil {
 			Log.info( RMetaUtil.class, "R_Modules will report on the all [" + rScriptFields.size() +
 				"] metadata fields since Config property: " + R_REPORT_FIELDS + " is undefined." );
 
+		final Map<String, FieldProfile> profiles = getMetaProfile();
 		for( final String field: rScriptFields ) {
-			final Set<String> data = MetaUtil.getUniqueFieldValues( field, true );
+			final FieldProfile profile = profiles.get( field );
+			if( profile == null )
+				throw new MetadataException( "Invalid field [" + field + "] in Metadata = " + MetaUtil.getPath() );
+			final Set<String> data = profile.uniqueVals;
 			final int count = data.size();
-			if( !BioLockJUtil.isDirectMode() )
-				Log.info( RMetaUtil.class, "Metadata field [" + field + "] has " + count + " unique non-null values." );
+			if( !BioLockJUtil.isDirectMode() ) Log.info( RMetaUtil.class, "Metadata field [" + field + "] has " +
+				count + " unique non-null values (" + profile.numNulls + " null values)." );
 
 			if( count < 2 ) throw new MetadataException(
 				"Metadata field [" + field + "] is invalid!  Statistical tests require at least 2 unique values." );
 
-			if( numericFields.contains( field ) ) verifyNumericData( field, data );
-			else if( count == 2 ) {
+			if( numericFields.contains( field ) ) {
+				if( profile.foundNominal ) verifyNumericData( field, data );
+			} else if( count == 2 ) {
 				binaryFields.add( field );
 				numericFields.remove( field );
 				nominalFields.remove( field );
 			} else if( !nominalFields.contains( field ) ) {
-				boolean foundNumeric = false;
-				boolean foundNominal = false;
-
-				for( final String val: data )
-					if( NumberUtils.isNumber( val ) ) foundNumeric = true;
-					else foundNominal = true;
-
+				final boolean foundNumeric = profile.foundNumeric;
+				final boolean foundNominal = profile.foundNominal;
 				if( foundNominal && !foundNumeric ) { // all nominal
 					nominalFields.add( field );
 					if( !BioLockJUtil.isDirectMode() )
@@ -290,6 +290,49 @@ public final class RMetaUtil {
 		return cols;
 	}
 
+	/**
+	 * Profile every metadata field in a single pass over the cached metadata records, collecting the unique non-null
+	 * values, null count, and numeric/nominal classification of each column. The profile is cached until the metadata
+	 * file changes, so each R module reuses it.
+	 * 
+	 * @return Map field name to profile
+	 * @throws MetadataException if unable to read the metadata cache
+	 */
+	private static Map<String, FieldProfile> getMetaProfile() throws MetadataException {
+		final File meta = MetaUtil.getMetadata();
+		final String snapshot = meta == null ? "": meta.getAbsolutePath() + "@" + meta.lastModified();
+		if( metaProfile != null && snapshot.equals( profiledMetadata ) ) return metaProfile;
+
+		final List<String> fields = MetaUtil.getFieldNames();
+		final String nullVal = MetaUtil.getNullValue( null );
+		final FieldProfile[] cols = new FieldProfile[ fields.size() ];
+		for( int i = 0; i < cols.length; i++ )
+			cols[ i ] = new FieldProfile();
+
+		for( final String id: MetaUtil.getSampleIds() ) {
+			final List<String> record = MetaUtil.getRecord( id );
+			final int numCols = Math.min( cols.length, record.size() );
+			for( int i = 0; i < numCols; i++ ) {
+				final String val = record.get( i );
+				if( val == null || val.trim().isEmpty() || val.equals( nullVal ) ) cols[ i ].numNulls++;
+				else cols[ i ].uniqueVals.add( val );
+			}
+		}
+
+		final Map<String, FieldProfile> profiles = new HashMap<>();
+		for( int i = 0; i < cols.length; i++ ) {
+			for( final String val: cols[ i ].uniqueVals )
+				if( NumberUtils.isNumber( val ) ) cols[ i ].foundNumeric = true;
+				else cols[ i ].foundNominal = true;
+			profiles.put( fields.get( i ), cols[ i ] );
+		}
+
+		Log.debug( RMetaUtil.class, "Profiled " + profiles.size() + " metadata fields: " + snapshot );
+		metaProfile = profiles;
+		profiledMetadata = snapshot;
+		return metaProfile;
+	}
+
 	private static boolean hasQiimeMapping() {
 		for( final BioModule module: Pipeline.getModules() )
 			if( module.getClass().getName().toLowerCase().contains( Constants.QIIME ) ) {
@@ -314,7 +357,7 @@ public final class RMetaUtil {
 
 	private static boolean isValidNumericField( final String field ) throws Exception {
 		if( field != null && MetaUtil.getFieldNames().contains( field ) ) {
-			final int count = MetaUtil.getUniqueFieldValues( field, true ).size();
+			final int count = getMetaProfile().get( field ).uniqueVals.size();
 			if( count > 1 ) return true;
 			Log.warn( RMetaUtil.class, "Metadata field [" + field + "] has only " + count +
 				" unique values.  R modules will not include this field because statistical tests require at least 2 unique values." );
@@ -341,6 +384,16 @@ public final class RMetaUtil {
 				" contains field [" + field + "] with non-numeric data [" + val + "]" );
 	}
 
+	/**
+	 * Column statistics gathered by {@link RMetaUtil#getMetaProfile()}
+	 */
+	private static final class FieldProfile {
+		private boolean foundNominal = false;
+		private boolean foundNumeric = false;
+		private int numNulls = 0;
+		private final Set<String> uniqueVals = new HashSet<>();
+	}
+
 	/**
 	 * {@link biolockj.Config} Internal List property: {@value #BINARY_FIELDS}<br>
 	 * Binary fields contain only 2 unique non-NA options
@@ -389,9 +442,11 @@ public final class RMetaUtil {
 
 	private static Set<String> binaryFields = null;
 	private static Set<String> mdsFields = null;
+	private static Map<String, FieldProfile> metaProfile = null;
 	private static final String NOMINAL_FIELDS = "R_internal.nominalFields";
 	private static Set<String> nominalFields = null;
 	private static final String NUMERIC_FIELDS = "R_internal.numericFields";
 	private static Set<String> numericFields = null;
+	private static String profiledMetadata = null;
 	private static final String QIIME_ALPHA_METRIC_SUFFIX = "_alpha";
 }
@@ -156,7 +156,7 @@ public class SeqUtil {
 		Log.debug( SeqUtil.class, "Looking for paired reads in " + ( files == null ? 0: files.size() ) + " files " );
 		if( files == null || files.isEmpty() )
 			throw new SequnceFormatException( "No files passed to getPairedReads( files )" );
-		final Map<File, File> map = new HashMap<>();
+		final Map<File, File> map = new LinkedHashMap<>();
 		final Set<String> rvReads = new HashSet<>();
 		final Set<File> unpairedFwReads = new HashSet<>();
 		for( final File fwRead: files ) {
@@ -557,9 +557,10 @@ public class SummaryUtil {
 			Log.info( SummaryUtil.class,
 				"Update BioModule summary [ " + module.getClass().getName() + " ] " + summaryFile.getAbsolutePath() );
 			Integer modNum = 0;
+			String laterModules = "";
 			if( !summaryFile.isFile() ) sb.append( getHeading() );
 			else {
-				resetModuleSummary( module );
+				laterModules = resetModuleSummary( module );
 				modNum = getModuleNumber();
 			}
 
@@ -575,6 +576,7 @@ public class SummaryUtil {
 				sb.append( getDashes( Math.max( modLabel.length(), runtime.length() ) ) + RETURN + summary +
 					( summary.endsWith( RETURN ) ? "": RETURN ) );
 			sb.append( EXT_SPACER + RETURN );
+			sb.append( laterModules );
 		}
 
 		saveSummary( sb.toString() );
@@ -659,24 +661,31 @@ public class SummaryUtil {
 
 	/**
 	 * Modules can be forced to reset to incomplete status. In this scenario, this method will remove the summary for
-	 * completed modules that are rerun.
+	 * completed modules that are rerun, along with any failure details. Summaries of later modules that were not rerun
+	 * (because their fingerprint was unchanged) are removed from the file and returned, so the caller can append them
+	 * after the new summary of the rerun module.
 	 * 
 	 * @param module Rerun module
+	 * @return Summary of the modules after the rerun module, or an empty String
 	 * @throws Exception if unable to reset the summary
 	 */
-	protected static void resetModuleSummary( final BioModule module ) throws Exception {
+	protected static String resetModuleSummary( final BioModule module ) throws Exception {
 		FileUtils.copyFile( getSummaryFile(), getTempFile() );
 		getSummaryFile().delete();
+		final StringBuffer laterModules = new StringBuffer();
 		final BufferedReader reader = BioLockJUtil.getFileReader( getTempFile() );
 		final BufferedWriter writer = new BufferedWriter( new FileWriter( getSummaryFile() ) );
 		try {
-
 			boolean foundMod = false;
+			boolean inMod = false;
 			for( String line = reader.readLine(); line != null; line = reader.readLine() ) {
-				final String label = MODULE + "[";
-				if( foundMod ) break;
-				else if( line.startsWith( EXCEPTION_LABEL ) ||
-					line.startsWith( label ) && line.endsWith( module.getClass().getName() ) ) foundMod = true;
+				if( line.startsWith( EXCEPTION_LABEL ) ) break;
+				if( line.startsWith( MODULE + "[" ) ) {
+					inMod = line.endsWith( module.getClass().getName() );
+					foundMod = foundMod || inMod;
+				}
+				if( inMod ) continue;
+				if( foundMod ) laterModules.append( line + RETURN );
 				else writer.write( line + RETURN );
 			}
 			getTempFile().delete();
@@ -684,6 +693,7 @@ public class SummaryUtil {
 			if( reader != null ) reader.close();
 			writer.close();
 		}
+		return laterModules.toString();
 	}
 
 	/**
@@ -0,0 +1,546 @@
+/**
+ * @UNCC Fodor Lab
+ * @author Michael Sioda
+ * @email msioda@uncc.edu
+ * @date Jun 19, 2019
+ * @disclaimer This code is free software; you can redistribute it and/or modify it under the terms of the GNU General
+ * Public License as published by the Free Software Foundation; either version 2 of the License, or (at your option) any
+ * later version, provided that any use properly credits the author. This program is distributed in the hope that it
+ * will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU General Public License for more details at http://www.gnu.org *
+ */
+package biolockj.util;
+
+import java.io.*;
+import java.util.*;
+import java.util.zip.GZIPOutputStream;
+import biolockj.Constants;
+
+/**
+ * This utility writes synthetic datasets to test BioLockJ at scale without real data or network access. Datasets are
+ * defined by the number of samples, the read depth (reads per sample) and the taxa richness (size of the OTU pool the
+ * sample reads are drawn from). Files are written in the formats read by {@link biolockj.util.SeqUtil},
+ * {@link biolockj.util.MetaUtil} and the {@link biolockj.module.implicit.parser} modules:
+ * <ul>
+ * <li>FASTA/FASTQ sequence files, optionally gzipped, 1 per sample or multiplexed with the Sample ID and barcode in
+ * each header
+ * <li>Kraken, Kraken2, MetaPhlAn2 and RDP classifier reports
+ * <li>HumanN2 pathway abundance, pathway coverage and gene family tables
+ * <li>OTU count files
+ * <li>Metadata with a barcode column and categorical and numeric fields
+ * </ul>
+ * Output is deterministic: each sample reads a random generator seeded by the seed parameter and the Sample ID, so
+ * the same sample always has the same taxa abundance profile in every file type, regardless of the number or order of
+ * samples generated. OTU abundance follows a log-normal perturbed rank-abundance curve, so a few OTUs are common and
+ * most are rare. Taxonomy is a tree with 4 child taxa per parent, OTU n has species "species_n".
+ */
+public class SyntheticDataUtil {
+
+	// Prevents instantiation
+	private SyntheticDataUtil() {}
+
+	/**
+	 * Get the barcode for sample number sampleNum. Barcodes are 8 bases long, so they are unique for up to 65536
+	 * samples.
+	 *
+	 * @param sampleNum Sample number
+	 * @return Barcode sequence
+	 */
+	public static String getBarcode( final int sampleNum ) {
+		final char[] barcode = new char[ BARCODE_LEN ];
+		int num = sampleNum;
+		for( int i = BARCODE_LEN - 1; i >= 0; i-- ) {
+			barcode[ i ] = BASES[ num % BASES.length ];
+			num /= BASES.length;
+		}
+		return new String( barcode );
+	}
+
+	/**
+	 * Get the OTU path for OTU number otuNum, with a taxa name at every taxonomy level.
+	 *
+	 * @param otuNum OTU number
+	 * @return OTU path, such as domain__domain_0|phylum__phylum_0|...|species__species_42
+	 */
+	public static String getOtu( final int otuNum ) {
+		final List<String> levels = TaxaUtil.allTaxonomyLevels();
+		final String[] names = getTaxaNames( otuNum );
+		final StringBuilder sb = new StringBuilder();
+		for( int i = 0; i < names.length; i++ )
+			sb.append( i == 0 ? "": Constants.OTU_SEPARATOR )
+				.append( OtuUtil.buildOtuTaxa( levels.get( i ), names[ i ] ) );
+		return sb.toString();
+	}
+
+	/**
+	 * Get the Sample IDs for numSamples samples. IDs are zero-padded so they sort in sample number order and contain
+	 * no underscore, so they can be read from multiplexed sequence headers.
+	 *
+	 * @param numSamples Number of samples
+	 * @return List of Sample IDs
+	 */
+	public static List<String> getSampleIds( final int numSamples ) {
+		final List<String> ids = new ArrayList<>();
+		final int numDigits = String.valueOf( numSamples ).length();
+		for( int i = 1; i <= numSamples; i++ )
+			ids.add( SAMPLE_PREFIX + BioLockJUtil.formatDigits( i, numDigits ) );
+		return ids;
+	}
+
+	/**
+	 * Write a HumanN2 summary table, as output by {@link biolockj.module.classifier.wgs.Humann2Classifier}, with 1 row
+	 * per pathway (or gene family) plus the UNMAPPED and UNINTEGRATED rows, and 1 column per sample.
+	 *
+	 * @param dir Target directory
+	 * @param type Table type: {@value biolockj.Constants#HN2_PATH_ABUND_SUM},
+	 * {@value biolockj.Constants#HN2_PATH_COVG_SUM} or {@value biolockj.Constants#HN2_GENE_FAM_SUM}
+	 * @param sampleIds Sample IDs
+	 * @param numReads Read depth
+	 * @param numPathways Number of pathways (or gene families)
+	 * @param seed Random seed
+	 * @return HumanN2 table
+	 * @throws Exception if errors occur writing the file
+	 */
+	public static File writeHumann2Table( final File dir, final String type, final List<String> sampleIds,
+		final int numReads, final int numPathways, final long seed ) throws Exception {
+		final boolean isGeneFam = type.equals( Constants.HN2_GENE_FAM_SUM );
+		final boolean isCovg = type.equals( Constants.HN2_PATH_COVG_SUM );
+		final List<long[]> counts = new ArrayList<>();
+		for( final String id: sampleIds )
+			counts.add( getCounts( getRandom( seed, id ), numReads, numPathways + 2 ) );
+
+		final File file = new File( dir, PathwayUtil.getHn2ClassifierOutput( type ) );
+		final BufferedWriter writer = new BufferedWriter( new FileWriter( file ) );
+		try {
+			final StringBuilder sb = new StringBuilder( isGeneFam ? "# Gene Family": "# Pathway" );
+			for( final String id: sampleIds )
+				sb.append( Constants.TAB_DELIM ).append( id )
+					.append( isGeneFam ? "_Abundance-RPKs": isCovg ? "_Coverage": "_Abundance" );
+			writer.write( sb.toString() + Constants.RETURN );
+			for( int i = 0; i < numPathways + 2; i++ ) {
+				sb.setLength( 0 );
+				sb.append( i == 0 ? UNMAPPED: i == 1 ? UNINTEGRATED
+					: isGeneFam ? "UniRef90_G" + ( i - 1 ): "PWY-" + ( i - 1 ) + ": synthetic pathway " + ( i - 1 ) );
+				for( final long[] sampleCounts: counts ) {
+					sb.append( Constants.TAB_DELIM );
+					if( isCovg ) sb.append( sampleCounts[ i ] == 0 ? 0.0: 1.0 - 1.0 / ( sampleCounts[ i ] + 1 ) );
+					else sb.append( sampleCounts[ i ] );
+				}
+				writer.write( sb.toString() + Constants.RETURN );
+			}
+		} finally {
+			writer.close();
+		}
+		return file;
+	}
+
+	/**
+	 * Write a Kraken2 mpa-style report, as output by {@link biolockj.module.classifier.wgs.Kraken2Classifier}. Each
+	 * line holds the number of reads assigned to the clade or any of its child taxa.
+	 *
+	 * @param dir Target directory
+	 * @param sampleId Sample ID
+	 * @param numReads Read depth
+	 * @param numOtus Taxa richness
+	 * @param seed Random seed
+	 * @return Kraken2 report
+	 * @throws Exception if errors occur writing the file
+	 */
+	public static File writeKraken2File( final File dir, final String sampleId, final int numReads, final int numOtus,
+		final long seed ) throws Exception {
+		final File file = new File( dir, sampleId + Constants.PROCESSED );
+		final BufferedWriter writer = new BufferedWriter( new FileWriter( file ) );
+		try {
+			final Map<String, Long> cladeCounts = getCladeCounts( getRandom( seed, sampleId ), numReads, numOtus,
+				KRAKEN_DOMAIN );
+			for( final String clade: cladeCounts.keySet() )
+				writer.write( clade + Constants.TAB_DELIM + cladeCounts.get( clade ) + Constants.RETURN );
+		} finally {
+			writer.close();
+		}
+		return file;
+	}
+
+	/**
+	 * Write a Kraken mpa-format report, as output by kraken-translate in
+	 * {@link biolockj.module.classifier.wgs.KrakenClassifier}, with 1 line per classified read. About 10%
+	 * of reads are only classified to a higher taxonomy level.
+	 *
+	 * @param dir Target directory
+	 * @param sampleId Sample ID
+	 * @param numReads Read depth
+	 * @param numOtus Taxa richness
+	 * @param seed Random seed
+	 * @return Kraken report
+	 * @throws Exception if errors occur writing the file
+	 */
+	public static File writeKrakenFile( final File dir, final String sampleId, final int numReads, final int numOtus,
+		final long seed ) throws Exception {
+		final Random random = getRandom( seed, sampleId );
+		final double[] abundance = getAbundance( random, numOtus );
+		final int numLevels = TaxaUtil.allTaxonomyLevels().size();
+		final File file = new File( dir, sampleId + Constants.PROCESSED );
+		final BufferedWriter writer = new BufferedWriter( new FileWriter( file ) );
+		try {
+			for( int i = 0; i < numReads; i++ ) {
+				final int otuNum = nextOtu( random, abundance );
+				final int depth = random.nextInt( 100 ) < PARTIAL_TAXA_PERCENT ? 1 + random.nextInt( numLevels - 1 )
+					: numLevels;
+				writer.write( sampleId + "." + i + Constants.TAB_DELIM +
+					getMpaTaxa( getTaxaNames( otuNum ), depth, KRAKEN_DOMAIN ) +
+					Constants.RETURN );
+			}
+		} finally {
+			writer.close();
+		}
+		return file;
+	}
+
+	/**
+	 * Write a MetaPhlAn2 report, as output by {@link biolockj.module.classifier.wgs.Metaphlan2Classifier} with
+	 * "-t rel_ab_w_read_stats", with 1 line per clade.
+	 *
+	 * @param dir Target directory
+	 * @param sampleId Sample ID
+	 * @param numReads Read depth
+	 * @param numOtus Taxa richness
+	 * @param seed Random seed
+	 * @return MetaPhlAn2 report
+	 * @throws Exception if errors occur writing the file
+	 */
+	public static File writeMetaphlan2File( final File dir, final String sampleId, final int numReads,
+		final int numOtus, final long seed ) throws Exception {
+		final Random random = getRandom( seed, sampleId );
+		final Map<String, Long> cladeCounts =
+			getCladeCounts( random, numReads, numOtus, METAPHLAN_DOMAIN );
+		final File file = new File( dir, sampleId + Constants.PROCESSED );
+		final BufferedWriter writer = new BufferedWriter( new FileWriter( file ) );
+		try {
+			writer.write( "#SampleID" + Constants.TAB_DELIM + "Metaphlan2_Analysis" + Constants.RETURN );
+			writer.write( "#clade_name" + Constants.TAB_DELIM + "relative_abundance" + Constants.TAB_DELIM +
+				"coverage" + Constants.TAB_DELIM + "average_genome_length_in_the_clade" + Constants.TAB_DELIM +
+				"estimated_number_of_reads_from_the_clade" + Constants.RETURN );
+			final long total = numReads > 0 ? numReads: 1;
+			for( final String clade: cladeCounts.keySet() ) {
+				final long count = cladeCounts.get( clade );
+				writer.write( clade + Constants.TAB_DELIM + 100.0 * count / total + Constants.TAB_DELIM +
+					count / 1000.0 + Constants.TAB_DELIM + ( 1000000 + random.nextInt( 4000000 ) ) +
+					Constants.TAB_DELIM + count + Constants.RETURN );
+			}
+		} finally {
+			writer.close();
+		}
+		return file;
+	}
+
+	/**
+	 * Write a metadata file with 1 row per sample. Columns: {@value #BARCODE_COLUMN} (if barcodes=TRUE),
+	 * {@value #GROUP_COLUMN} (categorical), {@value #AGE_COLUMN} (numeric) and {@value #BMI_COLUMN} (numeric, about
+	 * 5% of values are NA).
+	 *
+	 * @param file Metadata file
+	 * @param sampleIds Sample IDs
+	 * @param barcodes if TRUE add the {@value #BARCODE_COLUMN} column, barcode n is {@link #getBarcode(int)}
+	 * @param seed Random seed
+	 * @return Metadata file
+	 * @throws Exception if errors occur writing the file
+	 */
+	public static File writeMetadata( final File file, final List<String> sampleIds, final boolean barcodes,
+		final long seed ) throws Exception {
+		final BufferedWriter writer = new BufferedWriter( new FileWriter( file ) );
+		try {
+			writer.write( MetaUtil.getID() + ( barcodes ? Constants.TAB_DELIM + BARCODE_COLUMN: "" ) +
+				Constants.TAB_DELIM + GROUP_COLUMN + Constants.TAB_DELIM + AGE_COLUMN + Constants.TAB_DELIM +
+				BMI_COLUMN + Constants.RETURN );
+			for( int i = 0; i < sampleIds.size(); i++ ) {
+				final Random random = getRandom( seed, sampleIds.get( i ) );
+				writer.write( sampleIds.get( i ) + ( barcodes ? Constants.TAB_DELIM + getBarcode( i ): "" ) +
+					Constants.TAB_DELIM + ( random.nextBoolean() ? "case": "control" ) + Constants.TAB_DELIM +
+					( 18 + random.nextInt( 60 ) ) + Constants.TAB_DELIM +
+					( random.nextInt( 100 ) < 5 ? NA: String.valueOf( 18 + random.nextInt( 200 ) / 10.0 ) ) +
+					Constants.RETURN );
+			}
+		} finally {
+			writer.close();
+		}
+		return file;
+	}
+
+	/**
+	 * Write 1 multiplexed sequence file with numReads reads for each sample. Reads are interleaved across samples. Each
+	 * header holds the Sample ID, the read number, the Illumina forward read indicator and the sample barcode from
+	 * {@link #getBarcode(int)}, so the file can be demultiplexed with the Sample ID or barcode in the header.
+	 *
+	 * @param dir Target directory
+	 * @param name File name, without extension
+	 * @param sampleIds Sample IDs
+	 * @param numReads Read depth
+	 * @param readLen Read length
+	 * @param fastq if TRUE write FASTQ format, otherwise FASTA
+	 * @param gzip if TRUE gzip the file
+	 * @param seed Random seed
+	 * @return Multiplexed sequence file
+	 * @throws Exception if errors occur writing the file
+	 */
+	public static File writeMultiplexedSeqFile( final File dir, final String name, final List<String> sampleIds,
+		final int numReads, final int readLen, final boolean fastq, final boolean gzip, final long seed )
+		throws Exception {
+		final List<Random> randoms = new ArrayList<>();
+		for( final String id: sampleIds )
+			randoms.add( getRandom( seed, id ) );
+
+		final File file = getSeqFile( dir, name, fastq, gzip );
+		final BufferedWriter writer = getWriter( file, gzip );
+		try {
+			final char[] seq = new char[ readLen ];
+			for( int i = 0; i < numReads; i++ )
+				for( int j = 0; j < sampleIds.size(); j++ )
+					writeRead( writer, sampleIds.get( j ), i, getBarcode( j ), seq, fastq, randoms.get( j ) );
+		} finally {
+			writer.close();
+		}
+		return file;
+	}
+
+	/**
+	 * Write the OTU count file for the sample, as output by the {@link biolockj.module.implicit.parser} modules.
+	 *
+	 * @param dir Target directory
+	 * @param sampleId Sample ID
+	 * @param numReads Read depth
+	 * @param numOtus Taxa richness
+	 * @param seed Random seed
+	 * @return OTU count file
+	 * @throws Exception if errors occur writing the file
+	 */
+	public static File writeOtuCountFile( final File dir, final String sampleId, final int numReads,
+		final int numOtus, final long seed ) throws Exception {
+		final long[] counts = getCounts( getRandom( seed, sampleId ), numReads, numOtus );
+		final TreeMap<String, Long> otuCounts = new TreeMap<>();
+		for( int i = 0; i < counts.length; i++ )
+			if( counts[ i ] > 0 ) otuCounts.put( getOtu( i ), counts[ i ] );
+
+		final File file = OtuUtil.getOtuCountFile( dir, sampleId, null );
+		final BufferedWriter writer = new BufferedWriter( new FileWriter( file ) );
+		try {
+			for( final String otu: otuCounts.keySet() )
+				writer.write( otu + Constants.TAB_DELIM + otuCounts.get( otu ) + Constants.RETURN );
+		} finally {
+			writer.close();
+		}
+		return file;
+	}
+
+	/**
+	 * Write an RDP report, as output by {@link biolockj.module.classifier.r16s.RdpClassifier}, with 1 line per read.
+	 * RDP does not classify species, so each read is classified down to genus. Confidence scores decrease at each
+	 * lower taxonomy level.
+	 *
+	 * @param dir Target directory
+	 * @param sampleId Sample ID
+	 * @param numReads Read depth
+	 * @param numOtus Taxa richness
+	 * @param seed Random seed
+	 * @return RDP report
+	 * @throws Exception if errors occur writing the file
+	 */
+	public static File writeRdpFile( final File dir, final String sampleId, final int numReads, final int numOtus,
+		final long seed ) throws Exception {
+		final Random random = getRandom( seed, sampleId );
+		final double[] abundance = getAbundance( random, numOtus );
+		final List<String> levels = TaxaUtil.allTaxonomyLevels();
+		final File file = new File( dir, sampleId + Constants.PROCESSED );
+		final BufferedWriter writer = new BufferedWriter( new FileWriter( file ) );
+		try {
+			final StringBuilder sb = new StringBuilder();
+			for( int i = 0; i < numReads; i++ ) {
+				final String[] names = getTaxaNames( nextOtu( random, abundance ) );
+				sb.setLength( 0 );
+				sb.append( sampleId ).append( "." ).append( i ).append( Constants.TAB_DELIM )
+					.append( Constants.TAB_DELIM ).append( "Root\trootrank\t1.0" );
+				int score = 100;
+				for( int j = 0; j < names.length; j++ ) {
+					if( levels.get( j ).equals( Constants.SPECIES ) ) continue;
+					score -= random.nextInt( 12 );
+					sb.append( Constants.TAB_DELIM ).append( names[ j ] ).append( Constants.TAB_DELIM )
+						.append( levels.get( j ) ).append( Constants.TAB_DELIM )
+						.append( score == 100 ? "1.0": "0." + ( score < 10 ? "0": "" ) + score );
+				}
+				writer.write( sb.toString() + Constants.RETURN );
+			}
+		} finally {
+			writer.close();
+		}
+		return file;
+	}
+
+	/**
+	 * Write a sequence file for the sample with numReads reads of length readLen. The file is named
+	 * sampleId.fastq or sampleId.fasta, with {@value biolockj.Constants#GZIP_EXT} appended if gzipped.
+	 *
+	 * @param dir Target directory
+	 * @param sampleId Sample ID
+	 * @param numReads Read depth
+	 * @param readLen Read length
+	 * @param fastq if TRUE write FASTQ format, otherwise FASTA
+	 * @param gzip if TRUE gzip the file
+	 * @param seed Random seed
+	 * @return Sequence file
+	 * @throws Exception if errors occur writing the file
+	 */
+	public static File writeSeqFile( final File dir, final String sampleId, final int numReads, final int readLen,
+		final boolean fastq, final boolean gzip, final long seed ) throws Exception {
+		final Random random = getRandom( seed, sampleId );
+		final File file = getSeqFile( dir, sampleId, fastq, gzip );
+		final BufferedWriter writer = getWriter( file, gzip );
+		try {
+			final char[] seq = new char[ readLen ];
+			for( int i = 0; i < numReads; i++ )
+				writeRead( writer, sampleId, i, null, seq, fastq, random );
+		} finally {
+			writer.close();
+		}
+		return file;
+	}
+
+	/**
+	 * Cumulative relative abundance of each OTU in the sample: the rank-abundance weight 1/(n+1) of OTU n is
+	 * perturbed by a log-normal factor, and about 30% of OTUs are absent.
+	 */
+	private static double[] getAbundance( final Random random, final int numOtus ) {
+		final double[] abundance = new double[ numOtus ];
+		double sum = 0.0;
+		for( int i = 0; i < numOtus; i++ ) {
+			final boolean absent = i > 0 && random.nextInt( 100 ) < ABSENT_OTU_PERCENT;
+			sum += absent ? 0.0: Math.exp( random.nextGaussian() ) / ( i + 1 );
+			abundance[ i ] = sum;
+		}
+		for( int i = 0; i < numOtus; i++ )
+			abundance[ i ] /= sum;
+		return abundance;
+	}
+
+	/**
+	 * Number of reads assigned to each clade, keyed by the mpa-format clade name. Clade counts include the reads of
+	 * all child taxa.
+	 */
+	private static Map<String, Long> getCladeCounts( final Random random, final int numReads, final int numOtus,
+		final String domain ) {
+		final long[] counts = getCounts( random, numReads, numOtus );
+		final Map<String, Long> cladeCounts = new TreeMap<>();
+		for( int i = 0; i < counts.length; i++ ) {
+			if( counts[ i ] == 0 ) continue;
+			final String[] names = getTaxaNames( i );
+			for( int depth = 1; depth <= names.length; depth++ ) {
+				final String clade = getMpaTaxa( names, depth, domain );
+				cladeCounts.put( clade, counts[ i ] + cladeCounts.getOrDefault( clade, 0L ) );
+			}
+		}
+		return cladeCounts;
+	}
+
+	private static long[] getCounts( final Random random, final int numReads, final int numOtus ) {
+		final double[] abundance = getAbundance( random, numOtus );
+		final long[] counts = new long[ numOtus ];
+		for( int i = 0; i < numReads; i++ )
+			counts[ nextOtu( random, abundance ) ]++;
+		return counts;
+	}
+
+	/**
+	 * Taxa names for the top depth taxonomy levels in mpa-format, such as d__domain_0|p__phylum_0. Level delimiters
+	 * start with the 1st letter of the level name, except the domain delimiter, which differs by classifier.
+	 */
+	private static String getMpaTaxa( final String[] names, final int depth, final String domain ) {
+		final StringBuilder sb = new StringBuilder();
+		for( int i = 0; i < depth; i++ )
+			sb.append( i == 0 ? domain: Constants.OTU_SEPARATOR + names[ i ].substring( 0, 1 ) )
+				.append( Constants.DELIM_SEP ).append( names[ i ] );
+		return sb.toString();
+	}
+
+	private static Random getRandom( final long seed, final String sampleId ) {
+		return new Random( seed * 31 + sampleId.hashCode() );
+	}
+
+	private static File getSeqFile( final File dir, final String name, final boolean fastq, final boolean gzip ) {
+		return new File( dir,
+			name + "." + ( fastq ? Constants.FASTQ: Constants.FASTA ) + ( gzip ? Constants.GZIP_EXT: "" ) );
+	}
+
+	/**
+	 * Taxa names for each level, top to bottom. Each taxa is the parent of 4 taxa at the next level, so OTUs collapse
+	 * into fewer taxa at higher levels.
+	 */
+	private static String[] getTaxaNames( final int otuNum ) {
+		final List<String> levels = TaxaUtil.allTaxonomyLevels();
+		final String[] names = new String[ levels.size() ];
+		int num = otuNum;
+		for( int i = levels.size() - 1; i >= 0; i-- ) {
+			names[ i ] = levels.get( i ) + "_" + num;
+			num /= BRANCH_FACTOR;
+		}
+		return names;
+	}
+
+	private static BufferedWriter getWriter( final File file, final boolean gzip ) throws IOException {
+		if( gzip ) return new BufferedWriter(
+			new OutputStreamWriter( new GZIPOutputStream( new FileOutputStream( file ), BUFFER_SIZE ) ) );
+		return new BufferedWriter( new FileWriter( file ) );
+	}
+
+	private static int nextOtu( final Random random, final double[] abundance ) {
+		final int index = Arrays.binarySearch( abundance, random.nextDouble() );
+		return Math.min( index < 0 ? -index - 1: index, abundance.length - 1 );
+	}
+
+	private static void writeRead( final BufferedWriter writer, final String sampleId, final int readNum,
+		final String barcode, final char[] seq, final boolean fastq, final Random random ) throws IOException {
+		for( int i = 0; i < seq.length; i++ )
+			seq[ i ] = BASES[ random.nextInt( BASES.length ) ];
+		writer.write( ( fastq ? "@": ">" ) + sampleId + "_" + readNum + SeqUtil.ILLUMINA_FW_READ_IND + "0:" +
+			( barcode == null ? "1": barcode ) + Constants.RETURN );
+		writer.write( new String( seq ) + Constants.RETURN );
+		if( !fastq ) return;
+		for( int i = 0; i < seq.length; i++ )
+			seq[ i ] = (char) ( '#' + random.nextInt( 40 ) );
+		writer.write( "+" + Constants.RETURN + new String( seq ) + Constants.RETURN );
+	}
+
+	/**
+	 * Metadata column name: {@value #AGE_COLUMN}
+	 */
+	public static final String AGE_COLUMN = "Age";
+
+	/**
+	 * Metadata column name: {@value #BARCODE_COLUMN}
+	 */
+	public static final String BARCODE_COLUMN = "BarcodeSequence";
+
+	/**
+	 * Metadata column name: {@value #BMI_COLUMN}
+	 */
+	public static final String BMI_COLUMN = "BMI";
+
+	/**
+	 * Metadata column name: {@value #GROUP_COLUMN}
+	 */
+	public static final String GROUP_COLUMN = "Group";
+
+	/**
+	 * Sample ID prefix for synthetic samples: {@value #SAMPLE_PREFIX}
+	 */
+	public static final String SAMPLE_PREFIX = "sample";
+
+	private static final int ABSENT_OTU_PERCENT = 30;
+	private static final int BARCODE_LEN = 8;
+	private static final char[] BASES = { 'A', 'C', 'G', 'T' };
+	private static final int BRANCH_FACTOR = 4;
+	private static final int BUFFER_SIZE = 64 * 1024;
+	private static final String KRAKEN_DOMAIN = "d";
+	private static final String METAPHLAN_DOMAIN = "k";
+	private static final String NA = "NA";
+	private static final int PARTIAL_TAXA_PERCENT = 10;
+	private static final String UNINTEGRATED = "UNINTEGRATED";
+	private static final String UNMAPPED = "UNMAPPED";
+}
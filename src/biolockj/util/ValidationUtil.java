@@ -15,6 +15,7 @@ import java.io.*;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.*;
+import java.util.concurrent.*;
 import biolockj.*;
 import biolockj.exception.*;
 import biolockj.module.BioModule;
@@ -103,24 +104,6 @@ public class ValidationUtil {
 				", validationStatus=" + ValidationUtil.statusStrings[ this.validationStatus ] + "]";
 		}
 
-		protected void calcMd5() throws IOException, NoSuchAlgorithmException {
-			final MessageDigest md = MessageDigest.getInstance( "MD5" );
-			final InputStream fis = new FileInputStream( this.file.getAbsoluteFile() );
-			final byte[] bytes = new byte[ 1024 ];
-			int numRead;
-			do {
-				numRead = fis.read( bytes );
-				if( numRead > 0 ) md.update( bytes, 0, numRead );
-			} while( numRead != -1 );
-			fis.close();
-			final byte[] digest = md.digest();
-
-			String md5sum = "";
-			for( final byte element: digest )
-				md5sum += Integer.toString( ( element & 0xff ) + 0x100, 16 ).substring( 1 );
-			this.md5 = md5sum;
-		}
-
 		protected String getAtt( final String col ) {
 			switch( col ) {
 				case NAME:
@@ -197,8 +180,11 @@ public class ValidationUtil {
 	public static void checkDependencies( final BioModule module ) throws Exception {
 		if( !Config.getBoolean( module, DISABLE_VALIDATION ) ) {
 			if( hasExp( module ) ) {
+				final List<List<String>> table = parseTableFile( module );
+				final ArrayList<String> compareSet = getCompareSet( module, getHeaders( module, table ) );
 				Log.info( ValidationUtil.class, "The " + module.getClass().getSimpleName() +
-					" module is expected to produce " + getPrevSummaries( module ).size() + " output files." );
+					" module is expected to produce " + getPrevSummaries( module, table, compareSet ).size() +
+					" output files." );
 				if( getSizePercentAllowed( module ) > 0 )
 					Log.warn( ValidationUtil.class, "Output file sizes can deveate from the expected value by up to " +
 						getSizePercentAllowed( module ) + "% and will still pass validation." );
@@ -222,30 +208,35 @@ public class ValidationUtil {
 	public static void validateModule( final BioModule module ) throws BioLockJException {
 		try {
 			if( !Config.getBoolean( module, DISABLE_VALIDATION ) ) {
+				final boolean hasExp = hasExp( module );
+				final ArrayList<String> reportSet = getReportSet( module );
+				final List<List<String>> table = hasExp ? parseTableFile( module ): null;
+				final ArrayList<String> compareSet =
+					hasExp ? getCompareSet( module, getHeaders( module, table ) ): new ArrayList<>();
 				HashMap<String, FileSummary> prevOutput = new HashMap<>();
-				if( hasExp( module ) ) prevOutput = getPrevSummaries( module );
-
-				final BufferedWriter writer = new BufferedWriter( new FileWriter( getOutputFile( module ) ) );
-				writeRow( writer, getReportSet( module ) );
+				if( hasExp ) prevOutput = getPrevSummaries( module, table, compareSet );
 
 				final File[] outputs = module.getOutputDir().listFiles();
 				Arrays.sort( outputs );
 				Log.debug( ValidationUtil.class, "Found [" + outputs.length + "] files in output dir of module [" +
 					module.getModuleDir().getName() + "]." );
+				final Map<File, String> md5s = reportSet.contains( MD5 ) || compareSet.contains( MD5 )
+					? getMd5s( module, outputs ): new HashMap<>();
+
+				final BufferedWriter writer = new BufferedWriter( new FileWriter( getOutputFile( module ) ) );
+				writeRow( writer, reportSet );
 				int passingFiles = 0;
 				for( final File f: outputs ) {
 					final FileSummary fs = new FileSummary( f );
-					if( getReportSet( module ).contains( MD5 ) ||
-						hasExp( module ) && getCompareSet( module ).contains( MD5 ) ) fs.calcMd5();
-					if( hasExp( module ) ) {
+					if( md5s.get( f ) != null ) fs.setAtt( MD5, md5s.get( f ) );
+					if( hasExp ) {
 						final String ekey = fileNameToKey( fs.getAtt( NAME ) );
 						final FileSummary expected = prevOutput.get( ekey );
-						if( fs.compareToExpected( expected, getCompareSet( module ), module ) == PASS )
-							passingFiles += 1;
+						if( fs.compareToExpected( expected, compareSet, module ) == PASS ) passingFiles += 1;
 						prevOutput.remove( ekey );
 					}
 					final ArrayList<String> row = new ArrayList<>();
-					for( final String col: getReportSet( module ) )
+					for( final String col: reportSet )
 						row.add( fs.getAtt( col ) );
 					writeRow( writer, row );
 				}
@@ -257,7 +248,7 @@ public class ValidationUtil {
 						Log.warn( ValidationUtil.class, prevOutput.get( oldFileName ).toString() );
 					if( canHaltPipeline( module ) ) throw new ValidationException( module );
 				}
-				if( hasExp( module ) && canHaltPipeline( module ) && passingFiles < outputs.length ) {
+				if( hasExp && canHaltPipeline( module ) && passingFiles < outputs.length ) {
 					Log.warn( ValidationUtil.class, "passingFiles: " + passingFiles );
 					Log.warn( ValidationUtil.class, "outputs to validate: " + outputs.length );
 					if( canHaltPipeline( module ) ) throw new ValidationException( module );
@@ -276,6 +267,23 @@ public class ValidationUtil {
 		return new ArrayList<>( Arrays.asList( NAME, SIZE, MD5 ) );
 	}
 
+	private static String calcMd5( final File file ) throws IOException, NoSuchAlgorithmException {
+		final MessageDigest md = MessageDigest.getInstance( "MD5" );
+		final InputStream fis = new FileInputStream( file.getAbsoluteFile() );
+		try {
+			final byte[] bytes = new byte[ MD5_BUFFER_SIZE ];
+			for( int numRead = fis.read( bytes ); numRead != -1; numRead = fis.read( bytes ) )
+				md.update( bytes, 0, numRead );
+		} finally {
+			fis.close();
+		}
+
+		final StringBuilder md5sum = new StringBuilder();
+		for( final byte element: md.digest() )
+			md5sum.append( Integer.toString( ( element & 0xff ) + 0x100, 16 ).substring( 1 ) );
+		return md5sum.toString();
+	}
+
 	private static boolean canHaltPipeline( final BioModule module ) throws ConfigFormatException {
 		return Config.getBoolean( module, HALT_PIPELINE );
 	}
@@ -295,10 +303,10 @@ public class ValidationUtil {
 		return key;
 	}
 
-	private static ArrayList<String> getCompareSet( final BioModule module ) throws BioLockJException {
+	private static ArrayList<String> getCompareSet( final BioModule module, final List<String> headers )
+		throws BioLockJException {
 		ArrayList<String> compareFeatures = new ArrayList<>();
 		final ArrayList<String> configCompareOn = new ArrayList<>( Config.getSet( module, COMPARE_ON ) );
-		final List<String> headers = getHeaders( module );
 		if( configCompareOn.isEmpty() ) compareFeatures = new ArrayList<>( headers );
 		else compareFeatures = configCompareOn;
 		// result of prior run of the pipeline, always ignore this.
@@ -336,11 +344,9 @@ public class ValidationUtil {
 		return expectationFile;
 	}
 
-	private static List<String> getHeaders( final BioModule module ) throws BioLockJException {
-		List<String> headers = null;
-		final List<List<String>> table = parseTableFile( module );
-		final Iterator<List<String>> rows = table.iterator();
-		headers = rows.next();
+	private static List<String> getHeaders( final BioModule module, final List<List<String>> table )
+		throws BioLockJException {
+		final List<String> headers = table.isEmpty() ? null: table.get( 0 );
 		if( headers == null || headers.isEmpty() )
 			throw new ExpectationFileFormatException( "No expectations in expectation file",
 				getExpectationFile( module ) );
@@ -363,10 +369,70 @@ public class ValidationUtil {
 		return ModuleUtil.displayID( module ) + "_" + module.getClass().getSimpleName() + OUTPUT_FILE_SUFFIX;
 	}
 
-	private static HashMap<String, FileSummary> getPrevSummaries( final BioModule module ) throws BioLockJException {
+	/**
+	 * Get the MD5 checksum of each output file. Checksums are read from the module {@value #MD5_CACHE} file if the file
+	 * size and last-modified time are unchanged, otherwise they are calculated concurrently using up to
+	 * {@link biolockj.Config}.{@value biolockj.Constants#SCRIPT_NUM_THREADS} threads. The updated checksums are saved to
+	 * the cache file for the next validation of this module (such as on pipeline restart).
+	 * 
+	 * @param module BioModule
+	 * @param files Output files
+	 * @return Map of file to MD5 checksum
+	 * @throws Exception if errors occur calculating the checksums
+	 */
+	private static Map<File, String> getMd5s( final BioModule module, final File[] files ) throws Exception {
+		final Map<File, String> md5s = new ConcurrentHashMap<>();
+		final Map<String, String> cache = readMd5Cache( module );
+		final List<Callable<Void>> tasks = new ArrayList<>();
+		for( final File file: files ) {
+			if( !file.isFile() ) continue;
+			final String md5 = cache.get( getMd5CacheKey( file ) );
+			if( md5 != null ) md5s.put( file, md5 );
+			else tasks.add( () -> {
+				md5s.put( file, calcMd5( file ) );
+				return null;
+			} );
+		}
+
+		Log.debug( ValidationUtil.class, "Calculate MD5 for " + tasks.size() + " files, reuse " + md5s.size() +
+			" cached values for module: " + module.getModuleDir().getName() );
+		final Integer maxThreads = Config.getPositiveInteger( module, Constants.SCRIPT_NUM_THREADS );
+		final int numThreads = Math.min( tasks.size(), maxThreads == null ? 1: maxThreads );
+		if( numThreads > 1 ) {
+			final ExecutorService executor = Executors.newFixedThreadPool( numThreads );
+			try {
+				for( final Future<Void> future: executor.invokeAll( tasks ) )
+					try {
+						future.get();
+					} catch( final ExecutionException ex ) {
+						if( ex.getCause() instanceof Exception ) throw (Exception) ex.getCause();
+						throw ex;
+					}
+			} finally {
+				executor.shutdownNow();
+			}
+		} else for( final Callable<Void> task: tasks )
+			task.call();
+
+		if( !tasks.isEmpty() ) saveMd5Cache( module, md5s );
+		return md5s;
+	}
+
+	private static String getMd5CacheKey( final File file ) {
+		return file.getAbsolutePath() + Constants.TAB_DELIM + file.length() + Constants.TAB_DELIM + file.lastModified();
+	}
+
+	private static File getMd5CacheFile( final BioModule module ) {
+		return new File( module.getModuleDir().getAbsolutePath() + File.separator + MD5_CACHE );
+	}
+
+	private static HashMap<String, FileSummary> getPrevSummaries( final BioModule module,
+		final List<List<String>> table, final List<String> compareSet ) throws BioLockJException {
 		final HashMap<String, FileSummary> prevOutput = new HashMap<>();
-		final List<String> headers = getHeaders( module );
-		final List<List<String>> table = parseTableFile( module );
+		final List<String> headers = getHeaders( module, table );
+		final int[] compareCols = new int[ compareSet.size() ];
+		for( int i = 0; i < compareCols.length; i++ )
+			compareCols[ i ] = headers.indexOf( compareSet.get( i ) );
 		int rowNum = 1;
 		final Iterator<List<String>> rows = table.iterator();
 		rows.next();// drop the header
@@ -379,8 +445,8 @@ public class ValidationUtil {
 
 			final FileSummary fs = new FileSummary( id );
 			prevOutput.put( fileNameToKey( id ), fs );
-			for( final String cf: getCompareSet( module ) )
-				fs.setAtt( cf, row.get( headers.indexOf( cf ) ) );
+			for( int i = 0; i < compareCols.length; i++ )
+				fs.setAtt( compareSet.get( i ), row.get( compareCols[ i ] ) );
 
 			rowNum++;
 		}
@@ -452,6 +518,32 @@ public class ValidationUtil {
 		return data;
 	}
 
+	private static Map<String, String> readMd5Cache( final BioModule module ) throws IOException {
+		final Map<String, String> cache = new HashMap<>();
+		final File file = getMd5CacheFile( module );
+		if( !file.isFile() ) return cache;
+		final BufferedReader reader = BioLockJUtil.getFileReader( file );
+		try {
+			for( String line = reader.readLine(); line != null; line = reader.readLine() ) {
+				final int index = line.lastIndexOf( Constants.TAB_DELIM );
+				if( index > 0 ) cache.put( line.substring( 0, index ), line.substring( index + 1 ) );
+			}
+		} finally {
+			reader.close();
+		}
+		return cache;
+	}
+
+	private static void saveMd5Cache( final BioModule module, final Map<File, String> md5s ) throws IOException {
+		final BufferedWriter writer = new BufferedWriter( new FileWriter( getMd5CacheFile( module ) ) );
+		try {
+			for( final File file: new TreeSet<>( md5s.keySet() ) )
+				writer.write( getMd5CacheKey( file ) + Constants.TAB_DELIM + md5s.get( file ) + Constants.RETURN );
+		} finally {
+			writer.close();
+		}
+	}
+
 	private static void writeRow( final BufferedWriter writer, final ArrayList<String> row ) throws Exception {
 		try {
 			writer.write( String.join( Constants.TAB_DELIM, row ) + Constants.RETURN );
@@ -491,6 +583,12 @@ public class ValidationUtil {
 
 	protected static final String MD5 = "md5";
 
+	/**
+	 * Name of the file in the module root directory that caches output file MD5 checksums by path, size, and
+	 * last-modified time: {@value #MD5_CACHE}
+	 */
+	protected static final String MD5_CACHE = "validationMd5Cache" + Constants.TSV_EXT;
+
 	/**
 	 * The first column in an expectation file must be {@value #NAME}
 	 */
@@ -529,4 +627,6 @@ public class ValidationUtil {
 	 */
 	private static final String DISABLE_VALIDATION = "validation.disableValidation";
 
+	private static final int MD5_BUFFER_SIZE = 1024 * 1024;
+
 }